@@ -12,6 +12,7 @@ import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -20,10 +21,12 @@ import java.time.LocalDate;
  * Hotel SmartTrack Application - Main Entry Point (SystemUI).
  * 
  * Uses @ComponentScan to discover all @Service beans across all modules.
+ * Uses @EnableScheduling for component jobs such as the nightly no-show sweep.
  * Demonstrates component-based architecture with loose coupling via interfaces.
  */
 @SpringBootApplication
 @ComponentScan(basePackages = "com.hotelsmarttrack")
+@EnableScheduling
 public class HotelSmartTrackApplication implements CommandLineRunner {
     
     private final GuestService guestService;
@@ -0,0 +1,62 @@
+package com.hotelsmarttrack.api;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * CatalogueResponseCache - pre-serialized JSON bodies for rarely changing catalogue reads.
+ * Each body is cached with the store version it was built from; its strong ETag combines a
+ * per-boot ID, the cache key and that version. Unchanged catalogues are answered with 304,
+ * or with the cached bytes, without touching the store or the serializer.
+ */
+@Component
+public class CatalogueResponseCache {
+
+    private static final int MAX_ENTRIES = 256;
+
+    private record Entry(long version, String etag, byte[] body) {
+    }
+
+    // Versions restart at zero on boot, so ETags from an earlier run must not match
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final JsonMapper jsonMapper;
+
+    public CatalogueResponseCache(JsonMapper jsonMapper) {
+        this.jsonMapper = jsonMapper;
+    }
+
+    /**
+     * Answer a conditional GET for a catalogue view.
+     * @param key Identifies the view, including any field selection
+     * @param version Store version read before building the body
+     * @param body Builds the response object when the cached one is missing or stale
+     * @return The cached body with its ETag, or null once a 304 has been prepared
+     */
+    public ResponseEntity<byte[]> respond(String key, long version, WebRequest request, Supplier<Object> body) {
+        Entry entry = entries.get(key);
+        if (entry == null || entry.version() != version) {
+            String etag = "\"" + bootId + "-" + Integer.toHexString(key.hashCode()) + "-" + version + "\"";
+            entry = new Entry(version, etag, jsonMapper.writeValueAsBytes(body.get()));
+            if (entries.size() < MAX_ENTRIES || entries.containsKey(key)) {
+                entries.put(key, entry);
+            }
+        }
+        if (request.checkNotModified(entry.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(entry.etag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(entry.body());
+    }
+}
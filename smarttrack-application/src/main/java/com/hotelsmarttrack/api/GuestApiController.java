@@ -0,0 +1,84 @@
+package com.hotelsmarttrack.api;
+
+import com.hotelsmarttrack.base.entity.Guest;
+import com.hotelsmarttrack.base.entity.TimelineEvent;
+import com.hotelsmarttrack.base.entity.TimelinePage;
+import com.hotelsmarttrack.base.service.BillingService;
+import com.hotelsmarttrack.base.service.GuestService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * GuestApiController - read endpoints for guest profiles.
+ * Every endpoint accepts ?fields=a,b to return only those fields.
+ */
+@RestController
+@RequestMapping("/api/guests")
+public class GuestApiController {
+
+    private static final int MAX_TIMELINE_PAGE = 200;
+
+    private final GuestService guestService;
+    private final BillingService billingService;
+
+    public GuestApiController(GuestService guestService, BillingService billingService) {
+        this.guestService = guestService;
+        this.billingService = billingService;
+    }
+
+    @GetMapping
+    public List<Map<String, Object>> list(@RequestParam(required = false) String q,
+                                          @RequestParam(required = false) String fields) {
+        List<Guest> guests = q == null || q.isBlank() ? guestService.getAllGuests() : guestService.searchGuests(q);
+        return Views.GUEST.select(fields).applyAll(guests);
+    }
+
+    @GetMapping("/{guestId}")
+    public ResponseEntity<Map<String, Object>> get(@PathVariable Long guestId,
+                                                   @RequestParam(required = false) String fields) {
+        Projection<Guest> view = Views.GUEST_DETAIL.select(fields);
+        return ResponseEntity.of(guestService.getGuestById(guestId).map(view::apply));
+    }
+
+    @GetMapping("/{guestId}/invoices")
+    public List<Map<String, Object>> invoices(@PathVariable Long guestId,
+                                              @RequestParam(required = false) String fields) {
+        return Views.INVOICE.select(fields).applyAll(billingService.getInvoicesByGuest(guestId));
+    }
+
+    /**
+     * The guest's reservations, stays, charges and invoices, newest first.
+     * Pass the returned nextCursor as ?cursor= to read the next (older) page.
+     */
+    @GetMapping("/{guestId}/timeline")
+    public ResponseEntity<Map<String, Object>> timeline(@PathVariable Long guestId,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(defaultValue = "50") int limit,
+                                                        @RequestParam(required = false) String fields) {
+        if (guestService.getGuestById(guestId).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        Projection<TimelineEvent> view = Views.TIMELINE_EVENT.select(fields);
+        TimelinePage page;
+        try {
+            page = guestService.getGuestTimeline(guestId, cursor, Math.max(1, Math.min(limit, MAX_TIMELINE_PAGE)));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("guestId", guestId);
+        body.put("events", view.applyAll(page.getEvents()));
+        body.put("nextCursor", page.getNextCursor());
+        return ResponseEntity.ok(body);
+    }
+}
@@ -0,0 +1,41 @@
+package com.hotelsmarttrack.api;
+
+import com.hotelsmarttrack.base.entity.Invoice;
+import com.hotelsmarttrack.base.service.BillingService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * InvoiceApiController - read endpoints for invoices.
+ * Lists carry totals only; the detail view adds charges and a flat payment list.
+ * Every endpoint accepts ?fields=a,b to return only those fields.
+ */
+@RestController
+@RequestMapping("/api/invoices")
+public class InvoiceApiController {
+
+    private final BillingService billingService;
+
+    public InvoiceApiController(BillingService billingService) {
+        this.billingService = billingService;
+    }
+
+    @GetMapping("/unpaid")
+    public List<Map<String, Object>> unpaid(@RequestParam(required = false) String fields) {
+        return Views.INVOICE.select(fields).applyAll(billingService.getUnpaidInvoices());
+    }
+
+    @GetMapping("/{invoiceId}")
+    public ResponseEntity<Map<String, Object>> get(@PathVariable Long invoiceId,
+                                                   @RequestParam(required = false) String fields) {
+        Projection<Invoice> view = Views.INVOICE_DETAIL.select(fields);
+        return ResponseEntity.of(billingService.getInvoiceById(invoiceId).map(view::apply));
+    }
+}
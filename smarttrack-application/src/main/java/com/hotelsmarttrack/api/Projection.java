@@ -0,0 +1,104 @@
+package com.hotelsmarttrack.api;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Projection - a flat read view of an entity: named fields, each read by a plain accessor.
+ * Rows become small ordered maps holding only scalars and IDs, so serializing them never
+ * walks the entity graph. Sparse field sets (?fields=a,b) are resolved once and cached.
+ */
+public final class Projection<T> {
+
+    private static final int MAX_CACHED_SELECTIONS = 256;
+
+    private final String[] names;
+    private final List<Function<T, Object>> accessors;
+    private final Map<String, Integer> indexByName = new LinkedHashMap<>();
+    private final Map<String, Projection<T>> selections = new ConcurrentHashMap<>();
+
+    private Projection(List<String> names, List<Function<T, Object>> accessors) {
+        this.names = names.toArray(new String[0]);
+        this.accessors = List.copyOf(accessors);
+        for (int i = 0; i < this.names.length; i++) {
+            indexByName.put(this.names[i], i);
+        }
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * The projection restricted to a comma-separated field list, in the requested order.
+     * @param fields Field list, or null/blank for every field
+     * @throws ResponseStatusException 400 for unknown fields
+     */
+    public Projection<T> select(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return this;
+        }
+        Projection<T> cached = selections.get(fields);
+        if (cached != null) {
+            return cached;
+        }
+        List<String> selectedNames = new ArrayList<>();
+        List<Function<T, Object>> selectedAccessors = new ArrayList<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            Integer index = indexByName.get(name);
+            if (index == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Unknown field '" + name + "'; available: " + String.join(",", names));
+            }
+            if (!selectedNames.contains(name)) {
+                selectedNames.add(name);
+                selectedAccessors.add(accessors.get(index));
+            }
+        }
+        Projection<T> selection = new Projection<>(selectedNames, selectedAccessors);
+        if (selections.size() < MAX_CACHED_SELECTIONS) {
+            selections.put(fields, selection);
+        }
+        return selection;
+    }
+
+    public Map<String, Object> apply(T row) {
+        Map<String, Object> view = new LinkedHashMap<>(names.length * 2);
+        for (int i = 0; i < names.length; i++) {
+            view.put(names[i], accessors.get(i).apply(row));
+        }
+        return view;
+    }
+
+    public List<Map<String, Object>> applyAll(Collection<T> rows) {
+        List<Map<String, Object>> views = new ArrayList<>(rows.size());
+        for (T row : rows) {
+            views.add(apply(row));
+        }
+        return views;
+    }
+
+    public static final class Builder<T> {
+        private final List<String> names = new ArrayList<>();
+        private final List<Function<T, Object>> accessors = new ArrayList<>();
+
+        public Builder<T> field(String name, Function<T, Object> accessor) {
+            names.add(name);
+            accessors.add(accessor);
+            return this;
+        }
+
+        public Projection<T> build() {
+            return new Projection<>(names, accessors);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.hotelsmarttrack.api;
+
+import com.hotelsmarttrack.base.entity.Reservation;
+import com.hotelsmarttrack.base.service.GuestService;
+import com.hotelsmarttrack.base.service.ReservationService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ReservationApiController - read endpoints for reservations.
+ * Lists are filtered by one indexed criterion: status, guest or arrival date range.
+ * Every endpoint accepts ?fields=a,b to return only those fields.
+ */
+@RestController
+@RequestMapping("/api/reservations")
+public class ReservationApiController {
+
+    private final ReservationService reservationService;
+    private final Projection<Reservation> listView;
+    private final Projection<Reservation> detailView;
+
+    public ReservationApiController(ReservationService reservationService, GuestService guestService) {
+        this.reservationService = reservationService;
+        this.listView = Views.reservation(guestService);
+        this.detailView = Views.reservationDetail(guestService);
+    }
+
+    @GetMapping
+    public List<Map<String, Object>> list(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long guestId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate arrivalFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate arrivalTo,
+            @RequestParam(required = false) String fields) {
+        Projection<Reservation> view = listView.select(fields);
+        List<Reservation> reservations;
+        if (status != null) {
+            reservations = reservationService.getReservationsByStatus(status);
+        } else if (guestId != null) {
+            reservations = reservationService.getReservationsByGuest(guestId);
+        } else if (arrivalFrom != null) {
+            reservations = reservationService.getArrivals(arrivalFrom, arrivalTo != null ? arrivalTo : arrivalFrom);
+        } else {
+            reservations = reservationService.getAllReservations();
+        }
+        return view.applyAll(reservations);
+    }
+
+    @GetMapping("/{reservationId}")
+    public ResponseEntity<Map<String, Object>> get(@PathVariable Long reservationId,
+                                                   @RequestParam(required = false) String fields) {
+        Projection<Reservation> view = detailView.select(fields);
+        return ResponseEntity.of(reservationService.getReservationById(reservationId).map(view::apply));
+    }
+}
@@ -0,0 +1,50 @@
+package com.hotelsmarttrack.api;
+
+import com.hotelsmarttrack.base.entity.Room;
+import com.hotelsmarttrack.base.entity.RoomType;
+import com.hotelsmarttrack.base.service.RoomService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * RoomApiController - read endpoints for the room catalogue.
+ * Responses carry strong ETags from the room service's version counters; conditional
+ * requests are answered with 304 and others from pre-serialized bodies until the data changes.
+ * Every endpoint accepts ?fields=a,b to return only those fields.
+ */
+@RestController
+@RequestMapping("/api")
+public class RoomApiController {
+
+    private final RoomService roomService;
+    private final CatalogueResponseCache responseCache;
+
+    public RoomApiController(RoomService roomService, CatalogueResponseCache responseCache) {
+        this.roomService = roomService;
+        this.responseCache = responseCache;
+    }
+
+    @GetMapping("/room-types")
+    public ResponseEntity<byte[]> roomTypes(@RequestParam(required = false) String fields, WebRequest request) {
+        Projection<RoomType> view = Views.ROOM_TYPE.select(fields);
+        long version = roomService.getRoomTypesVersion();
+        return responseCache.respond("room-types?" + fieldsKey(fields), version, request,
+                () -> view.applyAll(roomService.getAllRoomTypes()));
+    }
+
+    @GetMapping("/rooms")
+    public ResponseEntity<byte[]> rooms(@RequestParam(required = false) String fields, WebRequest request) {
+        Projection<Room> view = Views.ROOM.select(fields);
+        long version = roomService.getRoomsVersion();
+        return responseCache.respond("rooms?" + fieldsKey(fields), version, request,
+                () -> view.applyAll(roomService.getAllRooms()));
+    }
+
+    private static String fieldsKey(String fields) {
+        return fields == null ? "" : fields.replace(" ", "");
+    }
+}
@@ -0,0 +1,43 @@
+package com.hotelsmarttrack.api;
+
+import com.hotelsmarttrack.base.entity.Stay;
+import com.hotelsmarttrack.base.service.GuestService;
+import com.hotelsmarttrack.base.service.StayService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * StayApiController - read endpoints for stays.
+ * Every endpoint accepts ?fields=a,b to return only those fields.
+ */
+@RestController
+@RequestMapping("/api/stays")
+public class StayApiController {
+
+    private final StayService stayService;
+    private final Projection<Stay> view;
+
+    public StayApiController(StayService stayService, GuestService guestService) {
+        this.stayService = stayService;
+        this.view = Views.stay(guestService);
+    }
+
+    @GetMapping("/active")
+    public List<Map<String, Object>> active(@RequestParam(required = false) String fields) {
+        return view.select(fields).applyAll(stayService.getActiveStays());
+    }
+
+    @GetMapping("/{stayId}")
+    public ResponseEntity<Map<String, Object>> get(@PathVariable Long stayId,
+                                                   @RequestParam(required = false) String fields) {
+        Projection<Stay> selected = view.select(fields);
+        return ResponseEntity.of(stayService.getStayById(stayId).map(selected::apply));
+    }
+}
@@ -0,0 +1,163 @@
+package com.hotelsmarttrack.api;
+
+import com.hotelsmarttrack.base.entity.Guest;
+import com.hotelsmarttrack.base.entity.Invoice;
+import com.hotelsmarttrack.base.entity.Payment;
+import com.hotelsmarttrack.base.entity.Reservation;
+import com.hotelsmarttrack.base.entity.Room;
+import com.hotelsmarttrack.base.entity.RoomType;
+import com.hotelsmarttrack.base.entity.Stay;
+import com.hotelsmarttrack.base.entity.TimelineEvent;
+import com.hotelsmarttrack.base.service.GuestService;
+
+/**
+ * Views - the flat projections served by the REST API, one per view.
+ * Related entities appear as IDs plus the one or two labels a screen needs.
+ */
+public final class Views {
+
+    private Views() {
+    }
+
+    public static final Projection<Guest> GUEST = Projection.<Guest>builder()
+            .field("guestId", Guest::getGuestId)
+            .field("name", Guest::getName)
+            .field("email", Guest::getEmail)
+            .field("phone", Guest::getPhone)
+            .field("status", Guest::getStatus)
+            .build();
+
+    public static final Projection<Guest> GUEST_DETAIL = Projection.<Guest>builder()
+            .field("guestId", Guest::getGuestId)
+            .field("name", Guest::getName)
+            .field("email", Guest::getEmail)
+            .field("phone", Guest::getPhone)
+            .field("identificationNumber", Guest::getIdentificationNumber)
+            .field("status", Guest::getStatus)
+            .field("statusJustification", Guest::getStatusJustification)
+            .build();
+
+    public static final Projection<RoomType> ROOM_TYPE = Projection.<RoomType>builder()
+            .field("roomTypeId", RoomType::getRoomTypeId)
+            .field("typeName", RoomType::getTypeName)
+            .field("description", RoomType::getDescription)
+            .field("maxOccupancy", RoomType::getMaxOccupancy)
+            .field("basePrice", RoomType::getBasePrice)
+            .field("taxRate", RoomType::getTaxRate)
+            .build();
+
+    public static final Projection<Room> ROOM = Projection.<Room>builder()
+            .field("roomId", Room::getRoomId)
+            .field("roomNumber", Room::getRoomNumber)
+            .field("floorNumber", Room::getFloorNumber)
+            .field("roomTypeId", r -> r.getRoomType() != null ? r.getRoomType().getRoomTypeId() : null)
+            .field("roomType", r -> r.getRoomType() != null ? r.getRoomType().getTypeName() : null)
+            .field("status", Room::getStatus)
+            .build();
+
+    public static final Projection<Payment> PAYMENT = Projection.<Payment>builder()
+            .field("paymentId", Payment::getPaymentId)
+            .field("amount", Payment::getAmount)
+            .field("paymentMethod", Payment::getPaymentMethod)
+            .field("status", Payment::getStatus)
+            .field("paymentTime", Payment::getPaymentTime)
+            .build();
+
+    public static final Projection<Invoice> INVOICE = Projection.<Invoice>builder()
+            .field("invoiceId", Invoice::getInvoiceId)
+            .field("stayId", i -> i.getStay() != null ? i.getStay().getStayId() : null)
+            .field("guestId", i -> i.getGuest() != null ? i.getGuest().getGuestId() : null)
+            .field("totalAmount", Invoice::getTotalAmount)
+            .field("amountPaid", Invoice::getAmountPaid)
+            .field("outstandingBalance", Invoice::getOutstandingBalance)
+            .field("status", Invoice::getStatus)
+            .field("issuedTime", Invoice::getIssuedTime)
+            .build();
+
+    public static final Projection<Invoice> INVOICE_DETAIL = Projection.<Invoice>builder()
+            .field("invoiceId", Invoice::getInvoiceId)
+            .field("stayId", i -> i.getStay() != null ? i.getStay().getStayId() : null)
+            .field("guestId", i -> i.getGuest() != null ? i.getGuest().getGuestId() : null)
+            .field("roomCharges", Invoice::getRoomCharges)
+            .field("incidentalCharges", Invoice::getIncidentalCharges)
+            .field("taxes", Invoice::getTaxes)
+            .field("discounts", Invoice::getDiscounts)
+            .field("totalAmount", Invoice::getTotalAmount)
+            .field("amountPaid", Invoice::getAmountPaid)
+            .field("outstandingBalance", Invoice::getOutstandingBalance)
+            .field("status", Invoice::getStatus)
+            .field("issuedTime", Invoice::getIssuedTime)
+            .field("payments", i -> i.getPayments() != null ? PAYMENT.applyAll(i.getPayments()) : null)
+            .build();
+
+    public static final Projection<TimelineEvent> TIMELINE_EVENT = Projection.<TimelineEvent>builder()
+            .field("eventTime", TimelineEvent::getEventTime)
+            .field("type", TimelineEvent::getType)
+            .field("referenceId", TimelineEvent::getReferenceId)
+            .field("description", TimelineEvent::getDescription)
+            .field("amount", TimelineEvent::getAmount)
+            .field("status", TimelineEvent::getStatus)
+            .build();
+
+    /**
+     * Reservation list view. Guest names are read by ID, since the reservation keeps
+     * the guest copy it was booked with.
+     */
+    public static Projection<Reservation> reservation(GuestService guests) {
+        return Projection.<Reservation>builder()
+                .field("reservationId", Reservation::getReservationId)
+                .field("guestId", r -> r.getGuest() != null ? r.getGuest().getGuestId() : null)
+                .field("guestName", r -> currentName(guests, r.getGuest()))
+                .field("roomTypeId", r -> r.getRoomType() != null ? r.getRoomType().getRoomTypeId() : null)
+                .field("roomType", r -> r.getRoomType() != null ? r.getRoomType().getTypeName() : null)
+                .field("roomNumber", r -> r.getAssignedRoom() != null ? r.getAssignedRoom().getRoomNumber() : null)
+                .field("checkInDate", Reservation::getCheckInDate)
+                .field("checkOutDate", Reservation::getCheckOutDate)
+                .field("numberOfGuests", Reservation::getNumberOfGuests)
+                .field("status", Reservation::getStatus)
+                .field("quotedAmount", Reservation::getQuotedAmount)
+                .build();
+    }
+
+    /**
+     * Reservation detail view, reading guest names by ID like the list view.
+     */
+    public static Projection<Reservation> reservationDetail(GuestService guests) {
+        return Projection.<Reservation>builder()
+                .field("reservationId", Reservation::getReservationId)
+                .field("guestId", r -> r.getGuest() != null ? r.getGuest().getGuestId() : null)
+                .field("guestName", r -> currentName(guests, r.getGuest()))
+                .field("roomTypeId", r -> r.getRoomType() != null ? r.getRoomType().getRoomTypeId() : null)
+                .field("roomType", r -> r.getRoomType() != null ? r.getRoomType().getTypeName() : null)
+                .field("roomId", r -> r.getAssignedRoom() != null ? r.getAssignedRoom().getRoomId() : null)
+                .field("roomNumber", r -> r.getAssignedRoom() != null ? r.getAssignedRoom().getRoomNumber() : null)
+                .field("checkInDate", Reservation::getCheckInDate)
+                .field("checkOutDate", Reservation::getCheckOutDate)
+                .field("numberOfGuests", Reservation::getNumberOfGuests)
+                .field("status", Reservation::getStatus)
+                .field("specialRequests", Reservation::getSpecialRequests)
+                .field("groupBlockId", Reservation::getGroupBlockId)
+                .field("quotedAmount", Reservation::getQuotedAmount)
+                .build();
+    }
+
+    /**
+     * Stay view. Guest names are read by ID, since the stay keeps the guest copy it was checked in with.
+     */
+    public static Projection<Stay> stay(GuestService guests) {
+        return Projection.<Stay>builder()
+                .field("stayId", Stay::getStayId)
+                .field("reservationId", s -> s.getReservation() != null ? s.getReservation().getReservationId() : null)
+                .field("guestId", s -> s.getGuest() != null ? s.getGuest().getGuestId() : null)
+                .field("guestName", s -> currentName(guests, s.getGuest()))
+                .field("roomNumber", s -> s.getRoom() != null ? s.getRoom().getRoomNumber() : null)
+                .field("checkInTime", Stay::getCheckInTime)
+                .field("checkOutTime", Stay::getCheckOutTime)
+                .field("status", Stay::getStatus)
+                .build();
+    }
+
+    private static Object currentName(GuestService guests, Guest guest) {
+        return guest != null ? guests.getGuestById(guest.getGuestId()).orElse(guest).getName() : null;
+    }
+}
@@ -0,0 +1,58 @@
+package com.hotelsmarttrack.channel;
+
+import com.hotelsmarttrack.base.service.ReservationService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/**
+ * StubChannelController - local stand-in for an OTA channel endpoint, for testing the ARI feed.
+ * Registers itself as channel STUB when smarttrack.channel.stub.url is set, accepts pushed
+ * delta messages and keeps the most recent ones for inspection.
+ */
+@RestController
+@RequestMapping("/api/channels/stub")
+public class StubChannelController {
+    
+    public static final String CHANNEL_CODE = "STUB";
+    private static final int MAX_MESSAGES = 100;
+    
+    private final Deque<String> received = new ConcurrentLinkedDeque<>();
+    
+    public StubChannelController(ReservationService reservationService,
+                                 @Value("${smarttrack.channel.stub.url:}") String stubUrl) {
+        if (!stubUrl.isBlank()) {
+            reservationService.registerChannel(CHANNEL_CODE, stubUrl);
+        }
+    }
+    
+    /**
+     * Receive a pushed ARI delta.
+     */
+    @PostMapping("/ari")
+    public ResponseEntity<Void> receive(@RequestBody String message) {
+        received.addLast(message);
+        while (received.size() > MAX_MESSAGES) {
+            received.pollFirst();
+        }
+        System.out.println("[StubChannel] Received ARI delta of " + message.length() + " bytes");
+        return ResponseEntity.accepted().build();
+    }
+    
+    /**
+     * Messages received so far, oldest first.
+     */
+    @GetMapping("/ari")
+    public List<String> received() {
+        return new ArrayList<>(received);
+    }
+}
@@ -0,0 +1,54 @@
+package com.hotelsmarttrack.dedup;
+
+import com.hotelsmarttrack.base.entity.DuplicateCandidate;
+import com.hotelsmarttrack.base.service.GuestService;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+/**
+ * DuplicateController - duplicate guest review and merging.
+ */
+@RestController
+@RequestMapping("/api/guests")
+public class DuplicateController {
+
+    private final GuestService guestService;
+    private final GuestMergeService mergeService;
+
+    public DuplicateController(GuestService guestService, GuestMergeService mergeService) {
+        this.guestService = guestService;
+        this.mergeService = mergeService;
+    }
+
+    /**
+     * Batch scan: every likely duplicate pair, best match first.
+     */
+    @GetMapping("/duplicates")
+    public List<DuplicateCandidate> allDuplicates() {
+        return guestService.findAllDuplicates();
+    }
+
+    @GetMapping("/{guestId}/duplicates")
+    public List<DuplicateCandidate> duplicates(@PathVariable Long guestId) {
+        return guestService.findDuplicates(guestId);
+    }
+
+    /**
+     * Merge guest duplicateId into guest guestId, which survives.
+     */
+    @PostMapping("/{guestId}/merge/{duplicateId}")
+    public MergeReport merge(@PathVariable Long guestId, @PathVariable Long duplicateId) {
+        try {
+            return mergeService.merge(guestId, duplicateId);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
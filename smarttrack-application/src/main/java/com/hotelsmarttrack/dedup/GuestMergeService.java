@@ -0,0 +1,54 @@
+package com.hotelsmarttrack.dedup;
+
+import com.hotelsmarttrack.base.entity.Guest;
+import com.hotelsmarttrack.base.service.BillingService;
+import com.hotelsmarttrack.base.service.GuestService;
+import com.hotelsmarttrack.base.service.ReservationService;
+import com.hotelsmarttrack.base.service.StayService;
+import org.springframework.stereotype.Service;
+
+/**
+ * GuestMergeService - merges duplicate guest profiles across components.
+ * The guest component retires the duplicate and moves its timeline first, then
+ * reservations, stays and invoices are re-pointed to the merged profile by their owning components.
+ */
+@Service
+public class GuestMergeService {
+
+    private final GuestService guestService;
+    private final ReservationService reservationService;
+    private final StayService stayService;
+    private final BillingService billingService;
+
+    public GuestMergeService(GuestService guestService, ReservationService reservationService,
+                             StayService stayService, BillingService billingService) {
+        this.guestService = guestService;
+        this.reservationService = reservationService;
+        this.stayService = stayService;
+        this.billingService = billingService;
+    }
+
+    /**
+     * Merge a duplicate profile into the surviving one.
+     * @throws IllegalArgumentException if either guest is unknown or already merged, or they are the same
+     */
+    public synchronized MergeReport merge(Long survivorId, Long duplicateId) {
+        Guest survivor = guestService.getGuestById(survivorId)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown guest " + survivorId));
+        Guest duplicate = guestService.getGuestById(duplicateId)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown guest " + duplicateId));
+        if (survivorId.equals(duplicateId) || "Merged".equals(survivor.getStatus())
+                || "Merged".equals(duplicate.getStatus())) {
+            throw new IllegalArgumentException("Guests " + survivorId + " and " + duplicateId + " cannot be merged");
+        }
+        if (guestService.mergeGuests(survivorId, duplicateId) == null) {
+            throw new IllegalArgumentException("Guest " + duplicateId + " could not be merged into " + survivorId);
+        }
+        // Re-read so reservations, stays and invoices get the contact details and status the merge added
+        Guest merged = guestService.getGuestById(survivorId).orElseThrow();
+        int reservations = reservationService.reassignGuest(duplicateId, merged);
+        int stays = stayService.reassignGuest(duplicateId, merged);
+        int invoices = billingService.reassignGuest(duplicateId, merged);
+        return new MergeReport(survivorId, duplicateId, reservations, stays, invoices);
+    }
+}
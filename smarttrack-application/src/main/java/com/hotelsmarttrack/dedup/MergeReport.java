@@ -0,0 +1,7 @@
+package com.hotelsmarttrack.dedup;
+
+/**
+ * MergeReport - outcome of merging a duplicate guest profile into a surviving one.
+ */
+public record MergeReport(Long survivorId, Long mergedId, int reservations, int stays, int invoices) {
+}
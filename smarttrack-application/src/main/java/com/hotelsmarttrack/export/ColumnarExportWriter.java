@@ -0,0 +1,106 @@
+package com.hotelsmarttrack.export;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * ColumnarExportWriter - column-major binary export in row groups, gzip-compressed.
+ * Rows are buffered one row group at a time, so memory stays bounded for any export size.
+ * <pre>
+ * file      = "STCOL" version:u8(1) columnCount:i32 (name:utf kind:u8)* group* 0:i32
+ * group     = rowCount:i32 column*                 (columns in header order)
+ * column    = nullBitmap:u8[(rowCount + 7) / 8] value*   (one value per non-null row)
+ * value     = LONG: i64 | DECIMAL: i64 hundredths | DATE: i64 epoch day
+ *           | TIMESTAMP: i64 epoch second of the local date-time read as UTC
+ *           | STRING: length:i32 utf8 bytes
+ * </pre>
+ */
+final class ColumnarExportWriter<T> implements ExportWriter<T> {
+
+    private static final int ROW_GROUP_SIZE = 8192;
+
+    private final List<ExportSchema.Column<T>> columns;
+    private final DataOutputStream out;
+    private final Object[][] group;
+    private int rows;
+
+    ColumnarExportWriter(ExportSchema<T> schema, OutputStream target) throws IOException {
+        this.columns = schema.columns();
+        this.out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(target, 1 << 16), 1 << 16));
+        this.group = new Object[columns.size()][ROW_GROUP_SIZE];
+        out.writeBytes("STCOL");
+        out.writeByte(1);
+        out.writeInt(columns.size());
+        for (ExportSchema.Column<T> column : columns) {
+            out.writeUTF(column.name());
+            out.writeByte(column.kind().ordinal());
+        }
+    }
+
+    @Override
+    public void write(T row) throws IOException {
+        for (int c = 0; c < group.length; c++) {
+            group[c][rows] = columns.get(c).value().apply(row);
+        }
+        if (++rows == ROW_GROUP_SIZE) {
+            flushGroup();
+        }
+    }
+
+    private void flushGroup() throws IOException {
+        out.writeInt(rows);
+        byte[] nulls = new byte[(rows + 7) / 8];
+        for (int c = 0; c < group.length; c++) {
+            Object[] values = group[c];
+            Arrays.fill(nulls, (byte) 0);
+            for (int r = 0; r < rows; r++) {
+                if (values[r] == null) {
+                    nulls[r >> 3] |= (byte) (1 << (r & 7));
+                }
+            }
+            out.write(nulls);
+            ExportSchema.Kind kind = columns.get(c).kind();
+            for (int r = 0; r < rows; r++) {
+                if (values[r] != null) {
+                    writeValue(kind, values[r]);
+                    values[r] = null;
+                }
+            }
+        }
+        rows = 0;
+    }
+
+    private void writeValue(ExportSchema.Kind kind, Object value) throws IOException {
+        switch (kind) {
+            case LONG -> out.writeLong(((Number) value).longValue());
+            case DECIMAL -> out.writeLong(((BigDecimal) value).setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue());
+            case DATE -> out.writeLong(((LocalDate) value).toEpochDay());
+            case TIMESTAMP -> out.writeLong(((LocalDateTime) value).toEpochSecond(ZoneOffset.UTC));
+            case STRING -> {
+                byte[] bytes = value.toString().getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (rows > 0) {
+            flushGroup();
+        }
+        out.writeInt(0);
+        out.close();
+    }
+}
@@ -0,0 +1,50 @@
+package com.hotelsmarttrack.export;
+
+import com.hotelsmarttrack.migration.Csv;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * CsvExportWriter - one header line, then one line per row; decimals in plain notation,
+ * dates and timestamps in ISO format.
+ */
+final class CsvExportWriter<T> implements ExportWriter<T> {
+
+    private final List<ExportSchema.Column<T>> columns;
+    private final BufferedWriter writer;
+    private final StringBuilder line = new StringBuilder(256);
+    private final Object[] values;
+
+    CsvExportWriter(ExportSchema<T> schema, OutputStream out) throws IOException {
+        this.columns = schema.columns();
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16);
+        this.values = new Object[columns.size()];
+        writeLine(columns.stream().map(ExportSchema.Column::name).toArray());
+    }
+
+    @Override
+    public void write(T row) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            Object value = columns.get(i).value().apply(row);
+            values[i] = value instanceof BigDecimal decimal ? decimal.toPlainString() : value;
+        }
+        writeLine(values);
+    }
+
+    private void writeLine(Object[] fields) throws IOException {
+        line.setLength(0);
+        Csv.append(line, fields).append('\n');
+        writer.append(line);
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,80 @@
+package com.hotelsmarttrack.export;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * ExportController - download endpoints for data exports.
+ * Downloads are streamed to the client while the rows are read; nothing is buffered whole.
+ */
+@RestController
+@RequestMapping("/api/export")
+public class ExportController {
+
+    private final ExportService exportService;
+
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    /**
+     * Download one entity type, e.g. /api/export/invoices?from=2025-01-01&to=2025-01-31&format=columnar
+     */
+    @GetMapping("/{kind}")
+    public ResponseEntity<StreamingResponseBody> download(
+            @PathVariable String kind,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "csv") String format) {
+        if (!ExportService.KINDS.contains(kind)) {
+            return ResponseEntity.notFound().build();
+        }
+        ExportFormat exportFormat = validate(from, to, format);
+        StreamingResponseBody body = out -> exportService.export(kind, from, to, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + kind + "-" + from + "_" + to + exportFormat.extension() + "\"")
+                .body(body);
+    }
+
+    /**
+     * Export every entity type to files in the export directory, in parallel.
+     */
+    @PostMapping
+    public List<ExportReport> exportAll(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "csv") String format) throws IOException {
+        return exportService.exportAll(from, to, validate(from, to, format));
+    }
+
+    /**
+     * Reject reversed date ranges and unknown formats with 400 before any export starts.
+     */
+    private static ExportFormat validate(LocalDate from, LocalDate to, String format) {
+        if (from.isAfter(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from " + from + " is after to " + to);
+        }
+        try {
+            return ExportFormat.parse(format);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown export format: " + format);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.hotelsmarttrack.export;
+
+/**
+ * ExportFormat - output formats for data exports.
+ */
+public enum ExportFormat {
+
+    CSV(".csv", "text/csv"),
+    COLUMNAR(".stcol.gz", "application/octet-stream");
+
+    private final String extension;
+    private final String contentType;
+
+    ExportFormat(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    /**
+     * Parse a format name, ignoring case.
+     * @throws IllegalArgumentException for unknown names
+     */
+    public static ExportFormat parse(String name) {
+        return valueOf(name.trim().toUpperCase());
+    }
+}
@@ -0,0 +1,7 @@
+package com.hotelsmarttrack.export;
+
+/**
+ * ExportReport - outcome of exporting one entity type to a file.
+ */
+public record ExportReport(String kind, long rows, String file, long elapsedMillis) {
+}
@@ -0,0 +1,64 @@
+package com.hotelsmarttrack.export;
+
+import com.hotelsmarttrack.base.entity.Invoice;
+import com.hotelsmarttrack.base.entity.Reservation;
+import com.hotelsmarttrack.base.entity.Stay;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * ExportSchema - the flat columns exported for one entity type.
+ * Related entities are exported as IDs (plus a few names), never as nested graphs.
+ */
+public record ExportSchema<T>(String kind, List<Column<T>> columns) {
+
+    /**
+     * Value kinds; the columnar format stores all but STRING as 8-byte longs.
+     */
+    public enum Kind {
+        LONG, DECIMAL, DATE, TIMESTAMP, STRING
+    }
+
+    public record Column<T>(String name, Kind kind, Function<T, Object> value) {
+    }
+
+    public static final ExportSchema<Reservation> RESERVATIONS = new ExportSchema<>("reservations", List.of(
+            new Column<>("reservationId", Kind.LONG, Reservation::getReservationId),
+            new Column<>("guestId", Kind.LONG, r -> r.getGuest() != null ? r.getGuest().getGuestId() : null),
+            new Column<>("roomTypeId", Kind.LONG, r -> r.getRoomType() != null ? r.getRoomType().getRoomTypeId() : null),
+            new Column<>("roomType", Kind.STRING, r -> r.getRoomType() != null ? r.getRoomType().getTypeName() : null),
+            new Column<>("roomId", Kind.LONG, r -> r.getAssignedRoom() != null ? r.getAssignedRoom().getRoomId() : null),
+            new Column<>("checkInDate", Kind.DATE, Reservation::getCheckInDate),
+            new Column<>("checkOutDate", Kind.DATE, Reservation::getCheckOutDate),
+            new Column<>("numberOfGuests", Kind.LONG, Reservation::getNumberOfGuests),
+            new Column<>("status", Kind.STRING, Reservation::getStatus),
+            new Column<>("groupBlockId", Kind.LONG, Reservation::getGroupBlockId),
+            new Column<>("quotedAmount", Kind.DECIMAL, Reservation::getQuotedAmount)));
+
+    public static final ExportSchema<Stay> STAYS = new ExportSchema<>("stays", List.of(
+            new Column<>("stayId", Kind.LONG, Stay::getStayId),
+            new Column<>("reservationId", Kind.LONG,
+                    s -> s.getReservation() != null ? s.getReservation().getReservationId() : null),
+            new Column<>("guestId", Kind.LONG, s -> s.getGuest() != null ? s.getGuest().getGuestId() : null),
+            new Column<>("roomId", Kind.LONG, s -> s.getRoom() != null ? s.getRoom().getRoomId() : null),
+            new Column<>("roomNumber", Kind.STRING, s -> s.getRoom() != null ? s.getRoom().getRoomNumber() : null),
+            new Column<>("checkInTime", Kind.TIMESTAMP, Stay::getCheckInTime),
+            new Column<>("checkOutTime", Kind.TIMESTAMP, Stay::getCheckOutTime),
+            new Column<>("status", Kind.STRING, Stay::getStatus)));
+
+    public static final ExportSchema<Invoice> INVOICES = new ExportSchema<>("invoices", List.of(
+            new Column<>("invoiceId", Kind.LONG, Invoice::getInvoiceId),
+            new Column<>("stayId", Kind.LONG, i -> i.getStay() != null ? i.getStay().getStayId() : null),
+            new Column<>("guestId", Kind.LONG, i -> i.getGuest() != null ? i.getGuest().getGuestId() : null),
+            new Column<>("roomCharges", Kind.DECIMAL, Invoice::getRoomCharges),
+            new Column<>("incidentalCharges", Kind.DECIMAL, Invoice::getIncidentalCharges),
+            new Column<>("taxes", Kind.DECIMAL, Invoice::getTaxes),
+            new Column<>("discounts", Kind.DECIMAL, Invoice::getDiscounts),
+            new Column<>("totalAmount", Kind.DECIMAL, Invoice::getTotalAmount),
+            new Column<>("amountPaid", Kind.DECIMAL, Invoice::getAmountPaid),
+            new Column<>("outstandingBalance", Kind.DECIMAL, Invoice::getOutstandingBalance),
+            new Column<>("status", Kind.STRING, Invoice::getStatus),
+            new Column<>("issuedTime", Kind.TIMESTAMP, Invoice::getIssuedTime),
+            new Column<>("payments", Kind.LONG, i -> i.getPayments() != null ? i.getPayments().size() : 0)));
+}
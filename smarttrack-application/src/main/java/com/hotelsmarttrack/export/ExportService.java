@@ -0,0 +1,159 @@
+package com.hotelsmarttrack.export;
+
+import com.hotelsmarttrack.base.service.BillingService;
+import com.hotelsmarttrack.base.service.ReservationService;
+import com.hotelsmarttrack.base.service.StayService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * ExportService - streaming exports of reservations, stays and invoices for finance and BI.
+ * Rows are read through the services' forEach accessors and written straight to the output,
+ * so neither a copy of the store nor the entity graphs behind a row are held in memory.
+ * Reservations are selected by arrival date, stays by check-in date and invoices by issue date.
+ */
+@Service
+public class ExportService {
+
+    public static final List<String> KINDS = List.of("reservations", "stays", "invoices");
+
+    private final ReservationService reservationService;
+    private final StayService stayService;
+    private final BillingService billingService;
+    private final Path exportDir;
+
+    public ExportService(ReservationService reservationService, StayService stayService,
+                         BillingService billingService,
+                         @Value("${smarttrack.export.dir:./data/export}") String exportDir) {
+        this.reservationService = reservationService;
+        this.stayService = stayService;
+        this.billingService = billingService;
+        this.exportDir = Path.of(exportDir);
+    }
+
+    /**
+     * Stream one entity type to an output stream, which is closed afterwards.
+     * @param kind One of KINDS
+     * @return Rows written
+     */
+    public long export(String kind, LocalDate from, LocalDate to, ExportFormat format, OutputStream out)
+            throws IOException {
+        return switch (kind) {
+            case "reservations" -> write(ExportSchema.RESERVATIONS, format, out,
+                    action -> reservationService.forEachArrival(from, to, action));
+            case "stays" -> write(ExportSchema.STAYS, format, out, action -> stayService.forEachStay(from, to, action));
+            case "invoices" -> write(ExportSchema.INVOICES, format, out,
+                    action -> billingService.forEachInvoice(from, to, action));
+            default -> throw new IllegalArgumentException("Unknown export kind: " + kind);
+        };
+    }
+
+    /**
+     * Export every entity type to files in the export directory, one type per thread.
+     * Each file is written under a temporary name and moved into place when complete.
+     */
+    public List<ExportReport> exportAll(LocalDate from, LocalDate to, ExportFormat format) throws IOException {
+        Files.createDirectories(exportDir);
+        ExecutorService pool = Executors.newFixedThreadPool(KINDS.size());
+        try {
+            List<CompletableFuture<ExportReport>> exports = new ArrayList<>();
+            for (String kind : KINDS) {
+                exports.add(CompletableFuture.supplyAsync(() -> exportToFile(kind, from, to, format), pool));
+            }
+            List<ExportReport> reports = new ArrayList<>();
+            for (CompletableFuture<ExportReport> export : exports) {
+                reports.add(export.join());
+            }
+            return reports;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw e;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Daily dump of the previous day's records for finance and BI.
+     */
+    @Scheduled(cron = "${smarttrack.export.daily-cron:0 30 3 * * *}")
+    public void scheduledDailyExport() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        try {
+            exportAll(yesterday, yesterday, ExportFormat.CSV);
+        } catch (IOException e) {
+            System.out.println("[ExportService] Daily export for " + yesterday + " failed: " + e.getMessage());
+        }
+    }
+
+    private ExportReport exportToFile(String kind, LocalDate from, LocalDate to, ExportFormat format) {
+        long start = System.currentTimeMillis();
+        Path target = exportDir.resolve(kind + "-" + from + "_" + to + format.extension());
+        Path partial = target.resolveSibling(target.getFileName() + ".part");
+        boolean moved = false;
+        try {
+            long rows;
+            // export() closes the stream itself; this also closes it if the writer never opened
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(partial), 1 << 16)) {
+                rows = export(kind, from, to, format, out);
+            }
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            moved = true;
+            long elapsed = System.currentTimeMillis() - start;
+            System.out.println("[ExportService] Exported " + rows + " " + kind + " to " + target + " in " + elapsed + " ms");
+            return new ExportReport(kind, rows, target.toString(), elapsed);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            // A failed export leaves no half-written file behind
+            if (!moved) {
+                deletePartial(partial);
+            }
+        }
+    }
+
+    private static void deletePartial(Path partial) {
+        try {
+            Files.deleteIfExists(partial);
+        } catch (IOException e) {
+            System.out.println("[ExportService] Could not delete " + partial + ": " + e.getMessage());
+        }
+    }
+
+    private static <T> long write(ExportSchema<T> schema, ExportFormat format, OutputStream out,
+                                  Consumer<Consumer<T>> source) throws IOException {
+        long[] rows = {0};
+        try (ExportWriter<T> writer = ExportWriter.open(format, schema, out)) {
+            source.accept(row -> {
+                try {
+                    writer.write(row);
+                    rows[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return rows[0];
+    }
+}
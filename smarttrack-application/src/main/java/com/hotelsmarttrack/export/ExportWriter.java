@@ -0,0 +1,21 @@
+package com.hotelsmarttrack.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * ExportWriter - writes rows of one schema to a stream as they arrive.
+ * Closing the writer completes the format and closes the stream.
+ */
+interface ExportWriter<T> extends Closeable {
+
+    void write(T row) throws IOException;
+
+    static <T> ExportWriter<T> open(ExportFormat format, ExportSchema<T> schema, OutputStream out) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvExportWriter<>(schema, out);
+            case COLUMNAR -> new ColumnarExportWriter<>(schema, out);
+        };
+    }
+}
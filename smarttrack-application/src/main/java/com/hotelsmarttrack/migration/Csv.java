@@ -0,0 +1,68 @@
+package com.hotelsmarttrack.migration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Csv - minimal RFC 4180 line parsing and formatting for migration files.
+ * Quoted fields may contain commas and doubled quotes, but not line breaks.
+ */
+public final class Csv {
+
+    private Csv() {
+    }
+
+    /**
+     * Split one line into fields.
+     * @throws IllegalArgumentException if a quoted field is not terminated
+     */
+    public static String[] parse(String line) {
+        List<String> fields = new ArrayList<>(8);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields.toArray(new String[0]);
+    }
+
+    /**
+     * Append values as one line (without line break), quoting only where needed; nulls become empty fields.
+     */
+    public static StringBuilder append(StringBuilder line, Object... values) {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            String value = values[i] == null ? "" : values[i].toString();
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                line.append('"').append(value.replace("\"", "\"\"")).append('"');
+            } else {
+                line.append(value);
+            }
+        }
+        return line;
+    }
+}
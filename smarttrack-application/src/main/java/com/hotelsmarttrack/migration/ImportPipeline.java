@@ -0,0 +1,241 @@
+package com.hotelsmarttrack.migration;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * ImportPipeline - streaming CSV import in three stages connected by bounded queues.
+ * The calling thread reads lines in batches, parser threads turn them into validated values
+ * and one inserter thread hands each batch to the target service, so parsing and inserting
+ * overlap and at most a few dozen batches are in memory regardless of file size.
+ * Invalid rows and failed batches go to a rejects file with their line number and reason.
+ * If a stage itself fails (e.g. the rejects file cannot be written), every stage keeps draining
+ * its queue so the run still finishes, and then fails with that error.
+ */
+final class ImportPipeline<T> {
+
+    private static final int BATCH_SIZE = 1_000;
+    private static final int QUEUE_CAPACITY = 16;
+
+    /**
+     * Parse one row's fields into a validated value; throw with the reason to reject it.
+     */
+    @FunctionalInterface
+    interface RowParser<T> {
+        T parse(String[] fields);
+    }
+
+    private record Row(long lineNumber, String line) {
+    }
+
+    private record Parsed<T>(long lineNumber, String line, T value) {
+    }
+
+    private final String kind;
+    private final String headerPrefix;
+    private final RowParser<T> parser;
+    private final Consumer<List<T>> inserter;
+    private final int parserThreads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+
+    /**
+     * @param headerPrefix A first line starting with this (ignoring case) is skipped as the header
+     * @param inserter Stores one batch of validated values
+     */
+    ImportPipeline(String kind, String headerPrefix, RowParser<T> parser, Consumer<List<T>> inserter) {
+        this.kind = kind;
+        this.headerPrefix = headerPrefix.toLowerCase();
+        this.parser = parser;
+        this.inserter = inserter;
+    }
+
+    ImportReport run(BufferedReader reader, Path rejectsFile) throws IOException, InterruptedException {
+        long start = System.currentTimeMillis();
+        BlockingQueue<List<Row>> rows = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        BlockingQueue<List<Parsed<T>>> parsed = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        List<Row> endOfRows = new ArrayList<>(0);
+        List<Parsed<T>> endOfParsed = new ArrayList<>(0);
+        AtomicLong imported = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        long read = 0;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(parserThreads + 1, task -> {
+            Thread thread = new Thread(task, "import-" + kind + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try (BufferedWriter rejects = Files.newBufferedWriter(rejectsFile)) {
+            rejects.write("line,reason,row");
+            rejects.newLine();
+            RejectSink sink = new RejectSink(rejects, rejected);
+            CountDownLatch parsersDone = new CountDownLatch(parserThreads);
+            for (int i = 0; i < parserThreads; i++) {
+                workers.submit(() -> {
+                    try {
+                        parse(rows, parsed, endOfRows, sink, failure);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        parsersDone.countDown();
+                    }
+                });
+            }
+            Future<?> insertStage = workers.submit(() -> {
+                insert(parsed, endOfParsed, imported, sink, failure);
+                return null;
+            });
+
+            IOException readFailure = null;
+            try {
+                List<Row> batch = new ArrayList<>(BATCH_SIZE);
+                String line;
+                long lineNumber = 0;
+                while (failure.get() == null && (line = reader.readLine()) != null) {
+                    lineNumber++;
+                    if (line.isBlank() || (lineNumber == 1 && line.toLowerCase().startsWith(headerPrefix))) {
+                        continue;
+                    }
+                    batch.add(new Row(lineNumber, line));
+                    read++;
+                    if (batch.size() == BATCH_SIZE) {
+                        rows.put(batch);
+                        batch = new ArrayList<>(BATCH_SIZE);
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    rows.put(batch);
+                }
+            } catch (IOException e) {
+                readFailure = e;
+            }
+            // Drain whatever was read before finishing or failing
+            rows.put(endOfRows);
+            parsersDone.await();
+            parsed.put(endOfParsed);
+            try {
+                insertStage.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Insert stage failed", e.getCause());
+            }
+            if (failure.get() != null) {
+                System.out.println("[ImportPipeline] Importing " + kind + " failed after " + read + " rows");
+                throw new IllegalStateException("Import of " + kind + " failed", failure.get());
+            }
+            if (readFailure != null) {
+                System.out.println("[ImportPipeline] Reading " + kind + " failed after " + read + " rows");
+                throw readFailure;
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+
+        long elapsed = System.currentTimeMillis() - start;
+        if (rejected.get() == 0) {
+            Files.deleteIfExists(rejectsFile);
+        }
+        ImportReport report = new ImportReport(kind, read, imported.get(), rejected.get(), elapsed,
+                read * 1000.0 / Math.max(1, elapsed), rejected.get() > 0 ? rejectsFile.toString() : null);
+        System.out.println("[ImportPipeline] Imported " + report.imported() + " of " + read + " " + kind +
+                " rows in " + elapsed + " ms (" + report.rejected() + " rejected)");
+        return report;
+    }
+
+    private void parse(BlockingQueue<List<Row>> rows, BlockingQueue<List<Parsed<T>>> parsed,
+                       List<Row> endOfRows, RejectSink sink, AtomicReference<Throwable> failure)
+            throws InterruptedException {
+        while (true) {
+            List<Row> batch = rows.take();
+            if (batch == endOfRows) {
+                // Leave the marker for the other parser threads
+                rows.put(endOfRows);
+                return;
+            }
+            // After a failure, keep taking batches so the reader never blocks on a full queue
+            if (failure.get() != null) {
+                continue;
+            }
+            List<Parsed<T>> valid = new ArrayList<>(batch.size());
+            try {
+                for (Row row : batch) {
+                    try {
+                        valid.add(new Parsed<>(row.lineNumber(), row.line(), parser.parse(Csv.parse(row.line()))));
+                    } catch (RuntimeException e) {
+                        sink.reject(row.lineNumber(), reason(e), row.line());
+                    }
+                }
+            } catch (Throwable e) {
+                failure.compareAndSet(null, e);
+                continue;
+            }
+            if (!valid.isEmpty()) {
+                parsed.put(valid);
+            }
+        }
+    }
+
+    private void insert(BlockingQueue<List<Parsed<T>>> parsed, List<Parsed<T>> endOfParsed,
+                        AtomicLong imported, RejectSink sink, AtomicReference<Throwable> failure)
+            throws InterruptedException {
+        List<Parsed<T>> batch;
+        while ((batch = parsed.take()) != endOfParsed) {
+            // After a failure, keep draining to the end marker so parsers never block on a full queue
+            if (failure.get() != null) {
+                continue;
+            }
+            List<T> values = new ArrayList<>(batch.size());
+            batch.forEach(p -> values.add(p.value()));
+            try {
+                try {
+                    inserter.accept(values);
+                    imported.addAndGet(values.size());
+                } catch (RuntimeException e) {
+                    String reason = "Insert failed: " + reason(e);
+                    batch.forEach(p -> sink.reject(p.lineNumber(), reason, p.line()));
+                }
+            } catch (Throwable e) {
+                failure.compareAndSet(null, e);
+            }
+        }
+    }
+
+    private static String reason(RuntimeException e) {
+        return e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+    }
+
+    /**
+     * Rejects file shared by the parser and inserter threads.
+     */
+    private record RejectSink(BufferedWriter writer, AtomicLong rejected) {
+
+        void reject(long lineNumber, String reason, String line) {
+            String record = Csv.append(new StringBuilder(), lineNumber, reason, line).toString();
+            synchronized (writer) {
+                try {
+                    writer.write(record);
+                    writer.newLine();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            rejected.incrementAndGet();
+        }
+    }
+}
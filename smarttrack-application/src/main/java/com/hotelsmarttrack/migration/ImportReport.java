@@ -0,0 +1,9 @@
+package com.hotelsmarttrack.migration;
+
+/**
+ * ImportReport - outcome of one migration file import.
+ * @param rejectsFile CSV of rejected rows (line number, reason, original line), or null if none were rejected
+ */
+public record ImportReport(String kind, long rowsRead, long imported, long rejected,
+                           long elapsedMillis, double rowsPerSecond, String rejectsFile) {
+}
@@ -0,0 +1,34 @@
+package com.hotelsmarttrack.migration;
+
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * PmsImportController - upload endpoints for PMS migration files.
+ * The request body is the CSV file itself and is streamed, never buffered whole.
+ * Import guests before the reservations that reference them.
+ */
+@RestController
+@RequestMapping("/api/migration")
+public class PmsImportController {
+
+    private final PmsImportService importService;
+
+    public PmsImportController(PmsImportService importService) {
+        this.importService = importService;
+    }
+
+    @PostMapping("/guests")
+    public ImportReport importGuests(InputStream body) throws IOException, InterruptedException {
+        return importService.importGuests(body);
+    }
+
+    @PostMapping("/reservations")
+    public ImportReport importReservations(InputStream body) throws IOException, InterruptedException {
+        return importService.importReservations(body);
+    }
+}
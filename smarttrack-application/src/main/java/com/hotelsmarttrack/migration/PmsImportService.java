@@ -0,0 +1,171 @@
+package com.hotelsmarttrack.migration;
+
+import com.hotelsmarttrack.base.entity.Guest;
+import com.hotelsmarttrack.base.entity.Reservation;
+import com.hotelsmarttrack.base.entity.RoomType;
+import com.hotelsmarttrack.base.service.GuestService;
+import com.hotelsmarttrack.base.service.ReservationService;
+import com.hotelsmarttrack.base.service.RoomService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * PmsImportService - bulk migration of guest profiles and reservations from another PMS.
+ * Files are streamed through an ImportPipeline into the bulk insert operations of the
+ * guest and reservation services. Source-system guest IDs are remembered, so a reservations
+ * file imported after the guests file can reference them.
+ *
+ * Guests CSV: legacyId,name,email,phone,identificationNumber,status
+ * Reservations CSV: legacyId,guestLegacyId,roomType,checkIn,checkOut,numberOfGuests,status,specialRequests
+ * (roomType is a type name or ID, dates are ISO yyyy-MM-dd, status and specialRequests may be empty).
+ */
+@Service
+public class PmsImportService {
+
+    private static final Set<String> GUEST_STATUSES = Set.of("Active", "Inactive", "Blacklisted");
+    private static final Set<String> RESERVATION_STATUSES =
+            Set.of("Reserved", "Confirmed", "Checked-In", "Checked-Out", "Cancelled", "No-Show");
+
+    private record LegacyGuest(String legacyId, Guest guest) {
+    }
+
+    private record LegacyReservation(String legacyId, Reservation reservation) {
+    }
+
+    private final GuestService guestService;
+    private final ReservationService reservationService;
+    private final RoomService roomService;
+    private final Path rejectsDir;
+
+    // Source-system IDs already imported (or claimed by a row in flight; released if its batch fails)
+    private final Map<String, Guest> guestsByLegacyId = new ConcurrentHashMap<>();
+    private final Set<String> claimedGuestIds = ConcurrentHashMap.newKeySet();
+    private final Set<String> claimedReservationIds = ConcurrentHashMap.newKeySet();
+
+    public PmsImportService(GuestService guestService, ReservationService reservationService,
+                            RoomService roomService,
+                            @Value("${smarttrack.migration.rejects-dir:./data/migration}") String rejectsDir) {
+        this.guestService = guestService;
+        this.reservationService = reservationService;
+        this.roomService = roomService;
+        this.rejectsDir = Path.of(rejectsDir);
+    }
+
+    /**
+     * Import a guests CSV stream.
+     */
+    public ImportReport importGuests(InputStream csv) throws IOException, InterruptedException {
+        ImportPipeline<LegacyGuest> pipeline = new ImportPipeline<>("guests", "legacyId",
+                this::parseGuest, batch -> {
+                    try {
+                        guestService.importGuests(batch.stream().map(LegacyGuest::guest).toList());
+                    } catch (RuntimeException e) {
+                        // Rejected rows may be fixed and imported again
+                        batch.forEach(g -> claimedGuestIds.remove(g.legacyId()));
+                        throw e;
+                    }
+                    batch.forEach(g -> guestsByLegacyId.put(g.legacyId(), g.guest()));
+                });
+        return run(pipeline, csv, "guests");
+    }
+
+    /**
+     * Import a reservations CSV stream; the guests it references must have been imported already.
+     */
+    public ImportReport importReservations(InputStream csv) throws IOException, InterruptedException {
+        // Room types resolved once per file, by name or ID
+        Map<String, RoomType> roomTypes = new HashMap<>();
+        for (RoomType roomType : roomService.getAllRoomTypes()) {
+            roomTypes.put(roomType.getTypeName().toLowerCase(), roomType);
+            roomTypes.put(roomType.getRoomTypeId().toString(), roomType);
+        }
+        ImportPipeline<LegacyReservation> pipeline = new ImportPipeline<>("reservations", "legacyId",
+                fields -> parseReservation(fields, roomTypes), batch -> {
+                    try {
+                        reservationService.importReservations(
+                                batch.stream().map(LegacyReservation::reservation).toList());
+                    } catch (RuntimeException e) {
+                        batch.forEach(r -> claimedReservationIds.remove(r.legacyId()));
+                        throw e;
+                    }
+                });
+        return run(pipeline, csv, "reservations");
+    }
+
+    private <T> ImportReport run(ImportPipeline<T> pipeline, InputStream csv, String kind)
+            throws IOException, InterruptedException {
+        Files.createDirectories(rejectsDir);
+        Path rejects = Files.createTempFile(rejectsDir, kind + "-rejects-", ".csv");
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8), 1 << 16)) {
+            return pipeline.run(reader, rejects);
+        }
+    }
+
+    private LegacyGuest parseGuest(String[] fields) {
+        require(fields.length >= 5, "Expected at least 5 fields but found " + fields.length);
+        String legacyId = fields[0].trim();
+        String name = fields[1].trim();
+        String email = fields[2].trim();
+        String status = fields.length > 5 && !fields[5].isBlank() ? fields[5].trim() : "Active";
+        require(!legacyId.isEmpty(), "Missing legacy ID");
+        require(!name.isEmpty(), "Missing name");
+        require(email.isEmpty() || email.indexOf('@') > 0, "Invalid email: " + email);
+        require(GUEST_STATUSES.contains(status), "Unknown guest status: " + status);
+        require(claimedGuestIds.add(legacyId), "Duplicate legacy guest ID: " + legacyId);
+
+        Guest guest = new Guest();
+        guest.setName(name);
+        guest.setEmail(email);
+        guest.setPhone(fields[3].trim());
+        guest.setIdentificationNumber(fields[4].isBlank() ? null : fields[4].trim());
+        guest.setStatus(status);
+        return new LegacyGuest(legacyId, guest);
+    }
+
+    private LegacyReservation parseReservation(String[] fields, Map<String, RoomType> roomTypes) {
+        require(fields.length >= 6, "Expected at least 6 fields but found " + fields.length);
+        String legacyId = fields[0].trim();
+        Guest guest = guestsByLegacyId.get(fields[1].trim());
+        RoomType roomType = roomTypes.get(fields[2].trim().toLowerCase());
+        LocalDate checkIn = LocalDate.parse(fields[3].trim());
+        LocalDate checkOut = LocalDate.parse(fields[4].trim());
+        int numberOfGuests = Integer.parseInt(fields[5].trim());
+        String status = fields.length > 6 && !fields[6].isBlank() ? fields[6].trim() : "Reserved";
+        require(!legacyId.isEmpty(), "Missing legacy ID");
+        require(guest != null, "Unknown guest: " + fields[1]);
+        require(roomType != null, "Unknown room type: " + fields[2]);
+        require(checkIn.isBefore(checkOut), "Check-out must be after check-in");
+        require(numberOfGuests > 0, "Number of guests must be positive");
+        require(RESERVATION_STATUSES.contains(status), "Unknown reservation status: " + status);
+        require(claimedReservationIds.add(legacyId), "Duplicate legacy reservation ID: " + legacyId);
+
+        Reservation reservation = new Reservation();
+        reservation.setGuest(guest);
+        reservation.setRoomType(roomType);
+        reservation.setCheckInDate(checkIn);
+        reservation.setCheckOutDate(checkOut);
+        reservation.setNumberOfGuests(numberOfGuests);
+        reservation.setStatus(status);
+        reservation.setSpecialRequests(fields.length > 7 && !fields[7].isBlank() ? fields[7].trim() : null);
+        return new LegacyReservation(legacyId, reservation);
+    }
+
+    private static void require(boolean condition, String reason) {
+        if (!condition) {
+            throw new IllegalArgumentException(reason);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.hotelsmarttrack.segment;
+
+import java.util.Arrays;
+import java.util.function.LongPredicate;
+
+/**
+ * GuestBitmap - set of guest IDs as a chunked bitmap.
+ * IDs are split into chunks of 65536; a chunk with no members is not allocated,
+ * so sparse segments stay small while dense ones cost one bit per guest.
+ * Set operations return new bitmaps and work chunk by chunk, skipping empty chunks.
+ */
+final class GuestBitmap {
+
+    private static final int CHUNK_SHIFT = 16;
+    private static final int WORDS_PER_CHUNK = (1 << CHUNK_SHIFT) / 64;
+
+    private long[][] chunks;
+
+    GuestBitmap() {
+        this(0);
+    }
+
+    private GuestBitmap(int chunkCount) {
+        this.chunks = new long[chunkCount][];
+    }
+
+    void add(long guestId) {
+        if (guestId < 0 || guestId > Integer.MAX_VALUE) {
+            return;
+        }
+        int chunk = (int) (guestId >>> CHUNK_SHIFT);
+        if (chunk >= chunks.length) {
+            chunks = Arrays.copyOf(chunks, Math.max(chunk + 1, chunks.length * 2));
+        }
+        long[] words = chunks[chunk];
+        if (words == null) {
+            words = chunks[chunk] = new long[WORDS_PER_CHUNK];
+        }
+        int bit = (int) (guestId & ((1 << CHUNK_SHIFT) - 1));
+        words[bit >>> 6] |= 1L << bit;
+    }
+
+    boolean contains(long guestId) {
+        if (guestId < 0 || guestId > Integer.MAX_VALUE) {
+            return false;
+        }
+        int chunk = (int) (guestId >>> CHUNK_SHIFT);
+        if (chunk >= chunks.length || chunks[chunk] == null) {
+            return false;
+        }
+        int bit = (int) (guestId & ((1 << CHUNK_SHIFT) - 1));
+        return (chunks[chunk][bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    GuestBitmap and(GuestBitmap other) {
+        GuestBitmap result = new GuestBitmap(Math.min(chunks.length, other.chunks.length));
+        for (int c = 0; c < result.chunks.length; c++) {
+            long[] a = chunks[c];
+            long[] b = other.chunks[c];
+            if (a != null && b != null) {
+                long[] words = new long[WORDS_PER_CHUNK];
+                for (int w = 0; w < WORDS_PER_CHUNK; w++) {
+                    words[w] = a[w] & b[w];
+                }
+                result.chunks[c] = nonEmpty(words);
+            }
+        }
+        return result;
+    }
+
+    GuestBitmap or(GuestBitmap other) {
+        GuestBitmap result = new GuestBitmap(Math.max(chunks.length, other.chunks.length));
+        for (int c = 0; c < result.chunks.length; c++) {
+            long[] a = c < chunks.length ? chunks[c] : null;
+            long[] b = c < other.chunks.length ? other.chunks[c] : null;
+            if (a == null || b == null) {
+                long[] only = a != null ? a : b;
+                result.chunks[c] = only != null ? only.clone() : null;
+            } else {
+                long[] words = new long[WORDS_PER_CHUNK];
+                for (int w = 0; w < WORDS_PER_CHUNK; w++) {
+                    words[w] = a[w] | b[w];
+                }
+                result.chunks[c] = words;
+            }
+        }
+        return result;
+    }
+
+    GuestBitmap andNot(GuestBitmap other) {
+        GuestBitmap result = new GuestBitmap(chunks.length);
+        for (int c = 0; c < chunks.length; c++) {
+            long[] a = chunks[c];
+            long[] b = c < other.chunks.length ? other.chunks[c] : null;
+            if (a == null) {
+                continue;
+            }
+            if (b == null) {
+                result.chunks[c] = a.clone();
+            } else {
+                long[] words = new long[WORDS_PER_CHUNK];
+                for (int w = 0; w < WORDS_PER_CHUNK; w++) {
+                    words[w] = a[w] & ~b[w];
+                }
+                result.chunks[c] = nonEmpty(words);
+            }
+        }
+        return result;
+    }
+
+    long cardinality() {
+        long count = 0;
+        for (long[] words : chunks) {
+            if (words != null) {
+                for (long word : words) {
+                    count += Long.bitCount(word);
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Visit members in ascending order until the action returns false.
+     */
+    void forEach(LongPredicate action) {
+        for (int c = 0; c < chunks.length; c++) {
+            long[] words = chunks[c];
+            if (words == null) {
+                continue;
+            }
+            long base = (long) c << CHUNK_SHIFT;
+            for (int w = 0; w < WORDS_PER_CHUNK; w++) {
+                long word = words[w];
+                while (word != 0) {
+                    if (!action.test(base + ((long) w << 6) + Long.numberOfTrailingZeros(word))) {
+                        return;
+                    }
+                    word &= word - 1;
+                }
+            }
+        }
+    }
+
+    /**
+     * Bytes held by allocated chunks.
+     */
+    long sizeInBytes() {
+        long bytes = 0;
+        for (long[] words : chunks) {
+            if (words != null) {
+                bytes += (long) WORDS_PER_CHUNK * Long.BYTES;
+            }
+        }
+        return bytes;
+    }
+
+    private static long[] nonEmpty(long[] words) {
+        for (long word : words) {
+            if (word != 0) {
+                return words;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,79 @@
+package com.hotelsmarttrack.segment;
+
+import com.hotelsmarttrack.base.service.GuestService;
+import com.hotelsmarttrack.base.service.StayService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * GuestSegmentService - marketing and operations segments answered from bitmap indexes.
+ * The bitmaps are rebuilt in one pass over guests and stays on a schedule (and on demand);
+ * queries then combine them with AND/OR/NOT instead of scanning guests, stays and reservations.
+ * Results reflect the data as of the last rebuild.
+ */
+@Service
+public class GuestSegmentService {
+
+    private final GuestService guestService;
+    private final StayService stayService;
+    private volatile Snapshot snapshot;
+
+    private record Snapshot(SegmentIndex index, LocalDateTime builtAt) {
+    }
+
+    public GuestSegmentService(GuestService guestService, StayService stayService) {
+        this.guestService = guestService;
+        this.stayService = stayService;
+    }
+
+    /**
+     * Evaluate a segment expression, e.g. {@code status:Active AND stays>=3 AND roomType:Suite}.
+     * See SegmentQuery for the grammar.
+     * @param limit Maximum guest IDs to return; the count always covers the whole segment
+     * @throws IllegalArgumentException if the expression is malformed
+     */
+    public SegmentResult query(String query, int limit) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            rebuild();
+            current = snapshot;
+        }
+        long start = System.nanoTime();
+        GuestBitmap segment = SegmentQuery.evaluate(query, current.index());
+        List<Long> guestIds = new ArrayList<>(Math.min(Math.max(limit, 0), 1024));
+        if (limit > 0) {
+            segment.forEach(id -> {
+                guestIds.add(id);
+                return guestIds.size() < limit;
+            });
+        }
+        long count = segment.cardinality();
+        return new SegmentResult(query, count, guestIds, current.builtAt(), (System.nanoTime() - start) / 1000);
+    }
+
+    /**
+     * Rebuild every bitmap from the current guests and stays and swap the new snapshot in.
+     */
+    public synchronized SegmentIndexReport rebuild() {
+        long start = System.currentTimeMillis();
+        SegmentIndex rebuilt = SegmentIndex.build(guestService::forEachGuestStatus,
+                action -> stayService.forEachStay(LocalDate.MIN, LocalDate.MAX, action), LocalDate.now());
+        LocalDateTime now = LocalDateTime.now();
+        snapshot = new Snapshot(rebuilt, now);
+        long elapsed = System.currentTimeMillis() - start;
+        long guests = rebuilt.all().cardinality();
+        System.out.println("[GuestSegmentService] Indexed " + guests + " guests in " + rebuilt.bitmapCount() +
+                " bitmaps (" + rebuilt.sizeInBytes() / 1024 + " KB) in " + elapsed + " ms");
+        return new SegmentIndexReport(guests, rebuilt.bitmapCount(), rebuilt.sizeInBytes(), now, elapsed);
+    }
+
+    @Scheduled(cron = "${smarttrack.segments.rebuild-cron:0 15 * * * *}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+}
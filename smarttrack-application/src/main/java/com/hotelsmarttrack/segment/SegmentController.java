@@ -0,0 +1,43 @@
+package com.hotelsmarttrack.segment;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * SegmentController - guest segment queries for marketing and operations.
+ */
+@RestController
+@RequestMapping("/api/segments")
+public class SegmentController {
+
+    private static final int MAX_GUEST_IDS = 10000;
+
+    private final GuestSegmentService segmentService;
+
+    public SegmentController(GuestSegmentService segmentService) {
+        this.segmentService = segmentService;
+    }
+
+    /**
+     * Count a segment and list its first guest IDs,
+     * e.g. /api/segments?q=status:Active AND stays>=3 AND roomType:Suite AND NOT status:Blacklisted
+     */
+    @GetMapping
+    public SegmentResult query(@RequestParam String q, @RequestParam(defaultValue = "100") int limit) {
+        try {
+            return segmentService.query(q, Math.min(limit, MAX_GUEST_IDS));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @PostMapping("/rebuild")
+    public SegmentIndexReport rebuild() {
+        return segmentService.rebuild();
+    }
+}
@@ -0,0 +1,169 @@
+package com.hotelsmarttrack.segment;
+
+import com.hotelsmarttrack.base.entity.RoomType;
+import com.hotelsmarttrack.base.entity.Stay;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * SegmentIndex - immutable snapshot of the guest bitmaps, built in one pass over guests and stays.
+ * <ul>
+ *   <li>status: one bitmap per guest status</li>
+ *   <li>room type: guests with at least one stay in that room type</li>
+ *   <li>stay count: stays checked in during the last 365 days, bucketed 0..9 and 10+</li>
+ *   <li>recency: last check-in within 30, 90, 180 or 365 days (cumulative)</li>
+ * </ul>
+ */
+final class SegmentIndex {
+
+    static final int MAX_STAY_BUCKET = 10;
+    static final int[] RECENCY_DAYS = {30, 90, 180, 365};
+    private static final int STAY_COUNT_WINDOW_DAYS = 365;
+
+    private final LocalDate asOf;
+    private final GuestBitmap all = new GuestBitmap();
+    private final Map<String, GuestBitmap> byStatus = new HashMap<>();
+    private final Map<String, GuestBitmap> byRoomType = new HashMap<>();
+    private final GuestBitmap[] byStayCount = new GuestBitmap[MAX_STAY_BUCKET + 1];
+    private final GuestBitmap[] stayedWithin = new GuestBitmap[RECENCY_DAYS.length];
+
+    private SegmentIndex(LocalDate asOf) {
+        this.asOf = asOf;
+        Arrays.setAll(byStayCount, i -> new GuestBitmap());
+        Arrays.setAll(stayedWithin, i -> new GuestBitmap());
+    }
+
+    /**
+     * @param guests Source that feeds every guest's status and ID to the given action
+     * @param stays Source that feeds every stay to the given action
+     */
+    static SegmentIndex build(Consumer<ObjLongConsumer<String>> guests, Consumer<Consumer<Stay>> stays,
+                              LocalDate asOf) {
+        SegmentIndex index = new SegmentIndex(asOf);
+        int[] maxId = {0};
+        guests.accept((status, id) -> {
+            index.all.add(id);
+            if (status != null) {
+                index.byStatus.computeIfAbsent(key(status), s -> new GuestBitmap()).add(id);
+            }
+            maxId[0] = (int) Math.max(maxId[0], Math.min(id, Integer.MAX_VALUE - 1));
+        });
+
+        // Per-guest aggregates in flat arrays indexed by guest ID
+        int maxGuestId = maxId[0];
+        int[] stayCounts = new int[maxGuestId + 1];
+        long[] lastStayDay = new long[maxGuestId + 1];
+        Arrays.fill(lastStayDay, Long.MIN_VALUE);
+        long windowStart = asOf.minusDays(STAY_COUNT_WINDOW_DAYS).toEpochDay();
+        long today = asOf.toEpochDay();
+        stays.accept(stay -> {
+            if (stay.getGuest() == null || stay.getGuest().getGuestId() == null || stay.getCheckInTime() == null) {
+                return;
+            }
+            long id = stay.getGuest().getGuestId();
+            if (id < 0 || id > maxGuestId) {
+                return;
+            }
+            int g = (int) id;
+            long day = stay.getCheckInTime().toLocalDate().toEpochDay();
+            if (day >= windowStart && day <= today) {
+                stayCounts[g]++;
+            }
+            lastStayDay[g] = Math.max(lastStayDay[g], day);
+            RoomType roomType = roomTypeOf(stay);
+            if (roomType != null && roomType.getTypeName() != null) {
+                index.byRoomType.computeIfAbsent(key(roomType.getTypeName()), t -> new GuestBitmap()).add(id);
+            }
+        });
+
+        index.all.forEach(id -> {
+            int g = (int) id;
+            index.byStayCount[Math.min(stayCounts[g], MAX_STAY_BUCKET)].add(id);
+            for (int r = 0; r < RECENCY_DAYS.length; r++) {
+                if (lastStayDay[g] >= today - RECENCY_DAYS[r]) {
+                    index.stayedWithin[r].add(id);
+                }
+            }
+            return true;
+        });
+        return index;
+    }
+
+    LocalDate asOf() {
+        return asOf;
+    }
+
+    GuestBitmap all() {
+        return all;
+    }
+
+    GuestBitmap status(String status) {
+        return byStatus.getOrDefault(key(status), new GuestBitmap());
+    }
+
+    GuestBitmap roomType(String typeName) {
+        return byRoomType.getOrDefault(key(typeName), new GuestBitmap());
+    }
+
+    /**
+     * Guests whose stay count in the last 365 days lies in [min, max]; the top bucket means 10 or more.
+     */
+    GuestBitmap stayCount(int min, int max) {
+        GuestBitmap result = new GuestBitmap();
+        for (int bucket = Math.max(min, 0); bucket <= Math.min(max, MAX_STAY_BUCKET); bucket++) {
+            result = result.or(byStayCount[bucket]);
+        }
+        return result;
+    }
+
+    /**
+     * Guests whose last check-in was within the given number of days.
+     * @throws IllegalArgumentException unless days is one of RECENCY_DAYS
+     */
+    GuestBitmap stayedWithin(int days) {
+        for (int r = 0; r < RECENCY_DAYS.length; r++) {
+            if (RECENCY_DAYS[r] == days) {
+                return stayedWithin[r];
+            }
+        }
+        throw new IllegalArgumentException("lastStay supports " + Arrays.toString(RECENCY_DAYS) + " days");
+    }
+
+    int bitmapCount() {
+        return 1 + byStatus.size() + byRoomType.size() + byStayCount.length + stayedWithin.length;
+    }
+
+    long sizeInBytes() {
+        long bytes = all.sizeInBytes();
+        for (GuestBitmap bitmap : byStatus.values()) {
+            bytes += bitmap.sizeInBytes();
+        }
+        for (GuestBitmap bitmap : byRoomType.values()) {
+            bytes += bitmap.sizeInBytes();
+        }
+        for (GuestBitmap bitmap : byStayCount) {
+            bytes += bitmap.sizeInBytes();
+        }
+        for (GuestBitmap bitmap : stayedWithin) {
+            bytes += bitmap.sizeInBytes();
+        }
+        return bytes;
+    }
+
+    private static String key(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static RoomType roomTypeOf(Stay stay) {
+        if (stay.getRoom() != null && stay.getRoom().getRoomType() != null) {
+            return stay.getRoom().getRoomType();
+        }
+        return stay.getReservation() != null ? stay.getReservation().getRoomType() : null;
+    }
+}
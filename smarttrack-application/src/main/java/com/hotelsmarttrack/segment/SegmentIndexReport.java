@@ -0,0 +1,10 @@
+package com.hotelsmarttrack.segment;
+
+import java.time.LocalDateTime;
+
+/**
+ * SegmentIndexReport - outcome of rebuilding the segment bitmaps.
+ */
+public record SegmentIndexReport(long guests, int bitmaps, long bitmapBytes, LocalDateTime builtAt,
+                                 long elapsedMillis) {
+}
@@ -0,0 +1,121 @@
+package com.hotelsmarttrack.segment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * SegmentQuery - evaluates a boolean segment expression against a SegmentIndex.
+ * <pre>
+ * expr   = term ("OR" term)*
+ * term   = factor ("AND" factor)*
+ * factor = "NOT" factor | "(" expr ")" | atom
+ * atom   = status:VALUE | roomType:VALUE      (quote values with spaces: roomType:"Deluxe King")
+ *        | stays(>=|<=|=)N                     (check-ins in the last 365 days, N up to 10)
+ *        | lastStay&lt;=DAYS                      (DAYS one of 30, 90, 180, 365)
+ * </pre>
+ * Keywords and values are case-insensitive, e.g.
+ * {@code status:Active AND stays>=3 AND roomType:Suite AND NOT status:Blacklisted}.
+ */
+final class SegmentQuery {
+
+    private static final Pattern TOKEN = Pattern.compile("\\(|\\)|[^\\s()\"]+(?:\"[^\"]*\")?|\"[^\"]*\"");
+    private static final Pattern FIELD = Pattern.compile("(?i)(status|roomType):\"?([^\"]*)\"?");
+    private static final Pattern STAYS = Pattern.compile("(?i)stays(>=|<=|=)(\\d+)");
+    private static final Pattern LAST_STAY = Pattern.compile("(?i)lastStay<=(\\d+)");
+
+    private final List<String> tokens;
+    private final SegmentIndex index;
+    private int position;
+
+    private SegmentQuery(List<String> tokens, SegmentIndex index) {
+        this.tokens = tokens;
+        this.index = index;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the expression is malformed
+     */
+    static GuestBitmap evaluate(String query, SegmentIndex index) {
+        List<String> tokens = new ArrayList<>();
+        Matcher matcher = TOKEN.matcher(query);
+        while (matcher.find()) {
+            tokens.add(matcher.group());
+        }
+        if (tokens.isEmpty()) {
+            throw new IllegalArgumentException("Empty segment query");
+        }
+        SegmentQuery parser = new SegmentQuery(tokens, index);
+        GuestBitmap result = parser.expr();
+        if (parser.position < tokens.size()) {
+            throw new IllegalArgumentException("Unexpected '" + tokens.get(parser.position) + "' in segment query");
+        }
+        return result;
+    }
+
+    private GuestBitmap expr() {
+        GuestBitmap result = term();
+        while (accept("OR")) {
+            result = result.or(term());
+        }
+        return result;
+    }
+
+    private GuestBitmap term() {
+        GuestBitmap result = factor();
+        while (accept("AND")) {
+            result = result.and(factor());
+        }
+        return result;
+    }
+
+    private GuestBitmap factor() {
+        if (accept("NOT")) {
+            return index.all().andNot(factor());
+        }
+        if (accept("(")) {
+            GuestBitmap result = expr();
+            if (!accept(")")) {
+                throw new IllegalArgumentException("Missing ')' in segment query");
+            }
+            return result;
+        }
+        if (position >= tokens.size()) {
+            throw new IllegalArgumentException("Segment query ends unexpectedly");
+        }
+        return atom(tokens.get(position++));
+    }
+
+    private GuestBitmap atom(String token) {
+        Matcher m = FIELD.matcher(token);
+        if (m.matches()) {
+            return "status".equalsIgnoreCase(m.group(1)) ? index.status(m.group(2)) : index.roomType(m.group(2));
+        }
+        m = STAYS.matcher(token);
+        if (m.matches()) {
+            int n = Integer.parseInt(m.group(2));
+            if (n > SegmentIndex.MAX_STAY_BUCKET) {
+                throw new IllegalArgumentException("stays supports counts up to " + SegmentIndex.MAX_STAY_BUCKET);
+            }
+            return switch (m.group(1)) {
+                case ">=" -> index.stayCount(n, SegmentIndex.MAX_STAY_BUCKET);
+                case "<=" -> index.stayCount(0, n);
+                default -> index.stayCount(n, n);
+            };
+        }
+        m = LAST_STAY.matcher(token);
+        if (m.matches()) {
+            return index.stayedWithin(Integer.parseInt(m.group(1)));
+        }
+        throw new IllegalArgumentException("Unknown segment term '" + token + "'");
+    }
+
+    private boolean accept(String expected) {
+        if (position < tokens.size() && tokens.get(position).equalsIgnoreCase(expected)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,11 @@
+package com.hotelsmarttrack.segment;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * SegmentResult - size of a guest segment and the first matching guest IDs, in ID order.
+ */
+public record SegmentResult(String query, long count, List<Long> guestIds, LocalDateTime indexBuiltAt,
+                            long elapsedMicros) {
+}
@@ -0,0 +1,122 @@
+package com.hotelsmarttrack.base.entity;
+
+import java.math.BigDecimal;
+
+/**
+ * CheckoutResult - per-stay outcome of a bulk checkout.
+ * Part of Base Library (Rule 1) - shared across all components.
+ * Not persisted; returned by StayService bulk checkout operations.
+ */
+public class CheckoutResult {
+
+    private Long stayId;
+    private String roomNumber;
+    private Long invoiceId;
+    private BigDecimal totalAmount;
+    private BigDecimal amountSettled;
+    private BigDecimal outstandingBalance;
+
+    /**
+     * Result status: Checked-Out, Settled, Not Active, Failed
+     */
+    private String status;
+
+    private String message;
+
+    // Default constructor
+    public CheckoutResult() {
+    }
+
+    // All-args constructor
+    public CheckoutResult(Long stayId, String roomNumber, Long invoiceId, BigDecimal totalAmount,
+                          BigDecimal amountSettled, BigDecimal outstandingBalance,
+                          String status, String message) {
+        this.stayId = stayId;
+        this.roomNumber = roomNumber;
+        this.invoiceId = invoiceId;
+        this.totalAmount = totalAmount;
+        this.amountSettled = amountSettled;
+        this.outstandingBalance = outstandingBalance;
+        this.status = status;
+        this.message = message;
+    }
+
+    // Getters and Setters
+    public Long getStayId() {
+        return stayId;
+    }
+
+    public void setStayId(Long stayId) {
+        this.stayId = stayId;
+    }
+
+    public String getRoomNumber() {
+        return roomNumber;
+    }
+
+    public void setRoomNumber(String roomNumber) {
+        this.roomNumber = roomNumber;
+    }
+
+    public Long getInvoiceId() {
+        return invoiceId;
+    }
+
+    public void setInvoiceId(Long invoiceId) {
+        this.invoiceId = invoiceId;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public BigDecimal getAmountSettled() {
+        return amountSettled;
+    }
+
+    public void setAmountSettled(BigDecimal amountSettled) {
+        this.amountSettled = amountSettled;
+    }
+
+    public BigDecimal getOutstandingBalance() {
+        return outstandingBalance;
+    }
+
+    public void setOutstandingBalance(BigDecimal outstandingBalance) {
+        this.outstandingBalance = outstandingBalance;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    @Override
+    public String toString() {
+        return "CheckoutResult{" +
+                "stayId=" + stayId +
+                ", roomNumber='" + roomNumber + '\'' +
+                ", invoiceId=" + invoiceId +
+                ", totalAmount=" + totalAmount +
+                ", amountSettled=" + amountSettled +
+                ", outstandingBalance=" + outstandingBalance +
+                ", status='" + status + '\'' +
+                ", message='" + message + '\'' +
+                '}';
+    }
+}
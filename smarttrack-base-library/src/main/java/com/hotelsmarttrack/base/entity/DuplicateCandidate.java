@@ -0,0 +1,77 @@
+package com.hotelsmarttrack.base.entity;
+
+/**
+ * DuplicateCandidate - a guest profile that looks like the same person as another.
+ * Part of Base Library (Rule 1) - shared across all components.
+ * Not persisted; returned by GuestService duplicate checks for review and merging.
+ */
+public class DuplicateCandidate {
+
+    private Long guestId;
+    private Long matchGuestId;
+
+    /**
+     * Match score: 0.5 and above is a likely duplicate, 0.7 and above with a matching name the same guest.
+     */
+    private double score;
+
+    /**
+     * Matching attributes, comma-separated: email, identificationNumber, phone, name
+     */
+    private String matchedOn;
+
+    // Default constructor
+    public DuplicateCandidate() {
+    }
+
+    // All-args constructor
+    public DuplicateCandidate(Long guestId, Long matchGuestId, double score, String matchedOn) {
+        this.guestId = guestId;
+        this.matchGuestId = matchGuestId;
+        this.score = score;
+        this.matchedOn = matchedOn;
+    }
+
+    // Getters and Setters
+    public Long getGuestId() {
+        return guestId;
+    }
+
+    public void setGuestId(Long guestId) {
+        this.guestId = guestId;
+    }
+
+    public Long getMatchGuestId() {
+        return matchGuestId;
+    }
+
+    public void setMatchGuestId(Long matchGuestId) {
+        this.matchGuestId = matchGuestId;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+
+    public String getMatchedOn() {
+        return matchedOn;
+    }
+
+    public void setMatchedOn(String matchedOn) {
+        this.matchedOn = matchedOn;
+    }
+
+    @Override
+    public String toString() {
+        return "DuplicateCandidate{" +
+                "guestId=" + guestId +
+                ", matchGuestId=" + matchGuestId +
+                ", score=" + score +
+                ", matchedOn='" + matchedOn + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,125 @@
+package com.hotelsmarttrack.base.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * FlexibleAvailability - availability and price matrix for a flexible-date search.
+ * Cells are indexed by [room type index][arrival offset][length of stay - minLengthOfStay].
+ * Part of Base Library (Rule 1) - shared across all components.
+ * Not persisted; returned by ReservationService.searchFlexibleDates.
+ */
+public class FlexibleAvailability {
+
+    private LocalDate firstArrivalDate;
+    private int arrivalDays;
+    private int minLengthOfStay;
+    private int maxLengthOfStay;
+    private List<Long> roomTypeIds;
+    private int[][][] availableCounts;
+    private BigDecimal[][][] totalPrices;
+
+    // Default constructor
+    public FlexibleAvailability() {
+    }
+
+    // All-args constructor
+    public FlexibleAvailability(LocalDate firstArrivalDate, int arrivalDays, int minLengthOfStay,
+                                int maxLengthOfStay, List<Long> roomTypeIds,
+                                int[][][] availableCounts, BigDecimal[][][] totalPrices) {
+        this.firstArrivalDate = firstArrivalDate;
+        this.arrivalDays = arrivalDays;
+        this.minLengthOfStay = minLengthOfStay;
+        this.maxLengthOfStay = maxLengthOfStay;
+        this.roomTypeIds = roomTypeIds;
+        this.availableCounts = availableCounts;
+        this.totalPrices = totalPrices;
+    }
+
+    /**
+     * Rooms of a type free for every night of the stay.
+     */
+    public int getAvailableCount(Long roomTypeId, LocalDate arrival, int lengthOfStay) {
+        int type = roomTypeIds.indexOf(roomTypeId);
+        int offset = (int) (arrival.toEpochDay() - firstArrivalDate.toEpochDay());
+        return availableCounts[type][offset][lengthOfStay - minLengthOfStay];
+    }
+
+    /**
+     * Total room price of the stay for a type.
+     */
+    public BigDecimal getTotalPrice(Long roomTypeId, LocalDate arrival, int lengthOfStay) {
+        int type = roomTypeIds.indexOf(roomTypeId);
+        int offset = (int) (arrival.toEpochDay() - firstArrivalDate.toEpochDay());
+        return totalPrices[type][offset][lengthOfStay - minLengthOfStay];
+    }
+
+    // Getters and Setters
+    public LocalDate getFirstArrivalDate() {
+        return firstArrivalDate;
+    }
+
+    public void setFirstArrivalDate(LocalDate firstArrivalDate) {
+        this.firstArrivalDate = firstArrivalDate;
+    }
+
+    public int getArrivalDays() {
+        return arrivalDays;
+    }
+
+    public void setArrivalDays(int arrivalDays) {
+        this.arrivalDays = arrivalDays;
+    }
+
+    public int getMinLengthOfStay() {
+        return minLengthOfStay;
+    }
+
+    public void setMinLengthOfStay(int minLengthOfStay) {
+        this.minLengthOfStay = minLengthOfStay;
+    }
+
+    public int getMaxLengthOfStay() {
+        return maxLengthOfStay;
+    }
+
+    public void setMaxLengthOfStay(int maxLengthOfStay) {
+        this.maxLengthOfStay = maxLengthOfStay;
+    }
+
+    public List<Long> getRoomTypeIds() {
+        return roomTypeIds;
+    }
+
+    public void setRoomTypeIds(List<Long> roomTypeIds) {
+        this.roomTypeIds = roomTypeIds;
+    }
+
+    public int[][][] getAvailableCounts() {
+        return availableCounts;
+    }
+
+    public void setAvailableCounts(int[][][] availableCounts) {
+        this.availableCounts = availableCounts;
+    }
+
+    public BigDecimal[][][] getTotalPrices() {
+        return totalPrices;
+    }
+
+    public void setTotalPrices(BigDecimal[][][] totalPrices) {
+        this.totalPrices = totalPrices;
+    }
+
+    @Override
+    public String toString() {
+        return "FlexibleAvailability{" +
+                "firstArrivalDate=" + firstArrivalDate +
+                ", arrivalDays=" + arrivalDays +
+                ", minLengthOfStay=" + minLengthOfStay +
+                ", maxLengthOfStay=" + maxLengthOfStay +
+                ", roomTypeIds=" + roomTypeIds +
+                '}';
+    }
+}
@@ -0,0 +1,159 @@
+package com.hotelsmarttrack.base.entity;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * GroupBlock - rooms allotted to a group (conference, tour, wedding) for a date range.
+ * Part of Base Library (Rule 1) - shared across all components.
+ * Held in memory by ReservationManager; individual guests pick up rooms from the allotment.
+ */
+public class GroupBlock {
+
+    private Long blockId;
+    private String groupName;
+    private Guest contactGuest;
+    private LocalDate checkInDate;
+    private LocalDate checkOutDate;
+
+    /**
+     * Unused allotment is released back to general inventory on this date.
+     */
+    private LocalDate cutOffDate;
+
+    /**
+     * Rooms allotted per room type ID.
+     */
+    private Map<Long, Integer> allotment;
+
+    /**
+     * Rooms picked up (turned into reservations) per room type ID.
+     */
+    private Map<Long, Integer> pickedUp;
+
+    /**
+     * Block status: Open, Released
+     */
+    private String status;
+
+    // Default constructor
+    public GroupBlock() {
+    }
+
+    // All-args constructor
+    public GroupBlock(Long blockId, String groupName, Guest contactGuest, LocalDate checkInDate,
+                      LocalDate checkOutDate, LocalDate cutOffDate, Map<Long, Integer> allotment,
+                      Map<Long, Integer> pickedUp, String status) {
+        this.blockId = blockId;
+        this.groupName = groupName;
+        this.contactGuest = contactGuest;
+        this.checkInDate = checkInDate;
+        this.checkOutDate = checkOutDate;
+        this.cutOffDate = cutOffDate;
+        this.allotment = allotment;
+        this.pickedUp = pickedUp;
+        this.status = status;
+    }
+
+    // Getters and Setters
+    public Long getBlockId() {
+        return blockId;
+    }
+
+    public void setBlockId(Long blockId) {
+        this.blockId = blockId;
+    }
+
+    public String getGroupName() {
+        return groupName;
+    }
+
+    public void setGroupName(String groupName) {
+        this.groupName = groupName;
+    }
+
+    public Guest getContactGuest() {
+        return contactGuest;
+    }
+
+    public void setContactGuest(Guest contactGuest) {
+        this.contactGuest = contactGuest;
+    }
+
+    public LocalDate getCheckInDate() {
+        return checkInDate;
+    }
+
+    public void setCheckInDate(LocalDate checkInDate) {
+        this.checkInDate = checkInDate;
+    }
+
+    public LocalDate getCheckOutDate() {
+        return checkOutDate;
+    }
+
+    public void setCheckOutDate(LocalDate checkOutDate) {
+        this.checkOutDate = checkOutDate;
+    }
+
+    public LocalDate getCutOffDate() {
+        return cutOffDate;
+    }
+
+    public void setCutOffDate(LocalDate cutOffDate) {
+        this.cutOffDate = cutOffDate;
+    }
+
+    public Map<Long, Integer> getAllotment() {
+        return allotment;
+    }
+
+    public void setAllotment(Map<Long, Integer> allotment) {
+        this.allotment = allotment;
+    }
+
+    public Map<Long, Integer> getPickedUp() {
+        return pickedUp;
+    }
+
+    public void setPickedUp(Map<Long, Integer> pickedUp) {
+        this.pickedUp = pickedUp;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        GroupBlock that = (GroupBlock) o;
+        return Objects.equals(blockId, that.blockId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(blockId);
+    }
+
+    @Override
+    public String toString() {
+        return "GroupBlock{" +
+                "blockId=" + blockId +
+                ", groupName='" + groupName + '\'' +
+                ", contactGuest=" + contactGuest +
+                ", checkInDate=" + checkInDate +
+                ", checkOutDate=" + checkOutDate +
+                ", cutOffDate=" + cutOffDate +
+                ", allotment=" + allotment +
+                ", pickedUp=" + pickedUp +
+                ", status='" + status + '\'' +
+                '}';
+    }
+}
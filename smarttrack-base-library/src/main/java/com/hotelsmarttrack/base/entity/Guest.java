@@ -26,7 +26,7 @@ public class Guest {
     private String identificationNumber;
     
     /**
-     * Guest status: Active, Inactive, Blacklisted
+     * Guest status: Active, Inactive, Blacklisted, Merged
      */
     private String status;
     
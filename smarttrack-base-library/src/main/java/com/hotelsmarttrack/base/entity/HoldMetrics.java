@@ -0,0 +1,97 @@
+package com.hotelsmarttrack.base.entity;
+
+/**
+ * HoldMetrics - counters for tentative (Held) reservations.
+ * Part of Base Library (Rule 1) - shared across all components.
+ * Not persisted; returned by ReservationService.getHoldMetrics.
+ */
+public class HoldMetrics {
+
+    private long holdsPlaced;
+    private long holdsConverted;
+    private long holdsExpired;
+    private long holdsReleased;
+    private long activeHolds;
+
+    // Default constructor
+    public HoldMetrics() {
+    }
+
+    // All-args constructor
+    public HoldMetrics(long holdsPlaced, long holdsConverted, long holdsExpired,
+                       long holdsReleased, long activeHolds) {
+        this.holdsPlaced = holdsPlaced;
+        this.holdsConverted = holdsConverted;
+        this.holdsExpired = holdsExpired;
+        this.holdsReleased = holdsReleased;
+        this.activeHolds = activeHolds;
+    }
+
+    /**
+     * Share of placed holds that became reservations.
+     */
+    public double getConversionRate() {
+        return holdsPlaced == 0 ? 0.0 : (double) holdsConverted / holdsPlaced;
+    }
+
+    /**
+     * Share of placed holds that timed out.
+     */
+    public double getExpiryRate() {
+        return holdsPlaced == 0 ? 0.0 : (double) holdsExpired / holdsPlaced;
+    }
+
+    // Getters and Setters
+    public long getHoldsPlaced() {
+        return holdsPlaced;
+    }
+
+    public void setHoldsPlaced(long holdsPlaced) {
+        this.holdsPlaced = holdsPlaced;
+    }
+
+    public long getHoldsConverted() {
+        return holdsConverted;
+    }
+
+    public void setHoldsConverted(long holdsConverted) {
+        this.holdsConverted = holdsConverted;
+    }
+
+    public long getHoldsExpired() {
+        return holdsExpired;
+    }
+
+    public void setHoldsExpired(long holdsExpired) {
+        this.holdsExpired = holdsExpired;
+    }
+
+    public long getHoldsReleased() {
+        return holdsReleased;
+    }
+
+    public void setHoldsReleased(long holdsReleased) {
+        this.holdsReleased = holdsReleased;
+    }
+
+    public long getActiveHolds() {
+        return activeHolds;
+    }
+
+    public void setActiveHolds(long activeHolds) {
+        this.activeHolds = activeHolds;
+    }
+
+    @Override
+    public String toString() {
+        return "HoldMetrics{" +
+                "holdsPlaced=" + holdsPlaced +
+                ", holdsConverted=" + holdsConverted +
+                ", holdsExpired=" + holdsExpired +
+                ", holdsReleased=" + holdsReleased +
+                ", activeHolds=" + activeHolds +
+                ", conversionRate=" + getConversionRate() +
+                ", expiryRate=" + getExpiryRate() +
+                '}';
+    }
+}
@@ -0,0 +1,127 @@
+package com.hotelsmarttrack.base.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * NightAuditSummary - result of a night audit run for one business date.
+ * Part of Base Library (Rule 1) - shared across all components.
+ * Not persisted; returned by StayService.runNightAudit.
+ */
+public class NightAuditSummary {
+
+    private LocalDate businessDate;
+    private LocalDate nextBusinessDate;
+    private int staysAudited;
+    private int chargesPosted;
+
+    /**
+     * Stays already posted for this business date by an earlier (interrupted) run.
+     */
+    private int alreadyPosted;
+
+    /**
+     * Stays skipped because no room type (and therefore no rate) could be resolved.
+     */
+    private int skippedNoRate;
+
+    private BigDecimal totalRoomRevenue;
+    private long durationMillis;
+
+    // Default constructor
+    public NightAuditSummary() {
+    }
+
+    // All-args constructor
+    public NightAuditSummary(LocalDate businessDate, LocalDate nextBusinessDate, int staysAudited,
+                             int chargesPosted, int alreadyPosted, int skippedNoRate,
+                             BigDecimal totalRoomRevenue, long durationMillis) {
+        this.businessDate = businessDate;
+        this.nextBusinessDate = nextBusinessDate;
+        this.staysAudited = staysAudited;
+        this.chargesPosted = chargesPosted;
+        this.alreadyPosted = alreadyPosted;
+        this.skippedNoRate = skippedNoRate;
+        this.totalRoomRevenue = totalRoomRevenue;
+        this.durationMillis = durationMillis;
+    }
+
+    // Getters and Setters
+    public LocalDate getBusinessDate() {
+        return businessDate;
+    }
+
+    public void setBusinessDate(LocalDate businessDate) {
+        this.businessDate = businessDate;
+    }
+
+    public LocalDate getNextBusinessDate() {
+        return nextBusinessDate;
+    }
+
+    public void setNextBusinessDate(LocalDate nextBusinessDate) {
+        this.nextBusinessDate = nextBusinessDate;
+    }
+
+    public int getStaysAudited() {
+        return staysAudited;
+    }
+
+    public void setStaysAudited(int staysAudited) {
+        this.staysAudited = staysAudited;
+    }
+
+    public int getChargesPosted() {
+        return chargesPosted;
+    }
+
+    public void setChargesPosted(int chargesPosted) {
+        this.chargesPosted = chargesPosted;
+    }
+
+    public int getAlreadyPosted() {
+        return alreadyPosted;
+    }
+
+    public void setAlreadyPosted(int alreadyPosted) {
+        this.alreadyPosted = alreadyPosted;
+    }
+
+    public int getSkippedNoRate() {
+        return skippedNoRate;
+    }
+
+    public void setSkippedNoRate(int skippedNoRate) {
+        this.skippedNoRate = skippedNoRate;
+    }
+
+    public BigDecimal getTotalRoomRevenue() {
+        return totalRoomRevenue;
+    }
+
+    public void setTotalRoomRevenue(BigDecimal totalRoomRevenue) {
+        this.totalRoomRevenue = totalRoomRevenue;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "NightAuditSummary{" +
+                "businessDate=" + businessDate +
+                ", nextBusinessDate=" + nextBusinessDate +
+                ", staysAudited=" + staysAudited +
+                ", chargesPosted=" + chargesPosted +
+                ", alreadyPosted=" + alreadyPosted +
+                ", skippedNoRate=" + skippedNoRate +
+                ", totalRoomRevenue=" + totalRoomRevenue +
+                ", durationMillis=" + durationMillis +
+                '}';
+    }
+}
@@ -0,0 +1,84 @@
+package com.hotelsmarttrack.base.entity;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * NoShowSweepSummary - result of a batched no-show sweep for one arrival date.
+ * Part of Base Library (Rule 1) - shared across all components.
+ * Not persisted; returned by ReservationService.runNoShowSweep.
+ */
+public class NoShowSweepSummary {
+
+    private LocalDate arrivalDate;
+    private int arrivalsChecked;
+    private List<Long> noShowReservationIds;
+    private int roomsReleased;
+    private long durationMillis;
+
+    // Default constructor
+    public NoShowSweepSummary() {
+    }
+
+    // All-args constructor
+    public NoShowSweepSummary(LocalDate arrivalDate, int arrivalsChecked, List<Long> noShowReservationIds,
+                              int roomsReleased, long durationMillis) {
+        this.arrivalDate = arrivalDate;
+        this.arrivalsChecked = arrivalsChecked;
+        this.noShowReservationIds = noShowReservationIds;
+        this.roomsReleased = roomsReleased;
+        this.durationMillis = durationMillis;
+    }
+
+    // Getters and Setters
+    public LocalDate getArrivalDate() {
+        return arrivalDate;
+    }
+
+    public void setArrivalDate(LocalDate arrivalDate) {
+        this.arrivalDate = arrivalDate;
+    }
+
+    public int getArrivalsChecked() {
+        return arrivalsChecked;
+    }
+
+    public void setArrivalsChecked(int arrivalsChecked) {
+        this.arrivalsChecked = arrivalsChecked;
+    }
+
+    public List<Long> getNoShowReservationIds() {
+        return noShowReservationIds;
+    }
+
+    public void setNoShowReservationIds(List<Long> noShowReservationIds) {
+        this.noShowReservationIds = noShowReservationIds;
+    }
+
+    public int getRoomsReleased() {
+        return roomsReleased;
+    }
+
+    public void setRoomsReleased(int roomsReleased) {
+        this.roomsReleased = roomsReleased;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "NoShowSweepSummary{" +
+                "arrivalDate=" + arrivalDate +
+                ", arrivalsChecked=" + arrivalsChecked +
+                ", noShowReservationIds=" + noShowReservationIds +
+                ", roomsReleased=" + roomsReleased +
+                ", durationMillis=" + durationMillis +
+                '}';
+    }
+}
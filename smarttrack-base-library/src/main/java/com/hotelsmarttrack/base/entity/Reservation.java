@@ -8,6 +8,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Objects;
 
@@ -40,11 +41,21 @@ public class Reservation {
     private int numberOfGuests;
     
     /**
-     * Reservation status: Reserved, Confirmed, Cancelled, No-Show, Checked-In, Checked-Out
+     * Reservation status: Held, Reserved, Confirmed, Cancelled, Expired, No-Show, Checked-In, Checked-Out
      */
     private String status;
     
     private String specialRequests;
+    
+    /**
+     * Group block this reservation was picked up from (null for individual bookings).
+     */
+    private Long groupBlockId;
+    
+    /**
+     * Room total for the stay, quoted from the rate calendar when booked or modified.
+     */
+    private BigDecimal quotedAmount;
 
     // Default constructor
     public Reservation() {
@@ -138,6 +149,22 @@ public class Reservation {
         this.specialRequests = specialRequests;
     }
 
+    public Long getGroupBlockId() {
+        return groupBlockId;
+    }
+
+    public void setGroupBlockId(Long groupBlockId) {
+        this.groupBlockId = groupBlockId;
+    }
+
+    public BigDecimal getQuotedAmount() {
+        return quotedAmount;
+    }
+
+    public void setQuotedAmount(BigDecimal quotedAmount) {
+        this.quotedAmount = quotedAmount;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -163,6 +190,8 @@ public class Reservation {
                 ", numberOfGuests=" + numberOfGuests +
                 ", status='" + status + '\'' +
                 ", specialRequests='" + specialRequests + '\'' +
+                ", groupBlockId=" + groupBlockId +
+                ", quotedAmount=" + quotedAmount +
                 '}';
     }
 }
@@ -0,0 +1,83 @@
+package com.hotelsmarttrack.base.entity;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RoomAssignmentPlan - result of automatic room assignment for one arrival date.
+ * Part of Base Library (Rule 1) - shared across all components.
+ * Not persisted; returned by ReservationService.autoAssignRooms.
+ */
+public class RoomAssignmentPlan {
+
+    private LocalDate arrivalDate;
+
+    /**
+     * Reservation ID to assigned room ID.
+     */
+    private Map<Long, Long> assignments;
+
+    /**
+     * Arrivals that could not be placed in any free room of their type.
+     */
+    private List<Long> unassignedReservationIds;
+
+    private long durationMillis;
+
+    // Default constructor
+    public RoomAssignmentPlan() {
+    }
+
+    // All-args constructor
+    public RoomAssignmentPlan(LocalDate arrivalDate, Map<Long, Long> assignments,
+                              List<Long> unassignedReservationIds, long durationMillis) {
+        this.arrivalDate = arrivalDate;
+        this.assignments = assignments;
+        this.unassignedReservationIds = unassignedReservationIds;
+        this.durationMillis = durationMillis;
+    }
+
+    // Getters and Setters
+    public LocalDate getArrivalDate() {
+        return arrivalDate;
+    }
+
+    public void setArrivalDate(LocalDate arrivalDate) {
+        this.arrivalDate = arrivalDate;
+    }
+
+    public Map<Long, Long> getAssignments() {
+        return assignments;
+    }
+
+    public void setAssignments(Map<Long, Long> assignments) {
+        this.assignments = assignments;
+    }
+
+    public List<Long> getUnassignedReservationIds() {
+        return unassignedReservationIds;
+    }
+
+    public void setUnassignedReservationIds(List<Long> unassignedReservationIds) {
+        this.unassignedReservationIds = unassignedReservationIds;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "RoomAssignmentPlan{" +
+                "arrivalDate=" + arrivalDate +
+                ", assignments=" + assignments +
+                ", unassignedReservationIds=" + unassignedReservationIds +
+                ", durationMillis=" + durationMillis +
+                '}';
+    }
+}
@@ -0,0 +1,125 @@
+package com.hotelsmarttrack.base.entity;
+
+/**
+ * SearchCacheStats - counters for the availability search result cache.
+ * Part of Base Library (Rule 1) - shared across all components.
+ * Not persisted; returned by ReservationService.getSearchCacheStats.
+ */
+public class SearchCacheStats {
+
+    private long hits;
+    private long misses;
+
+    /**
+     * Cached results thrown away on read because the rooms of their type changed.
+     */
+    private long staleRejections;
+
+    /**
+     * Cached results dropped because inventory on an overlapping night changed.
+     */
+    private long invalidations;
+
+    private long evictions;
+
+    /**
+     * New results not cached because they were requested less often than the eviction victim.
+     */
+    private long rejectedAdmissions;
+
+    private int size;
+
+    // Default constructor
+    public SearchCacheStats() {
+    }
+
+    // All-args constructor
+    public SearchCacheStats(long hits, long misses, long staleRejections, long invalidations,
+                            long evictions, long rejectedAdmissions, int size) {
+        this.hits = hits;
+        this.misses = misses;
+        this.staleRejections = staleRejections;
+        this.invalidations = invalidations;
+        this.evictions = evictions;
+        this.rejectedAdmissions = rejectedAdmissions;
+        this.size = size;
+    }
+
+    /**
+     * Share of searches answered from the cache.
+     */
+    public double getHitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+
+    // Getters and Setters
+    public long getHits() {
+        return hits;
+    }
+
+    public void setHits(long hits) {
+        this.hits = hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public void setMisses(long misses) {
+        this.misses = misses;
+    }
+
+    public long getStaleRejections() {
+        return staleRejections;
+    }
+
+    public void setStaleRejections(long staleRejections) {
+        this.staleRejections = staleRejections;
+    }
+
+    public long getInvalidations() {
+        return invalidations;
+    }
+
+    public void setInvalidations(long invalidations) {
+        this.invalidations = invalidations;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public void setEvictions(long evictions) {
+        this.evictions = evictions;
+    }
+
+    public long getRejectedAdmissions() {
+        return rejectedAdmissions;
+    }
+
+    public void setRejectedAdmissions(long rejectedAdmissions) {
+        this.rejectedAdmissions = rejectedAdmissions;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchCacheStats{" +
+                "hits=" + hits +
+                ", misses=" + misses +
+                ", staleRejections=" + staleRejections +
+                ", invalidations=" + invalidations +
+                ", evictions=" + evictions +
+                ", rejectedAdmissions=" + rejectedAdmissions +
+                ", size=" + size +
+                '}';
+    }
+}
@@ -0,0 +1,149 @@
+package com.hotelsmarttrack.base.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * TimelineEvent - one entry on a guest's 360 timeline.
+ * Part of Base Library (Rule 1) - shared across all components.
+ * Recorded by the reservation and stay components; indexed per guest by GuestManager.
+ */
+public class TimelineEvent {
+
+    private Long guestId;
+
+    /**
+     * Assigned by the timeline when recorded; breaks ties between events at the same time.
+     */
+    private long sequence;
+
+    private LocalDateTime eventTime;
+
+    /**
+     * Event type: Reservation, Stay, Charge, Invoice
+     */
+    private String type;
+
+    /**
+     * ID of the reservation, stay, charge or invoice the event is about.
+     */
+    private Long referenceId;
+
+    private String description;
+    private BigDecimal amount;
+
+    /**
+     * Status of the referenced record when the event was recorded.
+     */
+    private String status;
+
+    // Default constructor
+    public TimelineEvent() {
+    }
+
+    // All-args constructor
+    public TimelineEvent(Long guestId, long sequence, LocalDateTime eventTime, String type,
+                         Long referenceId, String description, BigDecimal amount, String status) {
+        this.guestId = guestId;
+        this.sequence = sequence;
+        this.eventTime = eventTime;
+        this.type = type;
+        this.referenceId = referenceId;
+        this.description = description;
+        this.amount = amount;
+        this.status = status;
+    }
+
+    // Getters and Setters
+    public Long getGuestId() {
+        return guestId;
+    }
+
+    public void setGuestId(Long guestId) {
+        this.guestId = guestId;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public LocalDateTime getEventTime() {
+        return eventTime;
+    }
+
+    public void setEventTime(LocalDateTime eventTime) {
+        this.eventTime = eventTime;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Long getReferenceId() {
+        return referenceId;
+    }
+
+    public void setReferenceId(Long referenceId) {
+        this.referenceId = referenceId;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TimelineEvent that = (TimelineEvent) o;
+        return sequence == that.sequence;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(sequence);
+    }
+
+    @Override
+    public String toString() {
+        return "TimelineEvent{" +
+                "guestId=" + guestId +
+                ", sequence=" + sequence +
+                ", eventTime=" + eventTime +
+                ", type='" + type + '\'' +
+                ", referenceId=" + referenceId +
+                ", description='" + description + '\'' +
+                ", amount=" + amount +
+                ", status='" + status + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,64 @@
+package com.hotelsmarttrack.base.entity;
+
+import java.util.List;
+
+/**
+ * TimelinePage - one page of a guest's timeline, newest first.
+ * Part of Base Library (Rule 1) - shared across all components.
+ * Not persisted; returned by GuestService timeline queries.
+ */
+public class TimelinePage {
+
+    private Long guestId;
+    private List<TimelineEvent> events;
+
+    /**
+     * Cursor for the next (older) page, or null on the last page.
+     */
+    private String nextCursor;
+
+    // Default constructor
+    public TimelinePage() {
+    }
+
+    // All-args constructor
+    public TimelinePage(Long guestId, List<TimelineEvent> events, String nextCursor) {
+        this.guestId = guestId;
+        this.events = events;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public Long getGuestId() {
+        return guestId;
+    }
+
+    public void setGuestId(Long guestId) {
+        this.guestId = guestId;
+    }
+
+    public List<TimelineEvent> getEvents() {
+        return events;
+    }
+
+    public void setEvents(List<TimelineEvent> events) {
+        this.events = events;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    @Override
+    public String toString() {
+        return "TimelinePage{" +
+                "guestId=" + guestId +
+                ", events=" + (events != null ? events.size() : 0) +
+                ", nextCursor='" + nextCursor + '\'' +
+                '}';
+    }
+}
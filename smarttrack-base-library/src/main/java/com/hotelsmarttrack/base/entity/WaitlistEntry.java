@@ -0,0 +1,167 @@
+package com.hotelsmarttrack.base.entity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * WaitlistEntry - a guest waiting for a sold-out room type and date range.
+ * Part of Base Library (Rule 1) - shared across all components.
+ * Held in memory by ReservationManager; promoted to a reservation when inventory frees up.
+ */
+public class WaitlistEntry {
+
+    private Long waitlistId;
+    private Guest guest;
+    private RoomType roomType;
+    private LocalDate checkInDate;
+    private LocalDate checkOutDate;
+    private int numberOfGuests;
+
+    /**
+     * Higher values are promoted first (e.g. loyalty tier).
+     */
+    private int priority;
+
+    private LocalDateTime requestedTime;
+
+    /**
+     * Entry status: Waiting, Promoted, Withdrawn, Expired
+     */
+    private String status;
+
+    /**
+     * Reservation created on promotion (null while waiting).
+     */
+    private Long reservationId;
+
+    // Default constructor
+    public WaitlistEntry() {
+    }
+
+    // All-args constructor
+    public WaitlistEntry(Long waitlistId, Guest guest, RoomType roomType, LocalDate checkInDate,
+                         LocalDate checkOutDate, int numberOfGuests, int priority,
+                         LocalDateTime requestedTime, String status, Long reservationId) {
+        this.waitlistId = waitlistId;
+        this.guest = guest;
+        this.roomType = roomType;
+        this.checkInDate = checkInDate;
+        this.checkOutDate = checkOutDate;
+        this.numberOfGuests = numberOfGuests;
+        this.priority = priority;
+        this.requestedTime = requestedTime;
+        this.status = status;
+        this.reservationId = reservationId;
+    }
+
+    // Getters and Setters
+    public Long getWaitlistId() {
+        return waitlistId;
+    }
+
+    public void setWaitlistId(Long waitlistId) {
+        this.waitlistId = waitlistId;
+    }
+
+    public Guest getGuest() {
+        return guest;
+    }
+
+    public void setGuest(Guest guest) {
+        this.guest = guest;
+    }
+
+    public RoomType getRoomType() {
+        return roomType;
+    }
+
+    public void setRoomType(RoomType roomType) {
+        this.roomType = roomType;
+    }
+
+    public LocalDate getCheckInDate() {
+        return checkInDate;
+    }
+
+    public void setCheckInDate(LocalDate checkInDate) {
+        this.checkInDate = checkInDate;
+    }
+
+    public LocalDate getCheckOutDate() {
+        return checkOutDate;
+    }
+
+    public void setCheckOutDate(LocalDate checkOutDate) {
+        this.checkOutDate = checkOutDate;
+    }
+
+    public int getNumberOfGuests() {
+        return numberOfGuests;
+    }
+
+    public void setNumberOfGuests(int numberOfGuests) {
+        this.numberOfGuests = numberOfGuests;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public void setPriority(int priority) {
+        this.priority = priority;
+    }
+
+    public LocalDateTime getRequestedTime() {
+        return requestedTime;
+    }
+
+    public void setRequestedTime(LocalDateTime requestedTime) {
+        this.requestedTime = requestedTime;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Long getReservationId() {
+        return reservationId;
+    }
+
+    public void setReservationId(Long reservationId) {
+        this.reservationId = reservationId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        WaitlistEntry that = (WaitlistEntry) o;
+        return Objects.equals(waitlistId, that.waitlistId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(waitlistId);
+    }
+
+    @Override
+    public String toString() {
+        return "WaitlistEntry{" +
+                "waitlistId=" + waitlistId +
+                ", guest=" + guest +
+                ", roomType=" + roomType +
+                ", checkInDate=" + checkInDate +
+                ", checkOutDate=" + checkOutDate +
+                ", numberOfGuests=" + numberOfGuests +
+                ", priority=" + priority +
+                ", requestedTime=" + requestedTime +
+                ", status='" + status + '\'' +
+                ", reservationId=" + reservationId +
+                '}';
+    }
+}
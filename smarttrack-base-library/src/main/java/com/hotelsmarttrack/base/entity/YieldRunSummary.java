@@ -0,0 +1,89 @@
+package com.hotelsmarttrack.base.entity;
+
+import java.time.LocalDate;
+
+/**
+ * YieldRunSummary - result of one dynamic pricing recomputation.
+ * Part of Base Library (Rule 1) - shared across all components.
+ * Not persisted; returned by ReservationService.runYieldManagement.
+ */
+public class YieldRunSummary {
+
+    private LocalDate firstDate;
+    private int horizonDays;
+    private int roomTypesRepriced;
+
+    /**
+     * Room type and date pairs priced in this run (only dates whose inventory changed,
+     * or the whole horizon for room types whose rooms changed).
+     */
+    private int datesRecomputed;
+
+    private long durationMillis;
+
+    // Default constructor
+    public YieldRunSummary() {
+    }
+
+    // All-args constructor
+    public YieldRunSummary(LocalDate firstDate, int horizonDays, int roomTypesRepriced,
+                           int datesRecomputed, long durationMillis) {
+        this.firstDate = firstDate;
+        this.horizonDays = horizonDays;
+        this.roomTypesRepriced = roomTypesRepriced;
+        this.datesRecomputed = datesRecomputed;
+        this.durationMillis = durationMillis;
+    }
+
+    // Getters and Setters
+    public LocalDate getFirstDate() {
+        return firstDate;
+    }
+
+    public void setFirstDate(LocalDate firstDate) {
+        this.firstDate = firstDate;
+    }
+
+    public int getHorizonDays() {
+        return horizonDays;
+    }
+
+    public void setHorizonDays(int horizonDays) {
+        this.horizonDays = horizonDays;
+    }
+
+    public int getRoomTypesRepriced() {
+        return roomTypesRepriced;
+    }
+
+    public void setRoomTypesRepriced(int roomTypesRepriced) {
+        this.roomTypesRepriced = roomTypesRepriced;
+    }
+
+    public int getDatesRecomputed() {
+        return datesRecomputed;
+    }
+
+    public void setDatesRecomputed(int datesRecomputed) {
+        this.datesRecomputed = datesRecomputed;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "YieldRunSummary{" +
+                "firstDate=" + firstDate +
+                ", horizonDays=" + horizonDays +
+                ", roomTypesRepriced=" + roomTypesRepriced +
+                ", datesRecomputed=" + datesRecomputed +
+                ", durationMillis=" + durationMillis +
+                '}';
+    }
+}
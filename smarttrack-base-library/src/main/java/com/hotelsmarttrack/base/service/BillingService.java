@@ -1,10 +1,14 @@
 package com.hotelsmarttrack.base.service;
 
+import com.hotelsmarttrack.base.entity.Guest;
 import com.hotelsmarttrack.base.entity.Invoice;
 import com.hotelsmarttrack.base.entity.Payment;
+import com.hotelsmarttrack.base.entity.Stay;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * BillingService interface - exposes Billing & Payment functionality.
@@ -22,6 +26,22 @@ public interface BillingService {
      */
     Invoice generateInvoice(Long stayId);
     
+    /**
+     * Generate a billing invoice for a stay, linked to the stay and its guest.
+     * @param stay Stay being invoiced
+     * @return Generated invoice
+     */
+    Invoice generateInvoice(Stay stay);
+    
+    /**
+     * Generate a billing invoice for a stay from known charges, linked to the stay and its guest.
+     * @param stay Stay being invoiced
+     * @param roomCharges Room total for the nights stayed
+     * @param incidentalCharges Total of incidental charges
+     * @return Generated invoice
+     */
+    Invoice generateInvoice(Stay stay, BigDecimal roomCharges, BigDecimal incidentalCharges);
+    
     /**
      * Compute total charges for a stay.
      * Includes room charges, incidental charges, taxes, and discounts.
@@ -73,6 +93,18 @@ public interface BillingService {
      */
     List<Invoice> getInvoicesByGuest(Long guestId);
     
+    /**
+     * Re-point every invoice of one guest to another, e.g. when merging duplicate profiles.
+     * @return Number of invoices moved
+     */
+    int reassignGuest(Long fromGuestId, Guest toGuest);
+    
+    /**
+     * Pass invoices issued between two dates (both inclusive) to an action in ID order,
+     * straight from the store without copying them into a list.
+     */
+    void forEachInvoice(LocalDate from, LocalDate to, Consumer<Invoice> action);
+    
     /**
      * Update invoice status.
      */
@@ -1,28 +1,39 @@
 package com.hotelsmarttrack.base.service;
 
+import com.hotelsmarttrack.base.entity.DuplicateCandidate;
 import com.hotelsmarttrack.base.entity.Guest;
+import com.hotelsmarttrack.base.entity.TimelineEvent;
+import com.hotelsmarttrack.base.entity.TimelinePage;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.ObjLongConsumer;
 
 /**
  * GuestService interface - exposes Guest Management functionality.
  * Part of Base Library (Rule 5) - interface in common library.
  * Implemented by GuestManager in smarttrack-guest component.
+ * Guests returned here are copies of the stored profile. Reservations, stays and invoices keep
+ * the copy they were given, so anything that needs the current name or status re-reads it by ID.
  */
 public interface GuestService {
     
     /**
-     * Create a new guest profile.
+     * Create a new guest profile, unless it is clearly an existing guest.
+     * A profile with the same name and email, or a similar-sounding name and the same ID number,
+     * is returned instead of a new one. Sharing only a name and phone number is not enough: the new
+     * profile is created and logged as a possible duplicate.
      * @param name Guest name
      * @param email Guest email
      * @param phone Guest phone number
      * @param identificationNumber Guest ID number
-     * @return Created guest
+     * @return Created guest, or the existing profile it matched
      */
     Guest createGuest(String name, String email, String phone, String identificationNumber);
     
     /**
      * Update an existing guest profile.
+     * The blacklist follows the new status and identifiers: edits re-list a blacklisted guest
+     * under their current email, phone and ID number, and any other status lifts the listing.
      * @param guest Guest with updated information
      * @return Updated guest
      */
@@ -30,6 +41,7 @@ public interface GuestService {
     
     /**
      * Retrieve a guest by ID.
+     * Each call returns a new copy of the current profile; changing it has no effect until updateGuest.
      * @param guestId Guest ID
      * @return Guest if found
      */
@@ -38,16 +50,56 @@ public interface GuestService {
     /**
      * Search guests by criteria.
      * @param searchTerm Name, email, phone, or ID number
-     * @return List of matching guests
+     * @return Copies of the matching guests
      */
     List<Guest> searchGuests(String searchTerm);
     
     /**
      * Get all guests.
-     * @return List of all guests
+     * @return Copies of all guests
      */
     List<Guest> getAllGuests();
     
+    /**
+     * Feed every guest's status and ID to an action, in ID order, without creating Guest objects.
+     * For bulk passes such as segment indexing that only need the status.
+     * @param action Called with (status, guestId)
+     */
+    void forEachGuestStatus(ObjLongConsumer<String> action);
+    
+    /**
+     * Bulk-insert guest profiles, e.g. when migrating from another PMS.
+     * Assigns new IDs, defaults status to Active and logs once per batch instead of per guest.
+     * @param guests Validated guests; their IDs are overwritten
+     * @return The stored guests, in input order
+     */
+    List<Guest> importGuests(List<Guest> guests);
+    
+    /**
+     * Profiles that look like the same person as the given guest, best match first.
+     * Compares only profiles sharing a blocking key (email, phone, phonetic name or ID number).
+     * @param guestId Guest ID
+     * @return Candidates; empty if the guest is unknown
+     */
+    List<DuplicateCandidate> findDuplicates(Long guestId);
+    
+    /**
+     * Batch duplicate scan over all profiles, blocks compared in parallel.
+     * Each pair is reported once, with matchGuestId the older profile.
+     * @return Candidate pairs, best match first
+     */
+    List<DuplicateCandidate> findAllDuplicates();
+    
+    /**
+     * Fold a duplicate profile into the surviving one: blank contact fields and a blacklisting
+     * carry over, timeline events move across and the duplicate is marked Merged.
+     * Re-pointing reservations, stays and invoices is up to their owning components.
+     * @param survivorId Profile to keep
+     * @param duplicateId Profile to retire
+     * @return The surviving guest, or null if either is unknown, already merged or they are the same
+     */
+    Guest mergeGuests(Long survivorId, Long duplicateId);
+    
     /**
      * Deactivate a guest profile.
      * @param guestId Guest ID
@@ -62,9 +114,37 @@ public interface GuestService {
      */
     void blacklistGuest(Long guestId, String justification);
     
+    /**
+     * Screen a guest against the blacklist by guest ID, email, phone and ID number.
+     * Cheap enough for every booking and check-in: a guest with no listed identifier
+     * costs a few Bloom-filter probes and no lookups.
+     * The guest's current status is used, not the status on the copy passed in.
+     * @param guest Guest to screen (null passes)
+     * @return true if the guest or any of its identifiers is blacklisted
+     */
+    boolean isBlacklisted(Guest guest);
+    
     /**
      * Reactivate a guest profile.
      * @param guestId Guest ID
      */
     void reactivateGuest(Long guestId);
+    
+    /**
+     * Append an event to a guest's timeline. Called by the components that own the records.
+     * Events without a guest ID are ignored.
+     * @param event Event to record; its sequence is assigned here
+     */
+    void recordTimelineEvent(TimelineEvent event);
+    
+    /**
+     * Read a guest's reservations, stays, charges and invoices as one timeline, newest first.
+     * Served from a per-guest index, so a page costs the same however long the history is.
+     * @param guestId Guest ID
+     * @param cursor nextCursor of the previous page, or null for the newest events
+     * @param limit Maximum events to return
+     * @return The page; empty for guests without history
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    TimelinePage getGuestTimeline(Long guestId, String cursor, int limit);
 }
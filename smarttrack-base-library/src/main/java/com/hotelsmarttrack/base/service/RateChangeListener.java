@@ -0,0 +1,18 @@
+package com.hotelsmarttrack.base.service;
+
+import java.time.LocalDate;
+
+/**
+ * RateChangeListener - callback for nightly rate changes.
+ * Part of Base Library (Rule 5) - interface in common library.
+ * Registered with RoomService by components that distribute or cache rates.
+ */
+@FunctionalInterface
+public interface RateChangeListener {
+    
+    /**
+     * Rates of a room type changed for the nights [from, to).
+     * Both dates are null when every night changed (base price update).
+     */
+    void ratesChanged(Long roomTypeId, LocalDate from, LocalDate to);
+}
@@ -1,9 +1,21 @@
 package com.hotelsmarttrack.base.service;
 
+import com.hotelsmarttrack.base.entity.FlexibleAvailability;
+import com.hotelsmarttrack.base.entity.GroupBlock;
+import com.hotelsmarttrack.base.entity.Guest;
+import com.hotelsmarttrack.base.entity.HoldMetrics;
+import com.hotelsmarttrack.base.entity.NoShowSweepSummary;
 import com.hotelsmarttrack.base.entity.Reservation;
+import com.hotelsmarttrack.base.entity.RoomAssignmentPlan;
+import com.hotelsmarttrack.base.entity.SearchCacheStats;
+import com.hotelsmarttrack.base.entity.WaitlistEntry;
+import com.hotelsmarttrack.base.entity.YieldRunSummary;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * ReservationService interface - exposes Reservation Management functionality.
@@ -14,12 +26,82 @@ public interface ReservationService {
     
     /**
      * Create a new reservation.
+     * @return The reservation, or null if check-out is not after check-in, the room type is sold out
+     *         (holds included), the stay breaks a restriction of the room type or the guest is blacklisted
      */
     Reservation createReservation(Long guestId, Long roomTypeId, LocalDate checkIn, 
                                    LocalDate checkOut, int numberOfGuests, String specialRequests);
     
+    // ============ Reservation Holds ============
+    
+    /**
+     * Place a tentative hold on one room of a type while the guest completes payment.
+     * The hold consumes inventory and expires automatically after the time-to-live.
+     * @param ttl How long the hold stays valid
+     * @return Reservation with status Held, or null if check-out is not after check-in, the room type is
+     *         sold out, the stay is restricted or the guest is blacklisted
+     */
+    Reservation holdReservation(Long guestId, Long roomTypeId, LocalDate checkIn,
+                                LocalDate checkOut, int numberOfGuests, Duration ttl);
+    
+    /**
+     * Turn a hold into a regular reservation (status Reserved).
+     * @return The reservation, or null if it is no longer held (expired or released)
+     */
+    Reservation convertHold(Long reservationId);
+    
+    /**
+     * Release a hold early, returning its inventory.
+     */
+    void releaseHold(Long reservationId);
+    
+    /**
+     * Get hold conversion and expiry counters.
+     */
+    HoldMetrics getHoldMetrics();
+    
+    // ============ Group Blocks ============
+    
+    /**
+     * Allot rooms across room types for a group in one all-or-nothing inventory step.
+     * @param groupName Group or event name
+     * @param contactGuestId Group contact guest ID
+     * @param roomsPerType Rooms wanted per room type ID
+     * @param cutOffDate Date after which unused allotment is released
+     * @return Created block, or null if check-in is not before check-out, a room count is not positive,
+     *         or any room type lacks inventory on any night
+     */
+    GroupBlock createGroupBlock(String groupName, Long contactGuestId, LocalDate checkIn,
+                                LocalDate checkOut, Map<Long, Integer> roomsPerType, LocalDate cutOffDate);
+    
+    /**
+     * Create a reservation for a group member from the block's allotment.
+     * @return Reservation, or null if the block has no allotment left for that room type or the guest is blacklisted
+     */
+    Reservation pickUpFromBlock(Long blockId, Long guestId, Long roomTypeId, int numberOfGuests);
+    
+    /**
+     * Release a block's rooms that were not picked up back to general inventory.
+     * @return Number of rooms released
+     */
+    int releaseUnusedAllotment(Long blockId);
+    
+    /**
+     * Release unused allotment of every open block whose cut-off date is on or before the given date.
+     * @return Number of rooms released
+     */
+    int releaseBlocksPastCutOff(LocalDate date);
+    
+    /**
+     * Get a group block with its allotment and pickup.
+     */
+    Optional<GroupBlock> getGroupBlock(Long blockId);
+    
     /**
      * Modify an existing reservation.
+     * The new stay must pass the same restriction and availability checks as a new booking.
+     * @return The modified reservation, or null if it does not exist, the new check-out is not after
+     *         check-in, or the new stay is restricted or sold out (the original booking is then left unchanged)
      */
     Reservation modifyReservation(Long reservationId, LocalDate newCheckIn, 
                                    LocalDate newCheckOut, int numberOfGuests);
@@ -44,6 +126,21 @@ public interface ReservationService {
      */
     List<Reservation> getReservationsByGuest(Long guestId);
     
+    /**
+     * Bulk-insert reservations whose guest and room type are already resolved, e.g. historic
+     * reservations migrated from another PMS. Assigns new IDs, quotes missing amounts and books
+     * inventory for open statuses, without restriction or capacity checks or per-row logging.
+     * @param reservations Validated reservations; their IDs are overwritten
+     * @return The stored reservations, in input order
+     */
+    List<Reservation> importReservations(List<Reservation> reservations);
+    
+    /**
+     * Pass reservations arriving between two dates (both inclusive) to an action in arrival order,
+     * straight from the store without copying them into a list.
+     */
+    void forEachArrival(LocalDate from, LocalDate to, Consumer<Reservation> action);
+    
     /**
      * Get all reservations.
      */
@@ -54,6 +151,18 @@ public interface ReservationService {
      */
     List<Reservation> getReservationsByStatus(String status);
     
+    /**
+     * Get reservations arriving between two dates (both inclusive), in arrival order.
+     * Use the same date twice for "arrivals on date D".
+     */
+    List<Reservation> getArrivals(LocalDate from, LocalDate to);
+    
+    /**
+     * Get reservations departing between two dates (both inclusive), in departure order.
+     * Use the same date twice for "departures on date D".
+     */
+    List<Reservation> getDepartures(LocalDate from, LocalDate to);
+    
     /**
      * Assign a specific room to a reservation.
      */
@@ -64,17 +173,140 @@ public interface ReservationService {
      */
     void reassignRoom(Long reservationId, Long newRoomId);
     
+    /**
+     * Assign rooms to all unassigned arrivals for a date in one batch.
+     * Honours room type, floor requests ("floor N" in special requests) and keeps group
+     * members together, while avoiding short unsellable gaps between bookings.
+     * Assigned rooms are marked Occupied, as with assignRoom. Occupied rooms that no reservation
+     * accounts for (walk-ins, whose departure is unknown) are not assigned.
+     * @param arrivalDate Arrival date to plan
+     * @return Assignments made and arrivals left unassigned
+     */
+    RoomAssignmentPlan autoAssignRooms(LocalDate arrivalDate);
+    
     /**
      * Search available rooms for reservation criteria.
+     * Returns no rooms if the stay breaks a restriction of the room type.
+     * Results are cached until inventory on an overlapping night of the room type changes.
      */
     List<Long> searchAvailableRooms(LocalDate checkIn, LocalDate checkOut, 
                                      Long roomTypeId, int occupancy);
     
+    /**
+     * Get hit, miss and staleness counters of the availability search cache.
+     */
+    SearchCacheStats getSearchCacheStats();
+    
+    /**
+     * Recompute dynamic prices from sold rooms, booking pace and forecast occupancy.
+     * Only nights whose inventory changed since the last run are repriced (the whole
+     * horizon for room types whose rooms changed), and prices are written to the rate calendar.
+     * @return Room types and dates repriced
+     */
+    YieldRunSummary runYieldManagement();
+    
+    /**
+     * Search availability around a preferred arrival date in one sweep.
+     * Covers every arrival within +/- flexDays (not before today) and every length of stay
+     * from minLengthOfStay to maxLengthOfStay, for all room types that fit the occupancy.
+     * @return Matrix of available room counts and total stay prices
+     */
+    FlexibleAvailability searchFlexibleDates(LocalDate preferredCheckIn, int flexDays,
+                                             int minLengthOfStay, int maxLengthOfStay, int occupancy);
+    
+    // ============ Stay Restrictions ============
+    
+    /**
+     * Open or close arrival dates [from, to) of a room type (closed to arrival).
+     */
+    void setClosedToArrival(Long roomTypeId, LocalDate from, LocalDate to, boolean closed);
+    
+    /**
+     * Open or close departure dates [from, to) of a room type (closed to departure).
+     */
+    void setClosedToDeparture(Long roomTypeId, LocalDate from, LocalDate to, boolean closed);
+    
+    /**
+     * Set minimum and maximum length of stay for arrivals on dates [from, to).
+     * @param minNights Minimum nights, 0 for none
+     * @param maxNights Maximum nights, 0 for none
+     */
+    void setLengthOfStayRestriction(Long roomTypeId, LocalDate from, LocalDate to, int minNights, int maxNights);
+    
+    /**
+     * Check a stay against the room type's restrictions.
+     * Restricted stays are not offered by searches and cannot be booked or held; neither can a stay of no nights.
+     */
+    boolean isStayAllowed(Long roomTypeId, LocalDate checkIn, LocalDate checkOut);
+    
+    // ============ Channel Distribution (ARI) ============
+    
+    /**
+     * Register a distribution channel for availability, rate and restriction deltas.
+     * The channel's first delta is a full snapshot; later ones carry only changed nights.
+     * @param endpointUrl URL deltas are pushed to as JSON, or null for a pull-only channel
+     */
+    void registerChannel(String channelCode, String endpointUrl);
+    
+    /**
+     * Stop tracking changes for a channel.
+     */
+    void unregisterChannel(String channelCode);
+    
+    /**
+     * Take the JSON delta of everything changed since the channel's last sync.
+     * @return Delta message, or null if the channel is not registered
+     */
+    String pullAriDelta(String channelCode);
+    
+    /**
+     * Push pending deltas to every channel with an endpoint; failed pushes are retried on the next call.
+     * @return Number of channels that received a delta
+     */
+    int pushAriDeltas();
+    
+    // ============ Waitlist ============
+    
+    /**
+     * Put a guest on the waitlist for a room type and stay.
+     * Cancellations, no-shows and shortened stays promote the best-fitting waiting entry to a
+     * reservation automatically; if rooms are already free the entry is promoted at once.
+     * @param priority Higher values are promoted first
+     * @return The entry, or null if the room type or guest is unknown, the stay is restricted or already
+     *         started, or the guest is blacklisted
+     */
+    WaitlistEntry joinWaitlist(Long guestId, Long roomTypeId, LocalDate checkIn, LocalDate checkOut,
+                               int numberOfGuests, int priority);
+    
+    /**
+     * Withdraw a waiting entry; promoted entries are left as they are.
+     */
+    void leaveWaitlist(Long waitlistId);
+    
+    /**
+     * Get a waitlist entry; promoted entries carry their reservation ID.
+     */
+    Optional<WaitlistEntry> getWaitlistEntry(Long waitlistId);
+    
+    /**
+     * Get the still-waiting entries for a room type, in promotion order.
+     */
+    List<WaitlistEntry> getWaitlist(Long roomTypeId);
+    
     /**
      * Mark reservation as no-show.
      */
     void markNoShow(Long reservationId);
     
+    /**
+     * Mark every still-open (Reserved/Confirmed) arrival for a date as no-show in one batch.
+     * Releases their assigned rooms and inventory. Only that date's arrivals are read.
+     * Waitlist entries arriving on or before that date are dropped; waiting ones become Expired.
+     * @param arrivalDate Arrival date being closed out
+     * @return Sweep summary
+     */
+    NoShowSweepSummary runNoShowSweep(LocalDate arrivalDate);
+    
     /**
      * Get reservation status.
      */
@@ -84,4 +316,12 @@ public interface ReservationService {
      * Get guest reservation history.
      */
     List<Reservation> getGuestReservationHistory(Long guestId);
+    
+    /**
+     * Re-point every reservation of one guest to another, e.g. when merging duplicate profiles.
+     * @param fromGuestId Guest the reservations belong to now
+     * @param toGuest Guest to move them to
+     * @return Number of reservations moved
+     */
+    int reassignGuest(Long fromGuestId, Guest toGuest);
 }
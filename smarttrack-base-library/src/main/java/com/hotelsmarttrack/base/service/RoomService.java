@@ -3,9 +3,12 @@ package com.hotelsmarttrack.base.service;
 import com.hotelsmarttrack.base.entity.Room;
 import com.hotelsmarttrack.base.entity.RoomType;
 import java.math.BigDecimal;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * RoomService interface - exposes Room Management functionality.
@@ -31,6 +34,51 @@ public interface RoomService {
      */
     List<RoomType> getAllRoomTypes();
     
+    // ============ Rate Calendar ============
+    
+    /**
+     * Set the nightly rate of a room type for every night in [from, to), e.g. a season or event.
+     * @throws IllegalArgumentException if the rate is negative
+     */
+    void setRate(Long roomTypeId, LocalDate from, LocalDate to, BigDecimal rate);
+    
+    /**
+     * Set the nightly rate for the nights in [from, to) falling on the given days, e.g. weekends.
+     * @throws IllegalArgumentException if the rate is negative
+     */
+    void setRate(Long roomTypeId, LocalDate from, LocalDate to, Set<DayOfWeek> days, BigDecimal rate);
+    
+    /**
+     * Remove rate overrides for the nights in [from, to); they fall back to the dynamic or base price.
+     */
+    void clearRate(Long roomTypeId, LocalDate from, LocalDate to);
+    
+    /**
+     * Write yield-managed base price multipliers for a room type in one bulk update.
+     * Those nights are priced at the current base price times their multiplier, so later
+     * base price changes still apply. Rates set with setRate take precedence on the same nights.
+     * @param multipliers Base price multiplier per date
+     * @throws IllegalArgumentException if a multiplier is missing or negative
+     */
+    void setRateMultipliers(Long roomTypeId, Map<LocalDate, BigDecimal> multipliers);
+    
+    /**
+     * Get the rate of one night for a room type.
+     * @return Nightly rate, or null if the room type does not exist
+     */
+    BigDecimal getNightlyRate(Long roomTypeId, LocalDate date);
+    
+    /**
+     * Quote the total room price for the nights [checkIn, checkOut) in constant time.
+     * @return Total price, or null if the room type does not exist
+     */
+    BigDecimal quoteStay(Long roomTypeId, LocalDate checkIn, LocalDate checkOut);
+    
+    /**
+     * Register a listener told about every rate change after it takes effect.
+     */
+    void addRateChangeListener(RateChangeListener listener);
+    
     // ============ Room Operations ============
     
     /**
@@ -81,4 +129,29 @@ public interface RoomService {
      * Get available rooms by type for date range.
      */
     List<Room> getAvailableRoomsByType(Long roomTypeId, LocalDate checkIn, LocalDate checkOut);
+    
+    /**
+     * Get the change counter for rooms of a type.
+     * Increases whenever a room of that type is created, updated, deleted or changes status.
+     */
+    long getRoomVersion(Long roomTypeId);
+    
+    /**
+     * Get the change counter for the sellable rooms of a type.
+     * Increases when a room of that type is created, updated or deleted, or goes into
+     * or out of service, but not on other status changes such as check-in or cleaning.
+     */
+    long getCapacityVersion(Long roomTypeId);
+    
+    /**
+     * Get the change counter for the room type catalogue.
+     * Increases whenever a room type is created or its pricing changes.
+     */
+    long getRoomTypesVersion();
+    
+    /**
+     * Get the change counter for the whole room list.
+     * Increases whenever any room is created, updated, deleted or changes status.
+     */
+    long getRoomsVersion();
 }
@@ -1,10 +1,17 @@
 package com.hotelsmarttrack.base.service;
 
+import com.hotelsmarttrack.base.entity.CheckoutResult;
+import com.hotelsmarttrack.base.entity.Guest;
 import com.hotelsmarttrack.base.entity.IncidentalCharge;
+import com.hotelsmarttrack.base.entity.NightAuditSummary;
 import com.hotelsmarttrack.base.entity.Stay;
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * StayService interface - exposes Check-In/Check-Out Management functionality.
@@ -18,7 +25,7 @@ public interface StayService {
     /**
      * Check in a guest with a reservation.
      * @param reservationId Reservation ID
-     * @return Created stay record
+     * @return Created stay record, or null if the reservation is unknown or its guest is blacklisted
      */
     Stay checkInGuest(Long reservationId);
     
@@ -26,7 +33,7 @@ public interface StayService {
      * Check in a walk-in guest (no prior reservation).
      * @param guestId Guest ID
      * @param roomId Room ID
-     * @return Created stay record
+     * @return Created stay record, or null if the guest is blacklisted
      */
     Stay checkInWalkIn(Long guestId, Long roomId);
     
@@ -38,6 +45,30 @@ public interface StayService {
      */
     void assignRoomAndCredentials(Long stayId, Long roomId, String keyCardNumber);
     
+    // ============ Key Card Access ============
+    
+    /**
+     * Get the active stay that owns a key card.
+     * @param keyCardNumber Key card number
+     * @return Active stay if the card is currently issued
+     */
+    Optional<Stay> getActiveStayByKeyCard(String keyCardNumber);
+    
+    /**
+     * Validate a key card for door/elevator access.
+     * @param keyCardNumber Key card number
+     * @param roomNumber Room number being accessed
+     * @return true if the card belongs to an active stay in that room
+     */
+    boolean validateKeyCard(String keyCardNumber, String roomNumber);
+    
+    /**
+     * Revoke a batch of key cards (lost cards, security incidents).
+     * @param keyCardNumbers Key card numbers to revoke
+     * @return Number of cards that were active and are now revoked
+     */
+    int revokeKeyCards(Collection<String> keyCardNumbers);
+    
     // ============ Incidental Charges ============
     
     /**
@@ -62,7 +93,24 @@ public interface StayService {
      * @param stayId Stay ID
      */
     void checkOutGuest(Long stayId);
-    
+
+    /**
+     * Check out many stays at once (e.g. the morning departure wave).
+     * Stay closure, invoicing, settlement and room status updates run in parallel stages.
+     * @param stayIds Stays to check out
+     * @param autoSettle Settle the outstanding balance against the card on file
+     * @return One result per requested stay, in request order
+     */
+    List<CheckoutResult> checkOutGuests(List<Long> stayIds, boolean autoSettle);
+
+    /**
+     * Check out every in-house stay whose reservation departs on the given date.
+     * @param departureDate Departure date
+     * @param autoSettle Settle the outstanding balance against the card on file
+     * @return One result per departing stay
+     */
+    List<CheckoutResult> checkOutDepartures(LocalDate departureDate, boolean autoSettle);
+
     /**
      * Get outstanding balance for a stay.
      */
@@ -80,6 +128,13 @@ public interface StayService {
      */
     Optional<Stay> getActiveStayByRoom(String roomNumber);
     
+    /**
+     * Get active stays for many rooms at once (e.g. posting breakfast to rooms 101-140).
+     * @param roomNumbers Room numbers to look up
+     * @return Room number to active stay; rooms without an active stay are omitted
+     */
+    Map<String, Stay> getActiveStaysByRooms(Collection<String> roomNumbers);
+    
     /**
      * Get all active stays.
      */
@@ -89,4 +144,34 @@ public interface StayService {
      * Get stay history for a guest.
      */
     List<Stay> getGuestStayHistory(Long guestId);
+    
+    /**
+     * Re-point every stay of one guest to another, e.g. when merging duplicate profiles.
+     * @return Number of stays moved
+     */
+    int reassignGuest(Long fromGuestId, Guest toGuest);
+    
+    /**
+     * Pass stays checked in between two dates (both inclusive) to an action in ID order,
+     * straight from the store without copying them into a list.
+     */
+    void forEachStay(LocalDate from, LocalDate to, Consumer<Stay> action);
+
+    // ============ Night Audit ============
+
+    /**
+     * Run the night audit for a business date.
+     * Posts one night's room charge to every in-house stay and rolls the business date.
+     * Re-running for the same date only posts stays that were not posted yet;
+     * stays checked in after that date are not charged for it.
+     * @param businessDate Business date being closed
+     * @return Audit summary with totals
+     * @throws IllegalArgumentException if the date is not the current business date (already closed or not yet open)
+     */
+    NightAuditSummary runNightAudit(LocalDate businessDate);
+
+    /**
+     * Get the current (open) business date.
+     */
+    LocalDate getBusinessDate();
 }
@@ -1,17 +1,26 @@
 package com.hotelsmarttrack.billing;
 
+import com.hotelsmarttrack.base.entity.Guest;
 import com.hotelsmarttrack.base.entity.Invoice;
 import com.hotelsmarttrack.base.entity.Payment;
+import com.hotelsmarttrack.base.entity.Stay;
 import com.hotelsmarttrack.base.service.BillingService;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -21,24 +30,45 @@ import java.util.stream.Collectors;
 @Service
 public class BillingManager implements BillingService {
     
-    private final List<Invoice> invoiceDatabase = new ArrayList<>();
-    private final List<Payment> paymentDatabase = new ArrayList<>();
+    // Charges used when none are known for the stay (simplified)
+    private static final BigDecimal MOCK_ROOM_CHARGES = BigDecimal.valueOf(150.00);
+    private static final BigDecimal MOCK_INCIDENTAL_CHARGES = BigDecimal.valueOf(50.00);
+    
+    // Keyed by ID so lookups are direct and invoices/payments can be recorded concurrently
+    private final Map<Long, Invoice> invoiceDatabase = new ConcurrentSkipListMap<>();
+    private final Collection<Payment> paymentDatabase = new ConcurrentLinkedQueue<>();
     private final AtomicLong invoiceIdGenerator = new AtomicLong(1);
     private final AtomicLong paymentIdGenerator = new AtomicLong(1);
     
     // Store stay ID to invoice mapping for lookup
-    private final java.util.Map<Long, Long> stayToInvoiceMap = new java.util.concurrent.ConcurrentHashMap<>();
+    private final Map<Long, Long> stayToInvoiceMap = new ConcurrentHashMap<>();
     
     @Override
     public Invoice generateInvoice(Long stayId) {
-        // Calculate charges (simplified)
-        BigDecimal roomCharges = BigDecimal.valueOf(150.00); // Mock room charge
-        BigDecimal incidentalCharges = BigDecimal.valueOf(50.00); // Mock incidental
+        return issueInvoice(stayId, null, MOCK_ROOM_CHARGES, MOCK_INCIDENTAL_CHARGES);
+    }
+    
+    @Override
+    public Invoice generateInvoice(Stay stay) {
+        return issueInvoice(stay.getStayId(), stay, MOCK_ROOM_CHARGES, MOCK_INCIDENTAL_CHARGES);
+    }
+    
+    @Override
+    public Invoice generateInvoice(Stay stay, BigDecimal roomCharges, BigDecimal incidentalCharges) {
+        return issueInvoice(stay.getStayId(), stay, roomCharges, incidentalCharges);
+    }
+    
+    /**
+     * Create and store an invoice, linked to the stay and its guest when the stay is known.
+     */
+    private Invoice issueInvoice(Long stayId, Stay stay, BigDecimal roomCharges, BigDecimal incidentalCharges) {
         BigDecimal taxes = roomCharges.add(incidentalCharges).multiply(BigDecimal.valueOf(0.10));
         BigDecimal totalAmount = roomCharges.add(incidentalCharges).add(taxes);
         
         Invoice invoice = new Invoice();
         invoice.setInvoiceId(invoiceIdGenerator.getAndIncrement());
+        invoice.setStay(stay);
+        invoice.setGuest(stay != null ? stay.getGuest() : null);
         invoice.setRoomCharges(roomCharges);
         invoice.setIncidentalCharges(incidentalCharges);
         invoice.setTaxes(taxes);
@@ -50,7 +80,7 @@ public class BillingManager implements BillingService {
         invoice.setIssuedTime(LocalDateTime.now());
         invoice.setPayments(new ArrayList<>());
         
-        invoiceDatabase.add(invoice);
+        invoiceDatabase.put(invoice.getInvoiceId(), invoice);
         stayToInvoiceMap.put(stayId, invoice.getInvoiceId());
         
         System.out.println("[BillingManager] Generated invoice for stay " + stayId + 
@@ -67,9 +97,7 @@ public class BillingManager implements BillingService {
     
     @Override
     public Optional<Invoice> getInvoiceById(Long invoiceId) {
-        return invoiceDatabase.stream()
-                .filter(i -> i.getInvoiceId().equals(invoiceId))
-                .findFirst();
+        return Optional.ofNullable(invoiceDatabase.get(invoiceId));
     }
     
     @Override
@@ -95,16 +123,18 @@ public class BillingManager implements BillingService {
         
         // Update invoice
         getInvoiceById(invoiceId).ifPresent(invoice -> {
-            invoice.getPayments().add(payment);
-            BigDecimal newPaidAmount = invoice.getAmountPaid().add(amount);
-            invoice.setAmountPaid(newPaidAmount);
-            invoice.setOutstandingBalance(invoice.getTotalAmount().subtract(newPaidAmount));
-            
-            // Update status
-            if (invoice.getOutstandingBalance().compareTo(BigDecimal.ZERO) <= 0) {
-                invoice.setStatus("Paid");
-            } else {
-                invoice.setStatus("Partially Paid");
+            synchronized (invoice) {
+                invoice.getPayments().add(payment);
+                BigDecimal newPaidAmount = invoice.getAmountPaid().add(amount);
+                invoice.setAmountPaid(newPaidAmount);
+                invoice.setOutstandingBalance(invoice.getTotalAmount().subtract(newPaidAmount));
+                
+                // Update status
+                if (invoice.getOutstandingBalance().compareTo(BigDecimal.ZERO) <= 0) {
+                    invoice.setStatus("Paid");
+                } else {
+                    invoice.setStatus("Partially Paid");
+                }
             }
             
             System.out.println("[BillingManager] Processed payment: $" + amount + 
@@ -117,7 +147,11 @@ public class BillingManager implements BillingService {
     @Override
     public List<Payment> getPaymentsForInvoice(Long invoiceId) {
         return getInvoiceById(invoiceId)
-                .map(Invoice::getPayments)
+                .map(invoice -> {
+                    synchronized (invoice) {
+                        return new ArrayList<>(invoice.getPayments());
+                    }
+                })
                 .orElse(new ArrayList<>());
     }
     
@@ -130,18 +164,39 @@ public class BillingManager implements BillingService {
     
     @Override
     public List<Invoice> getUnpaidInvoices() {
-        return invoiceDatabase.stream()
+        return invoiceDatabase.values().stream()
                 .filter(i -> i.getOutstandingBalance().compareTo(BigDecimal.ZERO) > 0)
                 .collect(Collectors.toList());
     }
     
     @Override
     public List<Invoice> getInvoicesByGuest(Long guestId) {
-        return invoiceDatabase.stream()
+        return invoiceDatabase.values().stream()
                 .filter(i -> i.getGuest() != null && i.getGuest().getGuestId().equals(guestId))
                 .collect(Collectors.toList());
     }
     
+    @Override
+    public int reassignGuest(Long fromGuestId, Guest toGuest) {
+        List<Invoice> invoices = getInvoicesByGuest(fromGuestId);
+        invoices.forEach(invoice -> invoice.setGuest(toGuest));
+        System.out.println("[BillingManager] Moved " + invoices.size() + " invoices from guest " + fromGuestId +
+                " to guest " + toGuest.getGuestId());
+        return invoices.size();
+    }
+    
+    @Override
+    public void forEachInvoice(LocalDate from, LocalDate to, Consumer<Invoice> action) {
+        invoiceDatabase.values().forEach(i -> {
+            if (i.getIssuedTime() != null) {
+                LocalDate date = i.getIssuedTime().toLocalDate();
+                if (!date.isBefore(from) && !date.isAfter(to)) {
+                    action.accept(i);
+                }
+            }
+        });
+    }
+    
     @Override
     public void updateInvoiceStatus(Long invoiceId, String status) {
         getInvoiceById(invoiceId).ifPresent(invoice -> {
@@ -153,13 +208,15 @@ public class BillingManager implements BillingService {
     @Override
     public void applyDiscount(Long invoiceId, BigDecimal discountAmount, String reason) {
         getInvoiceById(invoiceId).ifPresent(invoice -> {
-            invoice.setDiscounts(invoice.getDiscounts().add(discountAmount));
-            BigDecimal newTotal = invoice.getRoomCharges()
-                    .add(invoice.getIncidentalCharges())
-                    .add(invoice.getTaxes())
-                    .subtract(invoice.getDiscounts());
-            invoice.setTotalAmount(newTotal);
-            invoice.setOutstandingBalance(newTotal.subtract(invoice.getAmountPaid()));
+            synchronized (invoice) {
+                invoice.setDiscounts(invoice.getDiscounts().add(discountAmount));
+                BigDecimal newTotal = invoice.getRoomCharges()
+                        .add(invoice.getIncidentalCharges())
+                        .add(invoice.getTaxes())
+                        .subtract(invoice.getDiscounts());
+                invoice.setTotalAmount(newTotal);
+                invoice.setOutstandingBalance(newTotal.subtract(invoice.getAmountPaid()));
+            }
             
             System.out.println("[BillingManager] Applied discount: $" + discountAmount + " - " + reason);
         });
@@ -0,0 +1,146 @@
+package com.hotelsmarttrack.guest;
+
+import com.hotelsmarttrack.base.entity.Guest;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * BlacklistScreen - identifiers of blacklisted guests: guest ID, email, phone and ID number.
+ * A Bloom filter sits in front of the exact key map, so screening a guest who is not
+ * blacklisted costs a few bit probes per identifier and no map or store lookups.
+ * Identifiers are normalized like the duplicate blocking keys, so formatting differences still match.
+ * Private to the smarttrack-guest component.
+ */
+final class BlacklistScreen {
+
+    private static final int HASHES = 5;
+    private static final int MIN_BITS = 1 << 20;
+    // The filter is rebuilt larger when it has fewer bits than this per key (false positives stay well under 1%)
+    private static final int BITS_PER_KEY = 16;
+
+    // Identifier key -> blacklisted guest it belongs to, and the reverse for removal
+    private final Map<String, Long> exact = new ConcurrentHashMap<>();
+    private final Map<Long, Set<String>> keysByGuest = new ConcurrentHashMap<>();
+    private volatile Bloom bloom = new Bloom(MIN_BITS);
+
+    /**
+     * List a profile's identifiers under a blacklisted guest; identifiers listed before stay listed.
+     * @param listedAs Blacklisted guest ID
+     * @param guest That guest's profile, or a profile merged into it
+     */
+    synchronized void add(Long listedAs, Guest guest) {
+        Set<String> listed = keysByGuest.computeIfAbsent(listedAs, id -> new HashSet<>());
+        for (String key : keys(guest)) {
+            exact.put(key, listedAs);
+            listed.add(key);
+            bloom.add(key);
+        }
+        if ((long) exact.size() * BITS_PER_KEY > bloom.bits()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Drop every identifier listed for a guest, e.g. on reactivation.
+     */
+    synchronized void remove(Long guestId) {
+        Set<String> listed = keysByGuest.remove(guestId);
+        if (listed != null) {
+            listed.forEach(key -> exact.remove(key, guestId));
+            rebuild();
+        }
+    }
+
+    /**
+     * @return The blacklisted guest one of the identifiers belongs to, or null
+     */
+    Long match(Guest guest) {
+        Bloom filter = bloom;
+        for (String key : keys(guest)) {
+            if (filter.mightContain(key)) {
+                Long listed = exact.get(key);
+                if (listed != null) {
+                    return listed;
+                }
+            }
+        }
+        return null;
+    }
+
+    private void rebuild() {
+        Bloom rebuilt = new Bloom(Math.max(MIN_BITS, Integer.highestOneBit(exact.size() * BITS_PER_KEY) << 1));
+        exact.keySet().forEach(rebuilt::add);
+        bloom = rebuilt;
+    }
+
+    private static List<String> keys(Guest guest) {
+        List<String> keys = new ArrayList<>(4);
+        if (guest.getGuestId() != null) {
+            keys.add("g:" + guest.getGuestId());
+        }
+        String email = GuestDeduplicator.email(guest.getEmail());
+        if (email != null) {
+            keys.add("e:" + email);
+        }
+        String phone = GuestDeduplicator.phone(guest.getPhone());
+        if (phone != null) {
+            keys.add("p:" + phone);
+        }
+        String idNumber = GuestDeduplicator.idNumber(guest.getIdentificationNumber());
+        if (idNumber != null) {
+            keys.add("i:" + idNumber);
+        }
+        return keys;
+    }
+
+    /**
+     * Bloom filter over a power-of-two bit array, probed by double hashing.
+     */
+    private static final class Bloom {
+        private final AtomicLongArray words;
+        private final int mask;
+
+        Bloom(int bits) {
+            this.words = new AtomicLongArray(bits >>> 6);
+            this.mask = bits - 1;
+        }
+
+        int bits() {
+            return mask + 1;
+        }
+
+        void add(String key) {
+            long hash = GuestDeduplicator.hash(key);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32) | 1;
+            for (int i = 0; i < HASHES; i++) {
+                int bit = (h1 + i * h2) & mask;
+                int index = bit >>> 6;
+                long flag = 1L << bit;
+                long word = words.get(index);
+                while ((word & flag) == 0 && !words.compareAndSet(index, word, word | flag)) {
+                    word = words.get(index);
+                }
+            }
+        }
+
+        boolean mightContain(String key) {
+            long hash = GuestDeduplicator.hash(key);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32) | 1;
+            for (int i = 0; i < HASHES; i++) {
+                int bit = (h1 + i * h2) & mask;
+                if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,505 @@
+package com.hotelsmarttrack.guest;
+
+import com.hotelsmarttrack.base.entity.DuplicateCandidate;
+import com.hotelsmarttrack.base.entity.Guest;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * GuestDeduplicator - blocking-key index for finding duplicate guest profiles.
+ * Each profile is filed under its normalized email, phone digits, phonetic name and ID number;
+ * only profiles sharing a block are compared, so a check never scans the guest table.
+ * Blocks are kept off-heap as (key hash, guest ID) pairs; a hash collision only adds comparisons.
+ * Private to the smarttrack-guest component.
+ */
+final class GuestDeduplicator {
+
+    // Weights of the matching attributes; a pair scoring DUPLICATE_SCORE or more is reported
+    private static final double EMAIL = 0.4;
+    private static final double ID_NUMBER = 0.5;
+    private static final double PHONE = 0.3;
+    private static final double NAME_PHONETIC = 0.2;
+    private static final double NAME_EXACT = 0.1;
+    static final double DUPLICATE_SCORE = 0.5;
+    static final double SAME_GUEST_SCORE = 0.7;
+
+    // Blocks this large hold placeholder values (e.g. 000000) or very common names; comparing them is noise.
+    // A block stops growing one past this size, which is enough to recognize it.
+    private static final int MAX_BLOCK_SIZE = 500;
+
+    private static final Comparator<DuplicateCandidate> BEST_FIRST = Comparator
+            .comparingDouble(DuplicateCandidate::getScore).reversed()
+            .thenComparing(DuplicateCandidate::getMatchGuestId)
+            .thenComparing(DuplicateCandidate::getGuestId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final BlockTable blocks = new BlockTable();
+
+    /**
+     * File a new guest under its blocking keys.
+     */
+    void index(Guest guest) {
+        reindex(null, guest);
+    }
+
+    /**
+     * File many new guests under one lock acquisition.
+     */
+    void indexAll(List<Guest> guests) {
+        lock.writeLock().lock();
+        try {
+            for (Guest guest : guests) {
+                for (long key : hashes(keys(guest))) {
+                    blocks.add(key, guest.getGuestId());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Unfile a guest, e.g. once merged into another profile.
+     */
+    void remove(Guest guest) {
+        reindex(guest, null);
+    }
+
+    /**
+     * Move a guest from the keys of its previous profile to those of its current one.
+     * @param previous Profile as filed before, or null if it was not filed
+     * @param current Profile to file, or null to only unfile
+     */
+    void reindex(Guest previous, Guest current) {
+        List<String> before = previous != null ? keys(previous) : List.of();
+        List<String> after = current != null ? keys(current) : List.of();
+        lock.writeLock().lock();
+        try {
+            for (String key : before) {
+                if (!after.contains(key)) {
+                    blocks.remove(hash(key), previous.getGuestId());
+                }
+            }
+            for (String key : after) {
+                if (!before.contains(key)) {
+                    blocks.add(hash(key), current.getGuestId());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexed profiles that look like the same person as the given (possibly unsaved) guest, best first.
+     */
+    List<DuplicateCandidate> candidates(Guest guest, Function<Long, Guest> lookup) {
+        Set<Long> sharingBlock = new HashSet<>();
+        long[] members = new long[MAX_BLOCK_SIZE + 1];
+        lock.readLock().lock();
+        try {
+            for (long key : hashes(keys(guest))) {
+                int size = blocks.members(key, members);
+                if (size <= MAX_BLOCK_SIZE) {
+                    for (int i = 0; i < size; i++) {
+                        sharingBlock.add(members[i]);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        sharingBlock.remove(guest.getGuestId());
+
+        List<DuplicateCandidate> found = new ArrayList<>();
+        for (Long otherId : sharingBlock) {
+            Guest other = lookup.apply(otherId);
+            DuplicateCandidate candidate = other != null ? compare(guest, other) : null;
+            if (candidate != null) {
+                found.add(candidate);
+            }
+        }
+        found.sort(BEST_FIRST);
+        return found;
+    }
+
+    /**
+     * Compare every pair within every block, blocks in parallel; each pair is reported once.
+     */
+    List<DuplicateCandidate> scanAll(Function<Long, Guest> lookup) {
+        AtomicInteger skippedBlocks = new AtomicInteger();
+        List<long[]> shared;
+        lock.readLock().lock();
+        try {
+            // Each block is emitted by the slot holding its lowest guest ID
+            shared = IntStream.range(0, blocks.capacity()).parallel()
+                    .mapToObj(slot -> {
+                        long guestId = blocks.guestAt(slot);
+                        if (guestId == BlockTable.FREE) {
+                            return null;
+                        }
+                        long[] members = new long[MAX_BLOCK_SIZE + 1];
+                        int size = blocks.members(blocks.keyAt(slot), members);
+                        for (int i = 0; i < size; i++) {
+                            if (members[i] < guestId) {
+                                return null;
+                            }
+                        }
+                        if (size > MAX_BLOCK_SIZE) {
+                            skippedBlocks.incrementAndGet();
+                            return null;
+                        }
+                        return size > 1 ? Arrays.copyOf(members, size) : null;
+                    })
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Set<Long> comparedPairs = ConcurrentHashMap.newKeySet();
+        List<DuplicateCandidate> found = shared.parallelStream()
+                .flatMap(ids -> {
+                    List<DuplicateCandidate> pairs = new ArrayList<>();
+                    for (int i = 0; i < ids.length; i++) {
+                        for (int j = i + 1; j < ids.length; j++) {
+                            long low = Math.min(ids[i], ids[j]);
+                            long high = Math.max(ids[i], ids[j]);
+                            if (!comparedPairs.add(low << 32 | high)) {
+                                continue;
+                            }
+                            Guest a = lookup.apply(low);
+                            Guest b = lookup.apply(high);
+                            DuplicateCandidate candidate = a != null && b != null ? compare(b, a) : null;
+                            if (candidate != null) {
+                                pairs.add(candidate);
+                            }
+                        }
+                    }
+                    return pairs.stream();
+                })
+                .sorted(BEST_FIRST)
+                .collect(Collectors.toList());
+        if (skippedBlocks.get() > 0) {
+            System.out.println("[GuestManager] Skipped " + skippedBlocks.get() + " blocking keys shared by more than " +
+                    MAX_BLOCK_SIZE + " guests");
+        }
+        return found;
+    }
+
+    /**
+     * Score how likely two profiles are the same person.
+     * @return The match of guest against other, or null below DUPLICATE_SCORE
+     */
+    DuplicateCandidate compare(Guest guest, Guest other) {
+        double score = 0;
+        List<String> matchedOn = new ArrayList<>(4);
+        String email = email(guest.getEmail());
+        if (email != null && email.equals(email(other.getEmail()))) {
+            score += EMAIL;
+            matchedOn.add("email");
+        }
+        String idNumber = idNumber(guest.getIdentificationNumber());
+        if (idNumber != null && idNumber.equals(idNumber(other.getIdentificationNumber()))) {
+            score += ID_NUMBER;
+            matchedOn.add("identificationNumber");
+        }
+        String phone = phone(guest.getPhone());
+        if (phone != null && phone.equals(phone(other.getPhone()))) {
+            score += PHONE;
+            matchedOn.add("phone");
+        }
+        String phonetic = phoneticName(guest.getName());
+        if (phonetic != null && phonetic.equals(phoneticName(other.getName()))) {
+            score += NAME_PHONETIC;
+            matchedOn.add("name");
+            if (normalizedName(guest.getName()).equals(normalizedName(other.getName()))) {
+                score += NAME_EXACT;
+            }
+        }
+        if (score < DUPLICATE_SCORE) {
+            return null;
+        }
+        return new DuplicateCandidate(guest.getGuestId(), other.getGuestId(),
+                Math.round(score * 100) / 100.0, String.join(",", matchedOn));
+    }
+
+    private static long[] hashes(List<String> keys) {
+        long[] hashes = new long[keys.size()];
+        for (int i = 0; i < hashes.length; i++) {
+            hashes[i] = hash(keys.get(i));
+        }
+        return hashes;
+    }
+
+    private static List<String> keys(Guest guest) {
+        List<String> keys = new ArrayList<>(4);
+        String email = email(guest.getEmail());
+        if (email != null) {
+            keys.add("e:" + email);
+        }
+        String phone = phone(guest.getPhone());
+        if (phone != null) {
+            keys.add("p:" + phone);
+        }
+        String phonetic = phoneticName(guest.getName());
+        if (phonetic != null) {
+            keys.add("n:" + phonetic);
+        }
+        String idNumber = idNumber(guest.getIdentificationNumber());
+        if (idNumber != null) {
+            keys.add("i:" + idNumber);
+        }
+        return keys;
+    }
+
+    /**
+     * Lower-cased address with any +tag dropped from the local part.
+     */
+    static String email(String email) {
+        if (email == null || email.isBlank() || email.indexOf('@') < 1) {
+            return null;
+        }
+        String normalized = email.trim().toLowerCase(Locale.ROOT);
+        int at = normalized.indexOf('@');
+        int plus = normalized.indexOf('+');
+        return plus > 0 && plus < at ? normalized.substring(0, plus) + normalized.substring(at) : normalized;
+    }
+
+    /**
+     * The last nine digits, so national and international forms of a number agree.
+     */
+    static String phone(String phone) {
+        if (phone == null) {
+            return null;
+        }
+        StringBuilder digits = new StringBuilder(phone.length());
+        for (int i = 0; i < phone.length(); i++) {
+            char c = phone.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        if (digits.length() < 7) {
+            return null;
+        }
+        return digits.length() > 9 ? digits.substring(digits.length() - 9) : digits.toString();
+    }
+
+    static String idNumber(String idNumber) {
+        if (idNumber == null) {
+            return null;
+        }
+        StringBuilder normalized = new StringBuilder(idNumber.length());
+        for (int i = 0; i < idNumber.length(); i++) {
+            char c = idNumber.charAt(i);
+            if (c >= '0' && c <= '9' || c >= 'A' && c <= 'Z') {
+                normalized.append(c);
+            } else if (c >= 'a' && c <= 'z') {
+                normalized.append((char) (c - 'a' + 'A'));
+            }
+        }
+        return normalized.length() < 4 ? null : normalized.toString();
+    }
+
+    /**
+     * Soundex codes of the first and last name, e.g. "Jon Smyth" and "John Smith" both give J500S530.
+     */
+    static String phoneticName(String name) {
+        String normalized = normalizedName(name);
+        if (normalized.isEmpty()) {
+            return null;
+        }
+        String[] parts = normalized.split(" ");
+        return parts.length == 1 ? soundex(parts[0]) : soundex(parts[0]) + soundex(parts[parts.length - 1]);
+    }
+
+    private static String normalizedName(String name) {
+        if (name == null) {
+            return "";
+        }
+        return name.toUpperCase(Locale.ROOT).replaceAll("[^A-Z ]", "").trim().replaceAll(" +", " ");
+    }
+
+    private static String soundex(String word) {
+        StringBuilder code = new StringBuilder(4).append(word.charAt(0));
+        char last = soundexDigit(word.charAt(0));
+        for (int i = 1; i < word.length() && code.length() < 4; i++) {
+            char c = word.charAt(i);
+            char digit = soundexDigit(c);
+            if (digit != '0' && digit != last) {
+                code.append(digit);
+            }
+            if (c != 'H' && c != 'W') {
+                last = digit;
+            }
+        }
+        while (code.length() < 4) {
+            code.append('0');
+        }
+        return code.toString();
+    }
+
+    private static char soundexDigit(char c) {
+        return switch (c) {
+            case 'B', 'F', 'P', 'V' -> '1';
+            case 'C', 'G', 'J', 'K', 'Q', 'S', 'X', 'Z' -> '2';
+            case 'D', 'T' -> '3';
+            case 'L' -> '4';
+            case 'M', 'N' -> '5';
+            case 'R' -> '6';
+            default -> '0';
+        };
+    }
+
+    /**
+     * 64-bit FNV-1a over the characters, finished with the murmur3 mixer.
+     */
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Open-addressing multimap from key hash to guest IDs, in direct buffers with linear probing.
+     * A removed entry keeps its key (so probe chains stay intact) and frees its guest ID; rehashing drops it.
+     * Callers hold the deduplicator's lock.
+     */
+    private static final class BlockTable {
+        static final long FREE = 0;
+        private static final int MIN_CAPACITY = 1 << 16;
+        private static final int MAX_CAPACITY = 1 << 28;
+
+        private LongBuffer keys;
+        private LongBuffer guests;
+        private int mask;
+        private int used;
+        private int live;
+
+        BlockTable() {
+            allocate(MIN_CAPACITY);
+        }
+
+        int capacity() {
+            return mask + 1;
+        }
+
+        long keyAt(int slot) {
+            return keys.get(slot);
+        }
+
+        long guestAt(int slot) {
+            return guests.get(slot);
+        }
+
+        void add(long key, long guestId) {
+            key = key == FREE ? 1 : key;
+            int slot = home(key);
+            int size = 0;
+            for (long k; (k = keys.get(slot)) != FREE; slot = (slot + 1) & mask) {
+                if (k == key) {
+                    long id = guests.get(slot);
+                    if (id == guestId || id != FREE && ++size > MAX_BLOCK_SIZE) {
+                        return;
+                    }
+                }
+            }
+            keys.put(slot, key);
+            guests.put(slot, guestId);
+            used++;
+            live++;
+            if (used > capacity() / 4 * 3) {
+                // Grow when mostly live, otherwise just clear out removed entries
+                int capacity = live > capacity() / 2 ? capacity() << 1 : capacity();
+                if (capacity > MAX_CAPACITY) {
+                    throw new IllegalStateException("Duplicate index is full");
+                }
+                rehash(capacity);
+            }
+        }
+
+        void remove(long key, long guestId) {
+            key = key == FREE ? 1 : key;
+            for (int slot = home(key); keys.get(slot) != FREE; slot = (slot + 1) & mask) {
+                if (keys.get(slot) == key && guests.get(slot) == guestId) {
+                    guests.put(slot, FREE);
+                    live--;
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Copy up to into.length guest IDs filed under a key.
+         * @return How many were copied
+         */
+        int members(long key, long[] into) {
+            key = key == FREE ? 1 : key;
+            int size = 0;
+            for (int slot = home(key); keys.get(slot) != FREE && size < into.length; slot = (slot + 1) & mask) {
+                long id = guests.get(slot);
+                if (keys.get(slot) == key && id != FREE) {
+                    into[size++] = id;
+                }
+            }
+            return size;
+        }
+
+        private int home(long key) {
+            return (int) (key ^ key >>> 32) & mask;
+        }
+
+        private void rehash(int capacity) {
+            LongBuffer oldKeys = keys;
+            LongBuffer oldGuests = guests;
+            allocate(capacity);
+            for (int slot = 0; slot < oldKeys.capacity(); slot++) {
+                long id = oldGuests.get(slot);
+                if (id != FREE) {
+                    int target = home(oldKeys.get(slot));
+                    while (keys.get(target) != FREE) {
+                        target = (target + 1) & mask;
+                    }
+                    keys.put(target, oldKeys.get(slot));
+                    guests.put(target, id);
+                    used++;
+                    live++;
+                }
+            }
+        }
+
+        private void allocate(int capacity) {
+            keys = ByteBuffer.allocateDirect(capacity * Long.BYTES).order(ByteOrder.nativeOrder()).asLongBuffer();
+            guests = ByteBuffer.allocateDirect(capacity * Long.BYTES).order(ByteOrder.nativeOrder()).asLongBuffer();
+            mask = capacity - 1;
+            used = 0;
+            live = 0;
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.hotelsmarttrack.guest;
+
+import com.hotelsmarttrack.base.entity.Guest;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * GuestDirectory - guest profiles stored off-heap as fixed-layout records plus a string arena.
+ * Records live in direct buffers addressed by guest ID (IDs are dense, assigned by GuestManager),
+ * so the directory holds no per-guest heap objects; Guest objects are materialized on each lookup.
+ * <pre>
+ * record (56 bytes) = guestId:i64 name:ref email:ref phone:ref identificationNumber:ref
+ *                     statusJustification:ref status:i32 nameHash:i32
+ * ref (i64)         = arena segment:16 | offset:26 | length:22, or -1 for null
+ * </pre>
+ * Arena strings are UTF-8 and append-only; an update re-appends only the fields that changed,
+ * and the inline name hash settles most name comparisons without decoding the stored name.
+ * Arena segments start at 64 KB and double up to 64 MB, so a small property reserves little memory.
+ * Writers serialize on a StampedLock; readers use optimistic reads and never block.
+ * Private to the smarttrack-guest component.
+ */
+final class GuestDirectory {
+
+    private static final int RECORD_SIZE = 56;
+    private static final int RECORD_SHIFT = 16;
+    private static final int RECORDS_PER_SEGMENT = 1 << RECORD_SHIFT;
+    private static final int FIRST_ARENA_SEGMENT_SIZE = 1 << 16;
+    private static final int MAX_ARENA_SEGMENT_SIZE = 1 << 26;
+    private static final int MAX_STRING_BYTES = (1 << 22) - 1;
+    private static final long NULL_REF = -1L;
+
+    // Field offsets within a record
+    private static final int ID = 0;
+    private static final int NAME = 8;
+    private static final int EMAIL = 16;
+    private static final int PHONE = 24;
+    private static final int ID_NUMBER = 32;
+    private static final int JUSTIFICATION = 40;
+    private static final int STATUS = 48;
+    private static final int NAME_HASH = 52;
+    private static final int NO_RECORD = -1;
+
+    private final StampedLock lock = new StampedLock();
+    private volatile ByteBuffer[] records = new ByteBuffer[0];
+    private volatile ByteBuffer[] arena = new ByteBuffer[0];
+    private volatile long maxId;
+    private volatile int size;
+
+    // Status code - 1 -> status; 0 means no status
+    private final List<String> statuses = new CopyOnWriteArrayList<>(List.of("Active", "Inactive", "Blacklisted", "Merged"));
+
+    /**
+     * Raw record fields, read under an optimistic stamp and decoded once validated.
+     */
+    private record Raw(long guestId, int status, long name, long email, long phone, long idNumber,
+                       long justification) {
+    }
+
+    /**
+     * Insert or overwrite the record for a guest's ID.
+     */
+    void put(Guest guest) {
+        long stamp = lock.writeLock();
+        try {
+            write(guest);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Insert or overwrite many records under one lock acquisition.
+     */
+    void putAll(List<Guest> guests) {
+        long stamp = lock.writeLock();
+        try {
+            for (Guest guest : guests) {
+                write(guest);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Materialize a guest.
+     * @return A new Guest, or null if no record has this ID
+     */
+    Guest get(Long guestId) {
+        if (guestId == null || guestId <= 0) {
+            return null;
+        }
+        Raw raw = readRaw(guestId);
+        return raw != null ? materialize(raw) : null;
+    }
+
+    boolean contains(Long guestId) {
+        return guestId != null && guestId > 0 && readRaw(guestId) != null;
+    }
+
+
+    /**
+     * Materialize every guest in ID order, one at a time.
+     */
+    void forEach(Consumer<Guest> action) {
+        long last = maxId;
+        for (long id = 1; id <= last; id++) {
+            Raw raw = readRaw(id);
+            if (raw != null) {
+                action.accept(materialize(raw));
+            }
+        }
+    }
+
+    /**
+     * Feed every guest's status and ID to an action in ID order, reading only those two fields.
+     */
+    void forEachStatus(ObjLongConsumer<String> action) {
+        long last = maxId;
+        for (long id = 1; id <= last; id++) {
+            int status = readStatus(id);
+            if (status != NO_RECORD) {
+                action.accept(statusName(status), id);
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Direct memory reserved by record segments and the string arena.
+     */
+    long offHeapBytes() {
+        long bytes = (long) records.length * RECORDS_PER_SEGMENT * RECORD_SIZE;
+        for (ByteBuffer segment : arena) {
+            bytes += segment.capacity();
+        }
+        return bytes;
+    }
+
+    private Raw readRaw(long guestId) {
+        long stamp = lock.tryOptimisticRead();
+        Raw raw = readRecord(guestId);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                raw = readRecord(guestId);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return raw;
+    }
+
+    private int readStatus(long guestId) {
+        long stamp = lock.tryOptimisticRead();
+        int status = readStatusField(guestId);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                status = readStatusField(guestId);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return status;
+    }
+
+    private int readStatusField(long guestId) {
+        ByteBuffer[] segments = records;
+        long segment = guestId >>> RECORD_SHIFT;
+        if (segment >= segments.length) {
+            return NO_RECORD;
+        }
+        ByteBuffer buffer = segments[(int) segment];
+        int base = (int) (guestId & (RECORDS_PER_SEGMENT - 1)) * RECORD_SIZE;
+        return buffer.getLong(base + ID) == guestId ? buffer.getInt(base + STATUS) : NO_RECORD;
+    }
+
+    private Raw readRecord(long guestId) {
+        ByteBuffer[] segments = records;
+        long segment = guestId >>> RECORD_SHIFT;
+        if (segment >= segments.length) {
+            return null;
+        }
+        ByteBuffer buffer = segments[(int) segment];
+        int base = (int) (guestId & (RECORDS_PER_SEGMENT - 1)) * RECORD_SIZE;
+        if (buffer.getLong(base + ID) != guestId) {
+            return null;
+        }
+        return new Raw(guestId, buffer.getInt(base + STATUS), buffer.getLong(base + NAME),
+                buffer.getLong(base + EMAIL), buffer.getLong(base + PHONE), buffer.getLong(base + ID_NUMBER),
+                buffer.getLong(base + JUSTIFICATION));
+    }
+
+    private Guest materialize(Raw raw) {
+        return new Guest(raw.guestId(), decode(raw.name()), decode(raw.email()), decode(raw.phone()),
+                decode(raw.idNumber()), statusName(raw.status()), decode(raw.justification()));
+    }
+
+    private void write(Guest guest) {
+        long guestId = guest.getGuestId();
+        if (guestId <= 0) {
+            throw new IllegalArgumentException("Guest IDs must be positive: " + guestId);
+        }
+        int segment = (int) (guestId >>> RECORD_SHIFT);
+        if (segment >= records.length) {
+            ByteBuffer[] grown = Arrays.copyOf(records, segment + 1);
+            for (int s = records.length; s < grown.length; s++) {
+                grown[s] = ByteBuffer.allocateDirect(RECORDS_PER_SEGMENT * RECORD_SIZE).order(ByteOrder.nativeOrder());
+            }
+            records = grown;
+        }
+        ByteBuffer buffer = records[segment];
+        int base = (int) (guestId & (RECORDS_PER_SEGMENT - 1)) * RECORD_SIZE;
+        boolean exists = buffer.getLong(base + ID) == guestId;
+
+        buffer.putInt(base + STATUS, statusCode(guest.getStatus()));
+        // A different hash means a different name, so the stored one need not be decoded to compare
+        int nameHash = Objects.hashCode(guest.getName());
+        writeString(buffer, base + NAME, guest.getName(), exists && buffer.getInt(base + NAME_HASH) == nameHash);
+        buffer.putInt(base + NAME_HASH, nameHash);
+        writeString(buffer, base + EMAIL, guest.getEmail(), exists);
+        writeString(buffer, base + PHONE, guest.getPhone(), exists);
+        writeString(buffer, base + ID_NUMBER, guest.getIdentificationNumber(), exists);
+        writeString(buffer, base + JUSTIFICATION, guest.getStatusJustification(), exists);
+        if (!exists) {
+            buffer.putLong(base + ID, guestId);
+            size++;
+            if (guestId > maxId) {
+                maxId = guestId;
+            }
+        }
+    }
+
+    /**
+     * Point a record field at a string, appending it to the arena unless the field already holds it.
+     * @param mayHold Whether the field can already hold the value (false forces an append)
+     */
+    private void writeString(ByteBuffer buffer, int position, String value, boolean mayHold) {
+        if (mayHold && Objects.equals(decode(buffer.getLong(position)), value)) {
+            return;
+        }
+        buffer.putLong(position, value != null ? append(value) : NULL_REF);
+    }
+
+    private long append(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_STRING_BYTES) {
+            throw new IllegalArgumentException("Guest field longer than " + MAX_STRING_BYTES + " bytes");
+        }
+        int segment = arena.length - 1;
+        if (segment < 0 || arena[segment].remaining() < bytes.length) {
+            int capacity = segment < 0 ? FIRST_ARENA_SEGMENT_SIZE
+                    : Math.min(arena[segment].capacity() * 2, MAX_ARENA_SEGMENT_SIZE);
+            while (capacity < bytes.length) {
+                capacity *= 2;
+            }
+            ByteBuffer[] grown = Arrays.copyOf(arena, arena.length + 1);
+            grown[arena.length] = ByteBuffer.allocateDirect(capacity);
+            arena = grown;
+            segment++;
+        }
+        ByteBuffer buffer = arena[segment];
+        int offset = buffer.position();
+        buffer.put(bytes);
+        return (long) segment << 48 | (long) offset << 22 | bytes.length;
+    }
+
+    private String decode(long ref) {
+        if (ref == NULL_REF) {
+            return null;
+        }
+        int segment = (int) (ref >>> 48);
+        int offset = (int) (ref >>> 22) & (MAX_ARENA_SEGMENT_SIZE - 1);
+        int length = (int) ref & MAX_STRING_BYTES;
+        byte[] bytes = new byte[length];
+        arena[segment].get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int statusCode(String status) {
+        if (status == null) {
+            return 0;
+        }
+        int index = statuses.indexOf(status);
+        if (index < 0) {
+            statuses.add(status);
+            index = statuses.size() - 1;
+        }
+        return index + 1;
+    }
+
+    private String statusName(int code) {
+        return code > 0 && code <= statuses.size() ? statuses.get(code - 1) : null;
+    }
+}
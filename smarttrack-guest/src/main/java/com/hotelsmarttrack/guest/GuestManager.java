@@ -1,6 +1,9 @@
 package com.hotelsmarttrack.guest;
 
+import com.hotelsmarttrack.base.entity.DuplicateCandidate;
 import com.hotelsmarttrack.base.entity.Guest;
+import com.hotelsmarttrack.base.entity.TimelineEvent;
+import com.hotelsmarttrack.base.entity.TimelinePage;
 import com.hotelsmarttrack.base.service.GuestService;
 import org.springframework.stereotype.Service;
 
@@ -8,7 +11,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.stream.Collectors;
+import java.util.function.ObjLongConsumer;
 
 /**
  * GuestManager - Implementation of GuestService.
@@ -18,31 +21,64 @@ import java.util.stream.Collectors;
 @Service
 public class GuestManager implements GuestService {
     
-    // In-memory mock database (replace with JPA Repository in production)
-    private final List<Guest> guestDatabase = new ArrayList<>();
+    // Off-heap guest records (replace with JPA Repository in production).
+    // Lookups return fresh Guest copies, so every change is written back with put().
+    private final GuestDirectory guestDatabase = new GuestDirectory();
     private final AtomicLong idGenerator = new AtomicLong(1);
     
+    // Guest ID -> reservation, stay, charge and invoice events, fed by the owning components
+    private final GuestTimeline timeline = new GuestTimeline();
+    
+    // Blocking keys (email, phone, phonetic name, ID number) -> guest IDs, for duplicate checks
+    private final GuestDeduplicator deduplicator = new GuestDeduplicator();
+    
+    // Identifiers of blacklisted guests, screened on every booking and check-in
+    private final BlacklistScreen blacklist = new BlacklistScreen();
+    
     @Override
     public Guest createGuest(String name, String email, String phone, String identificationNumber) {
         Guest guest = new Guest();
-        guest.setGuestId(idGenerator.getAndIncrement());
         guest.setName(name);
         guest.setEmail(email);
         guest.setPhone(phone);
         guest.setIdentificationNumber(identificationNumber);
         guest.setStatus("Active");
         
-        guestDatabase.add(guest);
+        // Repeat guests get their existing profile back instead of a duplicate
+        List<DuplicateCandidate> candidates = deduplicator.candidates(guest, guestDatabase::get);
+        if (!candidates.isEmpty()) {
+            DuplicateCandidate best = candidates.get(0);
+            if (best.getScore() >= GuestDeduplicator.SAME_GUEST_SCORE && best.getMatchedOn().contains("name")) {
+                System.out.println("[GuestManager] Matched existing guest " + best.getMatchGuestId() +
+                        " on " + best.getMatchedOn() + ": " + name);
+                return guestDatabase.get(best.getMatchGuestId());
+            }
+        }
+        
+        guest.setGuestId(idGenerator.getAndIncrement());
+        guestDatabase.put(guest);
+        deduplicator.index(guest);
         System.out.println("[GuestManager] Created guest: " + name);
+        if (!candidates.isEmpty()) {
+            System.out.println("[GuestManager] Guest " + guest.getGuestId() + " may duplicate guest " +
+                    candidates.get(0).getMatchGuestId() + " (" + candidates.get(0).getMatchedOn() + ")");
+        }
         return guest;
     }
     
     @Override
-    public Guest updateGuest(Guest guest) {
-        Optional<Guest> existing = getGuestById(guest.getGuestId());
-        if (existing.isPresent()) {
-            guestDatabase.remove(existing.get());
-            guestDatabase.add(guest);
+    public synchronized Guest updateGuest(Guest guest) {
+        Guest previous = guestDatabase.get(guest.getGuestId());
+        if (previous != null) {
+            guestDatabase.put(guest);
+            // Merged profiles are not filed for duplicate checks
+            deduplicator.reindex("Merged".equals(previous.getStatus()) ? null : previous,
+                    "Merged".equals(guest.getStatus()) ? null : guest);
+            // Drop the old identifiers; a guest still blacklisted is listed again under the new ones
+            blacklist.remove(guest.getGuestId());
+            if ("Blacklisted".equals(guest.getStatus())) {
+                blacklist.add(guest.getGuestId(), guest);
+            }
             System.out.println("[GuestManager] Updated guest: " + guest.getName());
         }
         return guest;
@@ -50,53 +86,174 @@ public class GuestManager implements GuestService {
     
     @Override
     public Optional<Guest> getGuestById(Long guestId) {
-        return guestDatabase.stream()
-                .filter(g -> g.getGuestId().equals(guestId))
-                .findFirst();
+        return Optional.ofNullable(guestDatabase.get(guestId));
     }
     
     @Override
     public List<Guest> searchGuests(String searchTerm) {
         String term = searchTerm.toLowerCase();
-        return guestDatabase.stream()
-                .filter(g -> 
-                    g.getName().toLowerCase().contains(term) ||
+        List<Guest> matches = new ArrayList<>();
+        guestDatabase.forEach(g -> {
+            if (g.getName().toLowerCase().contains(term) ||
                     g.getEmail().toLowerCase().contains(term) ||
                     g.getPhone().contains(term) ||
-                    (g.getIdentificationNumber() != null && g.getIdentificationNumber().contains(term))
-                )
-                .collect(Collectors.toList());
+                    (g.getIdentificationNumber() != null && g.getIdentificationNumber().contains(term))) {
+                matches.add(g);
+            }
+        });
+        return matches;
     }
     
     @Override
     public List<Guest> getAllGuests() {
-        return new ArrayList<>(guestDatabase);
+        List<Guest> guests = new ArrayList<>(guestDatabase.size());
+        guestDatabase.forEach(guests::add);
+        return guests;
     }
     
     @Override
-    public void deactivateGuest(Long guestId, String justification) {
+    public void forEachGuestStatus(ObjLongConsumer<String> action) {
+        guestDatabase.forEachStatus(action);
+    }
+    
+    @Override
+    public List<Guest> importGuests(List<Guest> guests) {
+        for (Guest guest : guests) {
+            guest.setGuestId(idGenerator.getAndIncrement());
+            if (guest.getStatus() == null) {
+                guest.setStatus("Active");
+            }
+        }
+        guestDatabase.putAll(guests);
+        deduplicator.indexAll(guests);
+        for (Guest guest : guests) {
+            if ("Blacklisted".equals(guest.getStatus())) {
+                blacklist.add(guest.getGuestId(), guest);
+            }
+        }
+        System.out.println("[GuestManager] Imported " + guests.size() + " guests (" +
+                guestDatabase.offHeapBytes() / (1024 * 1024) + " MB off-heap for " + guestDatabase.size() + " profiles)");
+        return guests;
+    }
+    
+    @Override
+    public List<DuplicateCandidate> findDuplicates(Long guestId) {
+        return getGuestById(guestId)
+                .map(guest -> deduplicator.candidates(guest, guestDatabase::get))
+                .orElse(List.of());
+    }
+    
+    @Override
+    public List<DuplicateCandidate> findAllDuplicates() {
+        long start = System.currentTimeMillis();
+        List<DuplicateCandidate> duplicates = deduplicator.scanAll(guestDatabase::get);
+        System.out.println("[GuestManager] Duplicate scan found " + duplicates.size() + " candidate pairs in " +
+                (System.currentTimeMillis() - start) + " ms");
+        return duplicates;
+    }
+    
+    @Override
+    public Guest mergeGuests(Long survivorId, Long duplicateId) {
+        Guest survivor;
+        Guest duplicate;
+        synchronized (this) {
+            survivor = guestDatabase.get(survivorId);
+            duplicate = guestDatabase.get(duplicateId);
+            if (survivor == null || duplicate == null || survivorId.equals(duplicateId)
+                    || "Merged".equals(survivor.getStatus()) || "Merged".equals(duplicate.getStatus())) {
+                return null;
+            }
+            Guest previous = guestDatabase.get(survivorId);
+            if (isBlank(survivor.getEmail())) {
+                survivor.setEmail(duplicate.getEmail());
+            }
+            if (isBlank(survivor.getPhone())) {
+                survivor.setPhone(duplicate.getPhone());
+            }
+            if (isBlank(survivor.getIdentificationNumber())) {
+                survivor.setIdentificationNumber(duplicate.getIdentificationNumber());
+            }
+            if ("Blacklisted".equals(duplicate.getStatus()) && !"Blacklisted".equals(survivor.getStatus())) {
+                survivor.setStatus("Blacklisted");
+                survivor.setStatusJustification(duplicate.getStatusJustification());
+            }
+            duplicate.setStatus("Merged");
+            duplicate.setStatusJustification("Merged into guest " + survivorId);
+            guestDatabase.putAll(List.of(survivor, duplicate));
+            deduplicator.remove(duplicate);
+            deduplicator.reindex(previous, survivor);
+            if ("Blacklisted".equals(survivor.getStatus())) {
+                // The duplicate's identifiers (and old guest ID) stay blacklisted, now under the survivor
+                blacklist.remove(duplicateId);
+                blacklist.add(survivorId, survivor);
+                blacklist.add(survivorId, duplicate);
+            }
+        }
+        int events = timeline.moveAll(duplicateId, survivorId);
+        System.out.println("[GuestManager] Merged guest " + duplicateId + " into " + survivorId +
+                " (" + events + " timeline events)");
+        return survivor;
+    }
+    
+    @Override
+    public synchronized void deactivateGuest(Long guestId, String justification) {
         getGuestById(guestId).ifPresent(guest -> {
             guest.setStatus("Inactive");
             guest.setStatusJustification(justification);
+            guestDatabase.put(guest);
+            blacklist.remove(guestId);
             System.out.println("[GuestManager] Deactivated guest: " + guest.getName());
         });
     }
     
     @Override
-    public void blacklistGuest(Long guestId, String justification) {
+    public synchronized void blacklistGuest(Long guestId, String justification) {
         getGuestById(guestId).ifPresent(guest -> {
             guest.setStatus("Blacklisted");
             guest.setStatusJustification(justification);
+            guestDatabase.put(guest);
+            blacklist.add(guestId, guest);
             System.out.println("[GuestManager] Blacklisted guest: " + guest.getName());
         });
     }
     
     @Override
-    public void reactivateGuest(Long guestId) {
+    public boolean isBlacklisted(Guest guest) {
+        if (guest == null) {
+            return false;
+        }
+        // The copy's own status may be stale; the screen follows every status change and matches by guest ID
+        Long listed = blacklist.match(guest);
+        if (listed != null) {
+            System.out.println("[GuestManager] Guest " + guest.getGuestId() + " matches blacklisted guest " + listed);
+        }
+        return listed != null;
+    }
+    
+    @Override
+    public synchronized void reactivateGuest(Long guestId) {
         getGuestById(guestId).ifPresent(guest -> {
             guest.setStatus("Active");
             guest.setStatusJustification(null);
+            guestDatabase.put(guest);
+            blacklist.remove(guestId);
             System.out.println("[GuestManager] Reactivated guest: " + guest.getName());
         });
     }
+    
+    @Override
+    public void recordTimelineEvent(TimelineEvent event) {
+        if (event.getGuestId() != null) {
+            timeline.record(event);
+        }
+    }
+    
+    @Override
+    public TimelinePage getGuestTimeline(Long guestId, String cursor, int limit) {
+        return timeline.page(guestId, cursor, limit);
+    }
+    
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
 }
@@ -0,0 +1,90 @@
+package com.hotelsmarttrack.guest;
+
+import com.hotelsmarttrack.base.entity.TimelineEvent;
+import com.hotelsmarttrack.base.entity.TimelinePage;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * GuestTimeline - per-guest event index, newest first.
+ * Events are appended as they happen, and pages are read with a keyset cursor
+ * (event time plus sequence) that seeks straight into the guest's sorted set.
+ * Private to the smarttrack-guest component.
+ */
+final class GuestTimeline {
+
+    private static final Comparator<TimelineEvent> NEWEST_FIRST = Comparator
+            .comparing(TimelineEvent::getEventTime)
+            .thenComparingLong(TimelineEvent::getSequence)
+            .reversed();
+
+    private final Map<Long, NavigableSet<TimelineEvent>> byGuest = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong(1);
+
+    void record(TimelineEvent event) {
+        event.setSequence(sequence.getAndIncrement());
+        if (event.getEventTime() == null) {
+            event.setEventTime(LocalDateTime.now());
+        }
+        byGuest.computeIfAbsent(event.getGuestId(), id -> new ConcurrentSkipListSet<>(NEWEST_FIRST)).add(event);
+    }
+
+    /**
+     * Move every event of one guest onto another's timeline, e.g. when merging profiles.
+     * @return Events moved
+     */
+    int moveAll(Long fromGuestId, Long toGuestId) {
+        NavigableSet<TimelineEvent> events = byGuest.remove(fromGuestId);
+        if (events == null) {
+            return 0;
+        }
+        NavigableSet<TimelineEvent> target =
+                byGuest.computeIfAbsent(toGuestId, id -> new ConcurrentSkipListSet<>(NEWEST_FIRST));
+        for (TimelineEvent event : events) {
+            event.setGuestId(toGuestId);
+            target.add(event);
+        }
+        return events.size();
+    }
+
+    TimelinePage page(Long guestId, String cursor, int limit) {
+        NavigableSet<TimelineEvent> events = byGuest.get(guestId);
+        if (events == null || limit <= 0) {
+            return new TimelinePage(guestId, List.of(), null);
+        }
+        NavigableSet<TimelineEvent> older = cursor == null ? events : events.tailSet(parse(cursor), false);
+        List<TimelineEvent> page = new ArrayList<>(Math.min(limit, 64));
+        Iterator<TimelineEvent> it = older.iterator();
+        while (it.hasNext() && page.size() < limit) {
+            page.add(it.next());
+        }
+        String next = it.hasNext() ? format(page.get(page.size() - 1)) : null;
+        return new TimelinePage(guestId, page, next);
+    }
+
+    private static String format(TimelineEvent event) {
+        return event.getEventTime() + "_" + event.getSequence();
+    }
+
+    private static TimelineEvent parse(String cursor) {
+        int split = cursor.lastIndexOf('_');
+        try {
+            TimelineEvent probe = new TimelineEvent();
+            probe.setEventTime(LocalDateTime.parse(cursor.substring(0, split)));
+            probe.setSequence(Long.parseLong(cursor.substring(split + 1)));
+            return probe;
+        } catch (DateTimeParseException | NumberFormatException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid timeline cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.hotelsmarttrack.guest;
+
+import com.hotelsmarttrack.base.entity.Guest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Blacklist screening by guest ID and normalized identifiers, removal and filter growth.
+ */
+class BlacklistScreenTest {
+
+    private final BlacklistScreen screen = new BlacklistScreen();
+
+    @Test
+    void matchesTheListedGuestById() {
+        screen.add(7L, guest(7L, "banned@example.com", null, null));
+
+        assertEquals(7L, screen.match(guest(7L, null, null, null)));
+    }
+
+    @Test
+    void matchesOtherProfilesThroughNormalizedIdentifiers() {
+        screen.add(7L, guest(7L, "Banned@Example.com", "+1 (555) 123-4567", "ab 123-456"));
+
+        assertEquals(7L, screen.match(guest(20L, "banned+hotel@example.com", null, null)));
+        assertEquals(7L, screen.match(guest(21L, null, "555.123.4567", null)));
+        assertEquals(7L, screen.match(guest(22L, null, null, "AB123456")));
+    }
+
+    @Test
+    void unrelatedGuestsAreNotMatched() {
+        screen.add(7L, guest(7L, "banned@example.com", "5551234567", "AB123456"));
+
+        assertNull(screen.match(guest(8L, "welcome@example.com", "5559876543", "ZZ999999")));
+        assertNull(screen.match(guest(null, null, null, null)));
+    }
+
+    @Test
+    void removeDropsOnlyThatGuestsIdentifiers() {
+        screen.add(7L, guest(7L, "first@example.com", null, null));
+        screen.add(9L, guest(9L, "second@example.com", null, null));
+        // A profile merged into guest 9 shares guest 7's email; the key now belongs to 9
+        screen.add(9L, guest(30L, "first@example.com", null, null));
+
+        screen.remove(7L);
+
+        assertNull(screen.match(guest(7L, null, null, null)));
+        assertEquals(9L, screen.match(guest(40L, "first@example.com", null, null)));
+        assertEquals(9L, screen.match(guest(41L, "second@example.com", null, null)));
+        assertEquals(9L, screen.match(guest(30L, null, null, null)));
+    }
+
+    @Test
+    void keepsMatchingAfterTheFilterGrows() {
+        int listed = 80_000;
+        for (long id = 1; id <= listed; id++) {
+            screen.add(id, guest(id, "guest" + id + "@example.com", String.format("555%07d", id), "ID" + id));
+        }
+
+        for (long id = 1; id <= listed; id += 997) {
+            assertEquals(id, screen.match(guest(listed + id, "guest" + id + "@example.com", null, null)));
+            assertEquals(id, screen.match(guest(listed + id, null, String.format("555%07d", id), null)));
+        }
+        assertNull(screen.match(guest(listed * 2L, "nobody@example.com", "5550000000", "NONE")));
+    }
+
+    private static Guest guest(Long guestId, String email, String phone, String idNumber) {
+        return new Guest(guestId, "Guest " + guestId, email, phone, idNumber, "Active", null);
+    }
+}
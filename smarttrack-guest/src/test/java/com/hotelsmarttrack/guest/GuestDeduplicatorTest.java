@@ -0,0 +1,112 @@
+package com.hotelsmarttrack.guest;
+
+import com.hotelsmarttrack.base.entity.DuplicateCandidate;
+import com.hotelsmarttrack.base.entity.Guest;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Duplicate detection through the off-heap blocking index: scoring, reindexing, oversized blocks and growth.
+ */
+class GuestDeduplicatorTest {
+
+    private final GuestDeduplicator deduplicator = new GuestDeduplicator();
+    private final Map<Long, Guest> guests = new HashMap<>();
+
+    @Test
+    void findsProfilesSharingAnIdentifierBestFirst() {
+        file(new Guest(1L, "John Smith", "john@example.com", "+1 555 123 4567", null, "Active", null));
+        file(new Guest(2L, "Jane Doe", "jane@example.com", "555-123-4567", "P123", "Active", null));
+
+        List<DuplicateCandidate> found = deduplicator.candidates(
+                new Guest(null, "Jon Smyth", "John+Spa@Example.com", "5551234567", null, "Active", null),
+                guests::get);
+
+        assertEquals(1L, found.get(0).getMatchGuestId());
+        assertEquals("email,phone,name", found.get(0).getMatchedOn());
+        assertTrue(found.get(0).getScore() >= GuestDeduplicator.SAME_GUEST_SCORE);
+        // Sharing only a phone scores below the duplicate threshold
+        assertEquals(1, found.size());
+    }
+
+    @Test
+    void reindexMovesAProfileToItsNewKeys() {
+        Guest before = new Guest(1L, "Ann Lee", "ann@old.example", null, "ID-1001", "Active", null);
+        file(before);
+        Guest after = new Guest(1L, "Ann Lee", "ann@new.example", null, "ID-1001", "Active", null);
+        guests.put(1L, after);
+        deduplicator.reindex(before, after);
+
+        assertTrue(deduplicator.candidates(probe("ann@old.example", null), guests::get).isEmpty());
+        assertEquals(1, deduplicator.candidates(probe("ann@new.example", "ID1001"), guests::get).size());
+
+        deduplicator.remove(after);
+        assertTrue(deduplicator.candidates(probe("ann@new.example", "ID1001"), guests::get).isEmpty());
+    }
+
+    @Test
+    void ignoresBlocksSharedByTooManyGuests() {
+        // A placeholder ID number filed for hundreds of guests says nothing about any of them
+        for (long id = 1; id <= 600; id++) {
+            file(new Guest(id, "Guest " + id, "guest" + id + "@example.com", null, "000000", "Active", null));
+        }
+        file(new Guest(601L, "Real Match", "real@example.com", null, "R601", "Active", null));
+
+        assertTrue(deduplicator.candidates(probe("someone@example.com", "000000"), guests::get).isEmpty());
+        assertEquals(601L, deduplicator.candidates(probe("real@example.com", "R601"), guests::get)
+                .get(0).getMatchGuestId());
+    }
+
+    @Test
+    void scanAllReportsEachPairOnce() {
+        file(new Guest(1L, "Ann Lee", "ann@example.com", "5550001111", "AB7001", "Active", null));
+        file(new Guest(2L, "Anne Lee", "ann@example.com", "5550001111", "AB7001", "Active", null));
+        file(new Guest(3L, "Bob Ray", "bob@example.com", null, null, "Active", null));
+
+        List<DuplicateCandidate> pairs = deduplicator.scanAll(guests::get);
+
+        assertEquals(1, pairs.size());
+        assertEquals(2L, pairs.get(0).getGuestId());
+        assertEquals(1L, pairs.get(0).getMatchGuestId());
+    }
+
+    @Test
+    void keepsEveryEntryThroughGrowthAndRemovals() {
+        // Four keys per guest pushes the table through several rehashes
+        int count = 60_000;
+        List<Guest> batch = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            Guest guest = new Guest(id, "Guest Number", "g" + id + "@example.com",
+                    String.format("555%07d", id), "N-" + (100_000 + id), "Active", null);
+            guests.put(id, guest);
+            batch.add(guest);
+        }
+        deduplicator.indexAll(batch);
+        for (long id = 2; id <= count; id += 2) {
+            deduplicator.remove(guests.remove(id));
+        }
+
+        for (long id = 1; id <= count; id += 1_001) {
+            Guest probe = probe("g" + id + "@example.com", "N" + (100_000 + id));
+            List<DuplicateCandidate> found = deduplicator.candidates(probe, guests::get);
+            boolean kept = id % 2 == 1;
+            assertEquals(kept ? 1 : 0, found.size(), "guest " + id);
+        }
+    }
+
+    private void file(Guest guest) {
+        guests.put(guest.getGuestId(), guest);
+        deduplicator.index(guest);
+    }
+
+    private static Guest probe(String email, String idNumber) {
+        return new Guest(null, "Probe", email, null, idNumber, "Active", null);
+    }
+}
@@ -0,0 +1,147 @@
+package com.hotelsmarttrack.guest;
+
+import com.hotelsmarttrack.base.entity.Guest;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Off-heap guest records: round trips, updates, arena growth, sparse IDs, status scans and optimistic reads.
+ */
+class GuestDirectoryTest {
+
+    private final GuestDirectory directory = new GuestDirectory();
+
+    @Test
+    void materializesEveryFieldIncludingNullsAndNonAscii() {
+        directory.put(new Guest(1L, "Zoë Ångström", "zoe@example.com", null, "X1",
+                "Blacklisted", "Chargeback"));
+
+        Guest guest = directory.get(1L);
+
+        assertEquals("Zoë Ångström", guest.getName());
+        assertEquals("zoe@example.com", guest.getEmail());
+        assertNull(guest.getPhone());
+        assertEquals("X1", guest.getIdentificationNumber());
+        assertEquals("Blacklisted", guest.getStatus());
+        assertEquals("Chargeback", guest.getStatusJustification());
+    }
+
+    @Test
+    void eachLookupReturnsANewCopy() {
+        directory.put(new Guest(1L, "Ann Lee", "ann@example.com", "555", null, "Active", null));
+
+        Guest first = directory.get(1L);
+        first.setName("Changed Locally");
+
+        assertNotSame(first, directory.get(1L));
+        assertEquals("Ann Lee", directory.get(1L).getName());
+    }
+
+    @Test
+    void updatesOverwriteInPlaceWithoutGrowingTheDirectory() {
+        directory.put(new Guest(1L, "Ann Lee", "ann@example.com", "555", null, "Active", null));
+        directory.put(new Guest(1L, "Ann Lee", "ann.lee@example.com", "555", null, "Inactive", null));
+
+        assertEquals(1, directory.size());
+        assertEquals("ann.lee@example.com", directory.get(1L).getEmail());
+        assertEquals("Inactive", directory.get(1L).getStatus());
+    }
+
+    @Test
+    void renamesAreStoredEvenWhenTheNameHashCollides() {
+        // "Aa" and "BB" share a String hash code
+        directory.put(new Guest(1L, "Aa", null, null, null, "Active", null));
+        directory.put(new Guest(1L, "BB", null, null, null, "Active", null));
+        directory.put(new Guest(2L, "Ann Lee", null, null, null, "Active", null));
+        directory.put(new Guest(2L, null, null, null, null, "Active", null));
+
+        assertEquals("BB", directory.get(1L).getName());
+        assertNull(directory.get(2L).getName());
+    }
+
+    @Test
+    void theArenaStartsSmallAndGrowsWithTheLoad() {
+        directory.put(new Guest(1L, "Ann Lee", "ann@example.com", null, null, "Active", null));
+        long small = directory.offHeapBytes();
+        String note = "x".repeat(200_000);
+        for (long id = 2; id <= 40; id++) {
+            directory.put(new Guest(id, "Guest " + id, null, null, null, "Inactive", note + id));
+        }
+
+        assertTrue(small < 4 << 20, "reserved " + small + " bytes for one guest");
+        assertTrue(directory.offHeapBytes() > small);
+        assertEquals("Ann Lee", directory.get(1L).getName());
+        assertEquals(note + 2, directory.get(2L).getStatusJustification());
+        assertEquals(note + 40, directory.get(40L).getStatusJustification());
+    }
+
+    @Test
+    void unknownAndInvalidIdsAreAbsent() {
+        directory.put(new Guest(2L, "Ann Lee", null, null, null, "Active", null));
+
+        assertNull(directory.get(1L));
+        assertNull(directory.get(3L));
+        assertNull(directory.get(1L << 20));
+        assertNull(directory.get(0L));
+        assertNull(directory.get(null));
+        assertFalse(directory.contains(-1L));
+        assertTrue(directory.contains(2L));
+        assertThrows(IllegalArgumentException.class,
+                () -> directory.put(new Guest(0L, "Nobody", null, null, null, "Active", null)));
+    }
+
+    @Test
+    void scansSparseIdsAcrossSegmentsInOrder() {
+        // IDs 70000 and 140000 fall in the second and third record segments
+        directory.putAll(List.of(
+                new Guest(140_000L, "C", null, null, null, "VIP", null),
+                new Guest(3L, "A", null, null, null, "Active", null),
+                new Guest(70_000L, "B", null, null, null, null, null)));
+
+        List<Long> ids = new ArrayList<>();
+        directory.forEach(g -> ids.add(g.getGuestId()));
+        List<String> statuses = new ArrayList<>();
+        directory.forEachStatus((status, id) -> statuses.add(id + ":" + status));
+
+        assertEquals(List.of(3L, 70_000L, 140_000L), ids);
+        assertEquals(List.of("3:Active", "70000:null", "140000:VIP"), statuses);
+        assertEquals(3, directory.size());
+    }
+
+    @Test
+    void readersNeverSeeAHalfWrittenRecord() throws InterruptedException {
+        Guest even = new Guest(1L, "Even Guest", "even@example.com", "2222222", "E2", "Active", null);
+        Guest odd = new Guest(1L, "Odd Guest", "odd@example.com", "1111111", "O1", "Inactive", "Moved away");
+        directory.put(even);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicReference<String> torn = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            while (writing.get() && torn.get() == null) {
+                Guest seen = directory.get(1L);
+                String expectedEmail = seen.getName().startsWith("Even") ? "even@example.com" : "odd@example.com";
+                if (!expectedEmail.equals(seen.getEmail())) {
+                    torn.set(seen.getName() + " / " + seen.getEmail());
+                }
+            }
+        });
+        reader.start();
+        for (int i = 0; i < 20_000; i++) {
+            directory.put(i % 2 == 0 ? odd : even);
+        }
+        writing.set(false);
+        reader.join();
+
+        assertNull(torn.get());
+    }
+}
@@ -0,0 +1,83 @@
+package com.hotelsmarttrack.guest;
+
+import com.hotelsmarttrack.base.entity.Guest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Repeat-guest matching on creation, blacklist screening of stale copies and upkeep through updates.
+ */
+class GuestManagerTest {
+
+    private final GuestManager manager = new GuestManager();
+
+    @Test
+    void repeatGuestsGetTheirExistingProfileBack() {
+        Guest first = manager.createGuest("Ann Lee", "ann@example.com", null, null);
+        Guest passport = manager.createGuest("Jon Smith", null, null, "AB7001");
+
+        assertEquals(first.getGuestId(), manager.createGuest("Ann Lee", "Ann@Example.com", null, null).getGuestId());
+        assertEquals(passport.getGuestId(),
+                manager.createGuest("John Smyth", null, null, "AB 7001").getGuestId());
+    }
+
+    @Test
+    void aSharedNameAndPhoneCreatesANewProfile() {
+        Guest first = manager.createGuest("Ann Lee", null, "5550001111", null);
+
+        Guest second = manager.createGuest("Ann Lee", null, "555-000-1111", null);
+
+        assertNotEquals(first.getGuestId(), second.getGuestId());
+        assertEquals(first.getGuestId(), manager.findDuplicates(second.getGuestId()).get(0).getMatchGuestId());
+    }
+
+    @Test
+    void updatingABlacklistedGuestToActiveLiftsTheListing() {
+        Guest guest = manager.createGuest("Ann Lee", "ann@example.com", "5550001111", "AB7001");
+        manager.blacklistGuest(guest.getGuestId(), "Chargeback");
+
+        Guest update = manager.getGuestById(guest.getGuestId()).orElseThrow();
+        update.setStatus("Active");
+        update.setStatusJustification(null);
+        manager.updateGuest(update);
+
+        assertFalse(manager.isBlacklisted(manager.getGuestById(guest.getGuestId()).orElseThrow()));
+        assertFalse(manager.isBlacklisted(walkIn("ann@example.com", null)));
+    }
+
+    @Test
+    void screeningUsesTheCurrentStatusRatherThanTheCopy() {
+        Guest guest = manager.createGuest("Ann Lee", "ann@example.com", "5550001111", "AB7001");
+        Guest bookedCopy = manager.getGuestById(guest.getGuestId()).orElseThrow();
+        manager.blacklistGuest(guest.getGuestId(), "Chargeback");
+
+        assertTrue(manager.isBlacklisted(bookedCopy));
+
+        Guest blacklistedCopy = manager.getGuestById(guest.getGuestId()).orElseThrow();
+        manager.reactivateGuest(guest.getGuestId());
+
+        assertFalse(manager.isBlacklisted(blacklistedCopy));
+    }
+
+    @Test
+    void editingABlacklistedGuestRelistsOnlyTheNewIdentifiers() {
+        Guest guest = manager.createGuest("Ann Lee", "ann@example.com", "5550001111", "AB7001");
+        manager.blacklistGuest(guest.getGuestId(), "Chargeback");
+
+        Guest update = manager.getGuestById(guest.getGuestId()).orElseThrow();
+        update.setEmail("ann.lee@example.com");
+        manager.updateGuest(update);
+
+        assertFalse(manager.isBlacklisted(walkIn("ann@example.com", null)));
+        assertTrue(manager.isBlacklisted(walkIn("ann.lee@example.com", null)));
+        assertTrue(manager.isBlacklisted(walkIn(null, "555-000-1111")));
+    }
+
+    private static Guest walkIn(String email, String phone) {
+        return new Guest(999L, "Walk In", email, phone, null, "Active", null);
+    }
+}
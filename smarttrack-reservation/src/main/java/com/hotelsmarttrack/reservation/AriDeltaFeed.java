@@ -0,0 +1,333 @@
+package com.hotelsmarttrack.reservation;
+
+import com.hotelsmarttrack.base.entity.RoomType;
+import com.hotelsmarttrack.base.service.RoomService;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * AriDeltaFeed - availability, rate and restriction (ARI) deltas for distribution channels.
+ * Changes are appended to one shared log of (room type, night range, kinds) entries and each
+ * channel keeps a cursor into it, so a sync reads only what changed since that channel's last one.
+ * Changed cells are coalesced per room type and night, current values are read once per cell,
+ * and consecutive nights with identical values collapse into one range of the JSON message.
+ * A channel's first sync, or a change to a room type's sellable rooms (its capacity version),
+ * sends the whole horizon. As days pass, the nights newly inside the rolling horizon are sent in full.
+ * The log is trimmed up to the slowest channel's cursor.
+ * Private to the smarttrack-reservation component.
+ */
+final class AriDeltaFeed {
+
+    static final int AVAILABILITY = 1;
+    static final int RATE = 2;
+    static final int RESTRICTIONS = 4;
+    private static final int ALL = AVAILABILITY | RATE | RESTRICTIONS;
+    private static final int HORIZON_DAYS = 365;
+
+    private record Change(Long roomTypeId, long from, long to, int kinds) {
+    }
+
+    /**
+     * Delta message for one channel; the cursor only moves once it is committed.
+     */
+    record Delta(String channelCode, String message, int cells, long upTo, Map<Long, Long> capacityVersions,
+                 long horizonEnd) {
+    }
+
+    private static final class Channel {
+        private final String code;
+        private final URI endpoint;
+        private volatile long cursor;
+        private boolean synced;
+        private Map<Long, Long> capacityVersions = new HashMap<>();
+        // Epoch day after the last night the channel has been sent
+        private long horizonEnd;
+
+        private Channel(String code, URI endpoint, long cursor) {
+            this.code = code;
+            this.endpoint = endpoint;
+            this.cursor = cursor;
+        }
+    }
+
+    /**
+     * Changed kinds per night of the horizon for one room type, with the touched span.
+     */
+    private static final class Marks {
+        private final int[] kinds = new int[HORIZON_DAYS];
+        private int lo = HORIZON_DAYS;
+        private int hi = -1;
+
+        private void mark(int from, int to, int kind) {
+            for (int i = from; i < to; i++) {
+                kinds[i] |= kind;
+            }
+            lo = Math.min(lo, from);
+            hi = Math.max(hi, to - 1);
+        }
+    }
+
+    private record Cell(int kinds, int available, BigDecimal rate, boolean closedToArrival,
+                        boolean closedToDeparture, int minStay, int maxStay) {
+    }
+
+    private final InventoryLedger inventoryLedger;
+    private final RestrictionCalendar restrictions;
+    private final RoomService roomService;
+    private final NavigableMap<Long, Change> log = new ConcurrentSkipListMap<>();
+    private final Map<String, Channel> channels = new ConcurrentHashMap<>();
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private long sequence;
+
+    AriDeltaFeed(InventoryLedger inventoryLedger, RestrictionCalendar restrictions, RoomService roomService) {
+        this.inventoryLedger = inventoryLedger;
+        this.restrictions = restrictions;
+        this.roomService = roomService;
+    }
+
+    /**
+     * Log a change to nights [from, to) of a room type; null dates mean every night.
+     */
+    void record(Long roomTypeId, LocalDate from, LocalDate to, int kinds) {
+        if (channels.isEmpty()) {
+            return;
+        }
+        Change change = new Change(roomTypeId, from != null ? from.toEpochDay() : Long.MIN_VALUE,
+                to != null ? to.toEpochDay() : Long.MAX_VALUE, kinds);
+        synchronized (log) {
+            log.put(++sequence, change);
+        }
+    }
+
+    /**
+     * Add a channel; its first delta is a full snapshot of the horizon.
+     * @param endpoint Push URL, or null for a pull-only channel
+     */
+    void register(String channelCode, URI endpoint) {
+        synchronized (log) {
+            channels.put(channelCode, new Channel(channelCode, endpoint, sequence));
+        }
+    }
+
+    void unregister(String channelCode) {
+        channels.remove(channelCode);
+        trim();
+    }
+
+    /**
+     * Build the delta for a channel since its cursor, without moving the cursor.
+     * @param capacities Sellable rooms per room type ID
+     * @return The delta, or null if the channel is unknown
+     */
+    Delta build(String channelCode, LocalDate today, Map<Long, Integer> capacities) {
+        Channel channel = channels.get(channelCode);
+        if (channel == null) {
+            return null;
+        }
+        long cursor;
+        boolean synced;
+        Map<Long, Long> seenVersions;
+        long sentEnd;
+        synchronized (channel) {
+            cursor = channel.cursor;
+            synced = channel.synced;
+            seenVersions = channel.capacityVersions;
+            sentEnd = channel.horizonEnd;
+        }
+        long upTo;
+        synchronized (log) {
+            upTo = sequence;
+        }
+        long first = today.toEpochDay();
+        long end = first + HORIZON_DAYS;
+
+        Map<Long, Marks> cells = new TreeMap<>();
+        for (Change change : log.subMap(cursor, false, upTo, true).values()) {
+            long from = Math.max(change.from(), first);
+            long to = Math.min(change.to(), end);
+            if (from < to) {
+                cells.computeIfAbsent(change.roomTypeId(), id -> new Marks())
+                        .mark((int) (from - first), (int) (to - first), change.kinds());
+            }
+        }
+        // Nights that rolled into the horizon since the last sync have never been sent
+        int exposedFrom = (int) Math.min(HORIZON_DAYS, Math.max(0, sentEnd - first));
+        Map<Long, Long> capacityVersions = new HashMap<>();
+        for (RoomType roomType : roomService.getAllRoomTypes()) {
+            long version = roomService.getCapacityVersion(roomType.getRoomTypeId());
+            capacityVersions.put(roomType.getRoomTypeId(), version);
+            if (!synced || !Objects.equals(seenVersions.get(roomType.getRoomTypeId()), version)) {
+                cells.computeIfAbsent(roomType.getRoomTypeId(), id -> new Marks())
+                        .mark(0, HORIZON_DAYS, synced ? AVAILABILITY : ALL);
+            }
+            if (synced && exposedFrom < HORIZON_DAYS) {
+                cells.computeIfAbsent(roomType.getRoomTypeId(), id -> new Marks())
+                        .mark(exposedFrom, HORIZON_DAYS, ALL);
+            }
+        }
+
+        StringBuilder json = new StringBuilder(256);
+        json.append("{\"channel\":\"").append(escape(channel.code))
+                .append("\",\"fromSequence\":").append(cursor)
+                .append(",\"toSequence\":").append(upTo)
+                .append(",\"updates\":[");
+        int count = 0;
+        boolean firstUpdate = true;
+        for (Map.Entry<Long, Marks> entry : cells.entrySet()) {
+            Marks marks = entry.getValue();
+            if (marks.hi < marks.lo) {
+                continue;
+            }
+            firstUpdate = encode(json, entry.getKey(), marks, first, capacities.getOrDefault(entry.getKey(), 0),
+                    firstUpdate);
+            count += (int) Arrays.stream(marks.kinds, marks.lo, marks.hi + 1).filter(k -> k != 0).count();
+        }
+        json.append("]}");
+        return new Delta(channel.code, json.toString(), count, upTo, capacityVersions, end);
+    }
+
+    /**
+     * Move a channel's cursor past a delivered delta and trim the shared log.
+     */
+    void commit(Delta delta) {
+        Channel channel = channels.get(delta.channelCode());
+        if (channel == null) {
+            return;
+        }
+        synchronized (channel) {
+            channel.cursor = Math.max(channel.cursor, delta.upTo());
+            channel.capacityVersions = delta.capacityVersions();
+            channel.horizonEnd = Math.max(channel.horizonEnd, delta.horizonEnd());
+            channel.synced = true;
+        }
+        trim();
+    }
+
+    /**
+     * Push pending deltas to every channel with an endpoint; a failed push is retried next time.
+     * @return Channels that received a message
+     */
+    int push(LocalDate today, Map<Long, Integer> capacities) {
+        int pushed = 0;
+        for (Channel channel : channels.values()) {
+            if (channel.endpoint == null) {
+                continue;
+            }
+            Delta delta = build(channel.code, today, capacities);
+            if (delta == null) {
+                continue;
+            }
+            if (delta.cells() == 0) {
+                commit(delta);
+                continue;
+            }
+            try {
+                HttpRequest request = HttpRequest.newBuilder(channel.endpoint)
+                        .timeout(Duration.ofSeconds(10))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(delta.message()))
+                        .build();
+                HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() / 100 == 2) {
+                    commit(delta);
+                    pushed++;
+                } else {
+                    System.out.println("[AriDeltaFeed] Channel " + channel.code + " rejected delta: HTTP " +
+                            response.statusCode());
+                }
+            } catch (Exception e) {
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                System.out.println("[AriDeltaFeed] Push to channel " + channel.code + " failed: " + e.getMessage());
+            }
+        }
+        return pushed;
+    }
+
+    /**
+     * Append one room type's changed cells, collapsing consecutive nights with equal values.
+     * @return Whether the next update is still the first in the message
+     */
+    private boolean encode(StringBuilder json, Long roomTypeId, Marks marks, long first, int capacity,
+                           boolean firstUpdate) {
+        LocalDate from = LocalDate.ofEpochDay(first + marks.lo);
+        int[] booked = inventoryLedger.booked(roomTypeId, from, LocalDate.ofEpochDay(first + marks.hi + 1));
+        Cell run = null;
+        int runStart = 0;
+        for (int i = marks.lo; i <= marks.hi + 1; i++) {
+            Cell cell = null;
+            if (i <= marks.hi && marks.kinds[i] != 0) {
+                cell = cell(roomTypeId, marks.kinds[i], LocalDate.ofEpochDay(first + i),
+                        capacity - booked[i - marks.lo]);
+            }
+            if (run != null && !run.equals(cell)) {
+                appendUpdate(json, roomTypeId, first + runStart, first + i, run, firstUpdate);
+                firstUpdate = false;
+                run = null;
+            }
+            if (run == null && cell != null) {
+                run = cell;
+                runStart = i;
+            }
+        }
+        return firstUpdate;
+    }
+
+    private Cell cell(Long roomTypeId, int kinds, LocalDate date, int available) {
+        boolean restricted = (kinds & RESTRICTIONS) != 0;
+        return new Cell(kinds,
+                (kinds & AVAILABILITY) != 0 ? Math.max(0, available) : 0,
+                (kinds & RATE) != 0 ? roomService.getNightlyRate(roomTypeId, date) : null,
+                restricted && restrictions.closedToArrival(roomTypeId, date),
+                restricted && restrictions.closedToDeparture(roomTypeId, date),
+                restricted ? restrictions.minNights(roomTypeId, date) : 0,
+                restricted ? restrictions.maxNights(roomTypeId, date) : 0);
+    }
+
+    private static void appendUpdate(StringBuilder json, Long roomTypeId, long from, long to, Cell cell,
+                                     boolean firstUpdate) {
+        if (!firstUpdate) {
+            json.append(',');
+        }
+        json.append("{\"roomTypeId\":").append(roomTypeId)
+                .append(",\"from\":\"").append(LocalDate.ofEpochDay(from))
+                .append("\",\"to\":\"").append(LocalDate.ofEpochDay(to)).append('"');
+        if ((cell.kinds() & AVAILABILITY) != 0) {
+            json.append(",\"available\":").append(cell.available());
+        }
+        if ((cell.kinds() & RATE) != 0 && cell.rate() != null) {
+            json.append(",\"rate\":").append(cell.rate().toPlainString());
+        }
+        if ((cell.kinds() & RESTRICTIONS) != 0) {
+            json.append(",\"closedToArrival\":").append(cell.closedToArrival())
+                    .append(",\"closedToDeparture\":").append(cell.closedToDeparture())
+                    .append(",\"minStay\":").append(cell.minStay())
+                    .append(",\"maxStay\":").append(cell.maxStay());
+        }
+        json.append('}');
+    }
+
+    private void trim() {
+        long oldest = channels.values().stream().mapToLong(c -> c.cursor).min().orElse(Long.MAX_VALUE);
+        log.headMap(oldest, true).clear();
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
@@ -0,0 +1,185 @@
+package com.hotelsmarttrack.reservation;
+
+import com.hotelsmarttrack.base.entity.SearchCacheStats;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * AvailabilitySearchCache - bounded cache of availability search results.
+ * Entries are kept in LRU order; when full, a new result only replaces the LRU entry if it
+ * has been searched more often (TinyLFU admission over a small frequency sketch).
+ * Inventory changes drop only entries of that room type whose stay overlaps the changed nights,
+ * and each entry remembers the room version it was built from so room changes reject it on read.
+ * Private to the smarttrack-reservation component.
+ */
+final class AvailabilitySearchCache {
+
+    /**
+     * Search parameters; one cached result per key.
+     */
+    record Key(LocalDate checkIn, LocalDate checkOut, Long roomTypeId, int occupancy) {
+    }
+
+    private record Entry(List<Long> roomIds, long roomVersion) {
+    }
+
+    private final int maximumSize;
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Long, Set<Key>> keysByRoomType = new HashMap<>();
+    // Bumped on every inventory change, so a result computed across a change is never cached
+    private final Map<Long, Long> generations = new HashMap<>();
+    private final FrequencySketch sketch;
+
+    private long hits;
+    private long misses;
+    private long staleRejections;
+    private long invalidations;
+    private long evictions;
+    private long rejectedAdmissions;
+
+    AvailabilitySearchCache(int maximumSize) {
+        this.maximumSize = maximumSize;
+        this.sketch = new FrequencySketch(maximumSize);
+    }
+
+    /**
+     * Cached room IDs for a search, or null on a miss.
+     * @param roomVersion Current room version of the key's room type
+     */
+    synchronized List<Long> get(Key key, long roomVersion) {
+        sketch.increment(key);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (entry.roomVersion() != roomVersion) {
+            staleRejections++;
+            misses++;
+            remove(key);
+            return null;
+        }
+        hits++;
+        return entry.roomIds();
+    }
+
+    /**
+     * Inventory generation of a room type; read before computing a result that will be cached.
+     */
+    synchronized long generation(Long roomTypeId) {
+        return generations.getOrDefault(roomTypeId, 0L);
+    }
+
+    /**
+     * Cache a computed result unless inventory of its type changed since the generation was read.
+     */
+    synchronized void put(Key key, List<Long> roomIds, long roomVersion, long generation) {
+        if (generation != generation(key.roomTypeId())) {
+            return;
+        }
+        if (!entries.containsKey(key) && entries.size() >= maximumSize) {
+            Key victim = entries.keySet().iterator().next();
+            if (sketch.frequency(key) <= sketch.frequency(victim)) {
+                rejectedAdmissions++;
+                return;
+            }
+            remove(victim);
+            evictions++;
+        }
+        entries.put(key, new Entry(List.copyOf(roomIds), roomVersion));
+        keysByRoomType.computeIfAbsent(key.roomTypeId(), id -> new HashSet<>()).add(key);
+    }
+
+    /**
+     * Drop cached results of a room type whose stay overlaps any night in [from, to).
+     */
+    synchronized void invalidate(Long roomTypeId, LocalDate from, LocalDate to) {
+        generations.merge(roomTypeId, 1L, Long::sum);
+        Set<Key> keys = keysByRoomType.get(roomTypeId);
+        if (keys == null) {
+            return;
+        }
+        for (Iterator<Key> it = keys.iterator(); it.hasNext(); ) {
+            Key key = it.next();
+            if (key.checkIn().isBefore(to) && key.checkOut().isAfter(from)) {
+                entries.remove(key);
+                it.remove();
+                invalidations++;
+            }
+        }
+    }
+
+    synchronized SearchCacheStats stats() {
+        return new SearchCacheStats(hits, misses, staleRejections, invalidations,
+                evictions, rejectedAdmissions, entries.size());
+    }
+
+    private void remove(Key key) {
+        entries.remove(key);
+        Set<Key> keys = keysByRoomType.get(key.roomTypeId());
+        if (keys != null) {
+            keys.remove(key);
+        }
+    }
+
+    /**
+     * Count-min sketch of recent search frequency with small saturating counters.
+     * All counters are halved after a sample period so old popularity fades.
+     */
+    private static final class FrequencySketch {
+        private static final long[] SEEDS = {
+                0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0x27D4EB2F165667C5L};
+        private static final int MAX_COUNT = 15;
+
+        private final byte[][] counts;
+        private final int mask;
+        private final int samplePeriod;
+        private int additions;
+
+        FrequencySketch(int maximumSize) {
+            int width = Integer.highestOneBit(Math.max(16, maximumSize) * 2 - 1);
+            this.counts = new byte[SEEDS.length][width];
+            this.mask = width - 1;
+            this.samplePeriod = Math.max(16, maximumSize) * 10;
+        }
+
+        void increment(Object key) {
+            int hash = key.hashCode();
+            for (int row = 0; row < SEEDS.length; row++) {
+                int i = index(hash, row);
+                if (counts[row][i] < MAX_COUNT) {
+                    counts[row][i]++;
+                }
+            }
+            if (++additions >= samplePeriod) {
+                for (byte[] row : counts) {
+                    for (int i = 0; i < row.length; i++) {
+                        row[i] >>= 1;
+                    }
+                }
+                additions /= 2;
+            }
+        }
+
+        int frequency(Object key) {
+            int hash = key.hashCode();
+            int min = MAX_COUNT;
+            for (int row = 0; row < SEEDS.length; row++) {
+                min = Math.min(min, counts[row][index(hash, row)]);
+            }
+            return min;
+        }
+
+        private int index(int hash, int row) {
+            long h = (hash + SEEDS[row]) * SEEDS[row];
+            return (int) (h >>> 32) & mask;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.hotelsmarttrack.reservation;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * HoldTimerWheel - hashed timer wheel for reservation hold expiry.
+ * Scheduling and cancelling a hold are O(1); each tick only visits one bucket.
+ * Deadlines further out than one revolution simply stay in their bucket until due.
+ * Private to the smarttrack-reservation component.
+ */
+final class HoldTimerWheel {
+
+    private final long tickMillis;
+    private final int mask;
+    private final Set<Timeout>[] buckets;
+    private final Map<Long, Timeout> timeouts = new ConcurrentHashMap<>();
+    private final Consumer<Long> onExpiry;
+    private final ScheduledExecutorService ticker;
+    private final long startMillis = System.currentTimeMillis();
+    private long processedTick = -1;
+
+    private record Timeout(Long reservationId, long deadlineTick) {
+    }
+
+    @SuppressWarnings("unchecked")
+    HoldTimerWheel(Duration tick, int wheelSize, Consumer<Long> onExpiry) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("wheelSize must be a power of two");
+        }
+        this.tickMillis = tick.toMillis();
+        this.mask = wheelSize - 1;
+        this.onExpiry = onExpiry;
+        this.buckets = new Set[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = ConcurrentHashMap.newKeySet();
+        }
+
+        this.ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "reservation-hold-wheel");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::advance, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Schedule expiry of a hold after the given time-to-live.
+     */
+    void schedule(Long reservationId, Duration ttl) {
+        long ticks = Math.max(1, (ttl.toMillis() + tickMillis - 1) / tickMillis);
+        Timeout timeout = new Timeout(reservationId, currentTick() + ticks);
+        Timeout previous = timeouts.put(reservationId, timeout);
+        if (previous != null) {
+            buckets[(int) (previous.deadlineTick() & mask)].remove(previous);
+        }
+        buckets[(int) (timeout.deadlineTick() & mask)].add(timeout);
+    }
+
+    /**
+     * Cancel a pending expiry.
+     * @return true if the hold was still pending
+     */
+    boolean cancel(Long reservationId) {
+        Timeout timeout = timeouts.remove(reservationId);
+        if (timeout == null) {
+            return false;
+        }
+        buckets[(int) (timeout.deadlineTick() & mask)].remove(timeout);
+        return true;
+    }
+
+    int pending() {
+        return timeouts.size();
+    }
+
+    /**
+     * Stop the ticker thread; pending holds no longer expire.
+     */
+    void close() {
+        ticker.shutdownNow();
+    }
+
+    private long currentTick() {
+        return (System.currentTimeMillis() - startMillis) / tickMillis;
+    }
+
+    /**
+     * Process every bucket between the last processed tick and now (catches up after pauses).
+     */
+    private void advance() {
+        long now = currentTick();
+        for (long tick = processedTick + 1; tick <= now; tick++) {
+            Set<Timeout> bucket = buckets[(int) (tick & mask)];
+            for (Timeout timeout : bucket) {
+                if (timeout.deadlineTick() <= tick && timeouts.remove(timeout.reservationId(), timeout)) {
+                    bucket.remove(timeout);
+                    try {
+                        onExpiry.accept(timeout.reservationId());
+                    } catch (RuntimeException e) {
+                        System.out.println("[HoldTimerWheel] Expiry failed for reservation " +
+                                timeout.reservationId() + ": " + e.getMessage());
+                    }
+                }
+            }
+        }
+        processedTick = now;
+    }
+}
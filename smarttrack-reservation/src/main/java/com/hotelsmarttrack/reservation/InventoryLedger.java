@@ -0,0 +1,236 @@
+package com.hotelsmarttrack.reservation;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * InventoryLedger - rooms sold per room type and night.
+ * Each room type keeps a primitive array of booked counts indexed by epoch day,
+ * so reserving, releasing and checking a stay touches only the nights of that stay.
+ * Listeners hear about every changed night range after the counts are updated.
+ * Private to the smarttrack-reservation component.
+ */
+final class InventoryLedger {
+
+    private final Map<Long, NightCounts> byRoomType = new ConcurrentHashMap<>();
+    private final List<ChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Told which nights [from, to) of a room type changed and by how many rooms
+     * (negative for releases); called outside the ledger locks.
+     */
+    @FunctionalInterface
+    interface ChangeListener {
+        void changed(Long roomTypeId, LocalDate from, LocalDate to, int rooms);
+    }
+
+    void addListener(ChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Book one room of a type for every night in [checkIn, checkOut) if all nights have space.
+     * @return true if booked, false if any night is already at capacity
+     */
+    boolean tryReserve(Long roomTypeId, LocalDate checkIn, LocalDate checkOut, int capacity) {
+        boolean booked = counts(roomTypeId).tryAdd(checkIn.toEpochDay(), checkOut.toEpochDay(), capacity);
+        if (booked) {
+            fireChanged(roomTypeId, checkIn, checkOut, 1);
+        }
+        return booked;
+    }
+
+    /**
+     * Book one room of a type for every night in [checkIn, checkOut), even past capacity.
+     */
+    void reserve(Long roomTypeId, LocalDate checkIn, LocalDate checkOut) {
+        counts(roomTypeId).add(checkIn.toEpochDay(), checkOut.toEpochDay(), 1);
+        fireChanged(roomTypeId, checkIn, checkOut, 1);
+    }
+
+    /**
+     * Move one booked room of a type to new dates in one step, if every new night has space
+     * once the old nights are given back.
+     * @return true if moved, false if any new night is at capacity (the old booking is kept)
+     */
+    boolean tryMove(Long roomTypeId, LocalDate oldCheckIn, LocalDate oldCheckOut,
+                    LocalDate checkIn, LocalDate checkOut, int capacity) {
+        boolean moved = counts(roomTypeId).tryMove(oldCheckIn.toEpochDay(), oldCheckOut.toEpochDay(),
+                checkIn.toEpochDay(), checkOut.toEpochDay(), capacity);
+        if (moved) {
+            fireChanged(roomTypeId, oldCheckIn, oldCheckOut, -1);
+            fireChanged(roomTypeId, checkIn, checkOut, 1);
+        }
+        return moved;
+    }
+
+    /**
+     * Give back one room of a type for every night in [checkIn, checkOut).
+     */
+    void release(Long roomTypeId, LocalDate checkIn, LocalDate checkOut) {
+        counts(roomTypeId).add(checkIn.toEpochDay(), checkOut.toEpochDay(), -1);
+        fireChanged(roomTypeId, checkIn, checkOut, -1);
+    }
+
+    /**
+     * Give back several rooms of a type for every night in [checkIn, checkOut).
+     */
+    void release(Long roomTypeId, LocalDate checkIn, LocalDate checkOut, int rooms) {
+        counts(roomTypeId).add(checkIn.toEpochDay(), checkOut.toEpochDay(), -rooms);
+        fireChanged(roomTypeId, checkIn, checkOut, -rooms);
+    }
+
+    /**
+     * Book rooms across several room types in one all-or-nothing step (group blocks).
+     * Every affected room type is locked (in ID order) before anything is checked or written.
+     * @param roomsPerType Rooms wanted per room type ID
+     * @param capacityPerType Sellable rooms per room type ID
+     * @return true if every type had space on every night and all rooms were booked
+     * @throws IllegalArgumentException if a room count is not positive or the range is empty
+     */
+    boolean tryReserveBlock(Map<Long, Integer> roomsPerType, LocalDate checkIn, LocalDate checkOut,
+                            Map<Long, Integer> capacityPerType) {
+        if (!checkIn.isBefore(checkOut) || roomsPerType.values().stream().anyMatch(rooms -> rooms <= 0)) {
+            throw new IllegalArgumentException("Block needs positive room counts over a non-empty range");
+        }
+        List<Long> roomTypeIds = new ArrayList<>(new TreeSet<>(roomsPerType.keySet()));
+        boolean booked = reserveLocked(roomTypeIds, 0, roomsPerType, checkIn.toEpochDay(),
+                checkOut.toEpochDay(), capacityPerType);
+        if (booked) {
+            roomTypeIds.forEach(roomTypeId -> fireChanged(roomTypeId, checkIn, checkOut,
+                    roomsPerType.get(roomTypeId)));
+        }
+        return booked;
+    }
+
+    private boolean reserveLocked(List<Long> roomTypeIds, int next, Map<Long, Integer> roomsPerType,
+                                  long from, long to, Map<Long, Integer> capacityPerType) {
+        if (next < roomTypeIds.size()) {
+            NightCounts counts = counts(roomTypeIds.get(next));
+            synchronized (counts) {
+                return reserveLocked(roomTypeIds, next + 1, roomsPerType, from, to, capacityPerType);
+            }
+        }
+        for (Long roomTypeId : roomTypeIds) {
+            int capacity = capacityPerType.getOrDefault(roomTypeId, 0);
+            if (counts(roomTypeId).max(from, to) + roomsPerType.get(roomTypeId) > capacity) {
+                return false;
+            }
+        }
+        for (Long roomTypeId : roomTypeIds) {
+            counts(roomTypeId).add(from, to, roomsPerType.get(roomTypeId));
+        }
+        return true;
+    }
+
+    /**
+     * Rooms of a type still free on every night of [checkIn, checkOut).
+     */
+    int available(Long roomTypeId, LocalDate checkIn, LocalDate checkOut, int capacity) {
+        return capacity - counts(roomTypeId).max(checkIn.toEpochDay(), checkOut.toEpochDay());
+    }
+
+    /**
+     * Rooms of a type sold on each night of [from, to), in one locked copy.
+     */
+    int[] booked(Long roomTypeId, LocalDate from, LocalDate to) {
+        return counts(roomTypeId).snapshot(from.toEpochDay(), to.toEpochDay());
+    }
+
+    private void fireChanged(Long roomTypeId, LocalDate from, LocalDate to, int rooms) {
+        for (ChangeListener listener : listeners) {
+            listener.changed(roomTypeId, from, to, rooms);
+        }
+    }
+
+    private NightCounts counts(Long roomTypeId) {
+        return byRoomType.computeIfAbsent(roomTypeId, id -> new NightCounts());
+    }
+
+    /**
+     * Booked counts for one room type; the array grows in either direction as dates are touched.
+     */
+    private static final class NightCounts {
+        private long origin;
+        private int[] booked = new int[0];
+
+        synchronized boolean tryAdd(long from, long to, int capacity) {
+            if (max(from, to) >= capacity) {
+                return false;
+            }
+            add(from, to, 1);
+            return true;
+        }
+
+        synchronized boolean tryMove(long oldFrom, long oldTo, long from, long to, int capacity) {
+            add(oldFrom, oldTo, -1);
+            if (max(from, to) >= capacity) {
+                add(oldFrom, oldTo, 1);
+                return false;
+            }
+            add(from, to, 1);
+            return true;
+        }
+
+        synchronized void add(long from, long to, int delta) {
+            ensure(from, to);
+            for (long day = from; day < to; day++) {
+                booked[(int) (day - origin)] += delta;
+            }
+        }
+
+        synchronized int max(long from, long to) {
+            int max = 0;
+            for (long day = from; day < to; day++) {
+                long i = day - origin;
+                if (i >= 0 && i < booked.length) {
+                    max = Math.max(max, booked[(int) i]);
+                }
+            }
+            return max;
+        }
+
+        synchronized int[] snapshot(long from, long to) {
+            int[] copy = new int[(int) Math.max(0, to - from)];
+            for (long day = from; day < to; day++) {
+                long i = day - origin;
+                if (i >= 0 && i < booked.length) {
+                    copy[(int) (day - from)] = booked[(int) i];
+                }
+            }
+            return copy;
+        }
+
+        private void ensure(long from, long to) {
+            if (from >= to) {
+                return;
+            }
+            if (booked.length == 0) {
+                origin = from;
+                booked = new int[(int) Math.max(to - from, 64)];
+                return;
+            }
+            long newOrigin = Math.min(origin, from);
+            long newEnd = Math.max(origin + booked.length, to);
+            if (newOrigin == origin && newEnd == origin + booked.length) {
+                return;
+            }
+            // Grow with headroom so a rolling booking window rarely reallocates
+            long span = newEnd - newOrigin;
+            int[] grown = new int[(int) Math.max(span, booked.length * 2L)];
+            long shift = origin - newOrigin;
+            if (newOrigin < origin) {
+                shift += grown.length - span;
+                newOrigin -= grown.length - span;
+            }
+            System.arraycopy(booked, 0, grown, (int) shift, booked.length);
+            booked = grown;
+            origin = newOrigin;
+        }
+    }
+}
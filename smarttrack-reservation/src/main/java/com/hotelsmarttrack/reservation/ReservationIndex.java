@@ -0,0 +1,117 @@
+package com.hotelsmarttrack.reservation;
+
+import com.hotelsmarttrack.base.entity.Reservation;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Consumer;
+
+/**
+ * ReservationIndex - secondary indexes over the reservation store.
+ * Status buckets, a guest multimap and arrival/departure date maps,
+ * so status, guest and date queries never scan the whole store.
+ * Private to the smarttrack-reservation component.
+ */
+final class ReservationIndex {
+
+    private static final Comparator<Reservation> BY_ID = Comparator.comparing(Reservation::getReservationId);
+
+    private final Map<String, Set<Reservation>> byStatus = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Reservation>> byGuest = new ConcurrentHashMap<>();
+    private final NavigableMap<LocalDate, Set<Reservation>> byArrival = new ConcurrentSkipListMap<>();
+    private final NavigableMap<LocalDate, Set<Reservation>> byDeparture = new ConcurrentSkipListMap<>();
+
+    void add(Reservation r) {
+        bucket(byStatus, r.getStatus(), r);
+        bucket(byGuest, r.getGuest() != null ? r.getGuest().getGuestId() : null, r);
+        bucket(byArrival, r.getCheckInDate(), r);
+        bucket(byDeparture, r.getCheckOutDate(), r);
+    }
+
+    void remove(Reservation r) {
+        unbucket(byStatus, r.getStatus(), r);
+        unbucket(byGuest, r.getGuest() != null ? r.getGuest().getGuestId() : null, r);
+        unbucket(byArrival, r.getCheckInDate(), r);
+        unbucket(byDeparture, r.getCheckOutDate(), r);
+    }
+
+    /**
+     * Apply a change to an indexed reservation, moving it between buckets as needed.
+     */
+    void update(Reservation r, Runnable change) {
+        synchronized (r) {
+            remove(r);
+            change.run();
+            add(r);
+        }
+    }
+
+    List<Reservation> byStatus(String status) {
+        return copy(byStatus.get(status));
+    }
+
+    List<Reservation> byGuest(Long guestId) {
+        return copy(byGuest.get(guestId));
+    }
+
+    /**
+     * Reservations arriving between two dates, both inclusive, in date order.
+     */
+    List<Reservation> arrivals(LocalDate from, LocalDate to) {
+        return flatten(byArrival.subMap(from, true, to, true).values());
+    }
+
+    /**
+     * Visit reservations arriving between two dates, both inclusive, in date order, without copying.
+     */
+    void forEachArrival(LocalDate from, LocalDate to, Consumer<Reservation> action) {
+        byArrival.subMap(from, true, to, true).values().forEach(bucket -> bucket.forEach(action));
+    }
+
+    /**
+     * Reservations departing between two dates, both inclusive, in date order.
+     */
+    List<Reservation> departures(LocalDate from, LocalDate to) {
+        return flatten(byDeparture.subMap(from, true, to, true).values());
+    }
+
+    private static <K> void bucket(Map<K, Set<Reservation>> index, K key, Reservation r) {
+        if (key == null) {
+            return;
+        }
+        index.compute(key, (k, bucket) -> {
+            Set<Reservation> target = bucket != null ? bucket : new ConcurrentSkipListSet<>(BY_ID);
+            target.add(r);
+            return target;
+        });
+    }
+
+    private static <K> void unbucket(Map<K, Set<Reservation>> index, K key, Reservation r) {
+        if (key == null) {
+            return;
+        }
+        index.computeIfPresent(key, (k, bucket) -> {
+            bucket.remove(r);
+            return bucket.isEmpty() ? null : bucket;
+        });
+    }
+
+    private static List<Reservation> copy(Set<Reservation> bucket) {
+        return bucket != null ? new ArrayList<>(bucket) : new ArrayList<>();
+    }
+
+    private static List<Reservation> flatten(Collection<Set<Reservation>> buckets) {
+        List<Reservation> result = new ArrayList<>();
+        buckets.forEach(result::addAll);
+        return result;
+    }
+}
@@ -1,17 +1,42 @@
 package com.hotelsmarttrack.reservation;
 
+import com.hotelsmarttrack.base.entity.FlexibleAvailability;
+import com.hotelsmarttrack.base.entity.GroupBlock;
+import com.hotelsmarttrack.base.entity.Guest;
+import com.hotelsmarttrack.base.entity.HoldMetrics;
+import com.hotelsmarttrack.base.entity.NoShowSweepSummary;
 import com.hotelsmarttrack.base.entity.Reservation;
+import com.hotelsmarttrack.base.entity.Room;
+import com.hotelsmarttrack.base.entity.RoomAssignmentPlan;
+import com.hotelsmarttrack.base.entity.RoomType;
+import com.hotelsmarttrack.base.entity.SearchCacheStats;
+import com.hotelsmarttrack.base.entity.TimelineEvent;
+import com.hotelsmarttrack.base.entity.WaitlistEntry;
+import com.hotelsmarttrack.base.entity.YieldRunSummary;
 import com.hotelsmarttrack.base.service.GuestService;
 import com.hotelsmarttrack.base.service.ReservationService;
 import com.hotelsmarttrack.base.service.RoomService;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -22,97 +47,410 @@ import java.util.stream.Collectors;
 @Service
 public class ReservationManager implements ReservationService {
     
-    private final List<Reservation> reservationDatabase = new ArrayList<>();
+    private final Map<Long, Reservation> reservationDatabase = new ConcurrentSkipListMap<>();
+    private final ReservationIndex reservationIndex = new ReservationIndex();
     private final AtomicLong idGenerator = new AtomicLong(1);
     
+    // Rooms sold per room type and night; these statuses consume inventory
+    private final InventoryLedger inventoryLedger = new InventoryLedger();
+    private static final Set<String> INVENTORY_STATUSES = Set.of("Held", "Reserved", "Confirmed", "Checked-In");
+    
+    // Tentative holds expire on a hashed timer wheel (1 second ticks, 512 slots)
+    private final HoldTimerWheel holdWheel = new HoldTimerWheel(Duration.ofSeconds(1), 512, this::expireHold);
+    private final AtomicLong holdsPlaced = new AtomicLong();
+    private final AtomicLong holdsConverted = new AtomicLong();
+    private final AtomicLong holdsExpired = new AtomicLong();
+    private final AtomicLong holdsReleased = new AtomicLong();
+    
+    // Group blocks; their allotment is booked in the ledger until picked up or released
+    private final Map<Long, GroupBlock> groupBlocks = new ConcurrentHashMap<>();
+    private final AtomicLong blockIdGenerator = new AtomicLong(1);
+    
+    private final RoomAssignmentPlanner assignmentPlanner = new RoomAssignmentPlanner();
+    
+    // Repeated channel searches are answered from here until an overlapping night changes
+    private static final int SEARCH_CACHE_SIZE = 10_000;
+    private final AvailabilitySearchCache searchCache = new AvailabilitySearchCache(SEARCH_CACHE_SIZE);
+    
+    // Revenue restrictions (CTA/CTD, min/max length of stay) checked before inventory
+    private final RestrictionCalendar restrictions = new RestrictionCalendar();
+    
+    // Dynamic pricing; reprices only nights whose inventory changed since the last run
+    private final YieldPricer yieldPricer;
+    
+    // Availability, rate and restriction deltas for distribution channels
+    private final AriDeltaFeed ariFeed;
+    
+    // Sold-out requests; released nights promote the best-fitting waiting entry
+    private final Waitlist waitlist = new Waitlist();
+    private final AtomicLong waitlistIdGenerator = new AtomicLong(1);
+    
     // Injected via interface - loose coupling (Rule 3 & 5)
     private final GuestService guestService;
     private final RoomService roomService;
     
     @Autowired
-    public ReservationManager(GuestService guestService, RoomService roomService) {
+    public ReservationManager(GuestService guestService, RoomService roomService,
+                              @Value("${smarttrack.reservation.yield-curve:0.0:1.00,0.75:1.15,0.9:1.30}")
+                              String yieldCurve) {
         this.guestService = guestService;
         this.roomService = roomService;
+        inventoryLedger.addListener((roomTypeId, from, to, rooms) -> searchCache.invalidate(roomTypeId, from, to));
+        this.yieldPricer = new YieldPricer(inventoryLedger, roomService, yieldCurve);
+        this.ariFeed = new AriDeltaFeed(inventoryLedger, restrictions, roomService);
+        inventoryLedger.addListener((roomTypeId, from, to, rooms) ->
+                ariFeed.record(roomTypeId, from, to, AriDeltaFeed.AVAILABILITY));
+        roomService.addRateChangeListener((roomTypeId, from, to) ->
+                ariFeed.record(roomTypeId, from, to, AriDeltaFeed.RATE));
+        inventoryLedger.addListener((roomTypeId, from, to, rooms) -> {
+            if (rooms < 0) {
+                waitlist.freed(roomTypeId, from, to);
+            }
+        });
     }
     
     @Override
     public Reservation createReservation(Long guestId, Long roomTypeId, LocalDate checkIn,
                                           LocalDate checkOut, int numberOfGuests, String specialRequests) {
-        Reservation reservation = new Reservation();
-        reservation.setReservationId(idGenerator.getAndIncrement());
-        reservation.setCheckInDate(checkIn);
-        reservation.setCheckOutDate(checkOut);
-        reservation.setNumberOfGuests(numberOfGuests);
-        reservation.setSpecialRequests(specialRequests);
-        reservation.setStatus("Reserved");
-        
-        // Link guest via service interface
-        guestService.getGuestById(guestId).ifPresent(reservation::setGuest);
-        
-        // Link room type via service interface
-        roomService.getAllRoomTypes().stream()
-                .filter(rt -> rt.getRoomTypeId().equals(roomTypeId))
-                .findFirst()
-                .ifPresent(reservation::setRoomType);
+        if (!validStay(checkIn, checkOut)) {
+            System.out.println("[ReservationManager] Invalid dates " + checkIn + " to " + checkOut +
+                    " for room type: " + roomTypeId);
+            return null;
+        }
+        if (!restrictions.allows(roomTypeId, checkIn, checkOut)) {
+            System.out.println("[ReservationManager] Stay " + checkIn + " to " + checkOut +
+                    " is restricted for room type: " + roomTypeId);
+            return null;
+        }
+        Reservation reservation = buildReservation(guestId, roomTypeId, checkIn, checkOut,
+                numberOfGuests, specialRequests, "Reserved");
+        if (refused(reservation.getGuest())) {
+            return null;
+        }
+        // Held rooms count as sold, so a direct booking cannot take the last room from a hold
+        if (reservation.getRoomType() != null
+                && !inventoryLedger.tryReserve(roomTypeId, checkIn, checkOut, capacity(roomTypeId))) {
+            System.out.println("[ReservationManager] No inventory to reserve for room type: " + roomTypeId);
+            return null;
+        }
         
-        reservationDatabase.add(reservation);
+        store(reservation, LocalDateTime.now());
         System.out.println("[ReservationManager] Created reservation for guest ID: " + guestId);
         return reservation;
     }
     
+    @Override
+    public Reservation holdReservation(Long guestId, Long roomTypeId, LocalDate checkIn,
+                                        LocalDate checkOut, int numberOfGuests, Duration ttl) {
+        if (!validStay(checkIn, checkOut)) {
+            System.out.println("[ReservationManager] Invalid dates " + checkIn + " to " + checkOut +
+                    " for room type: " + roomTypeId);
+            return null;
+        }
+        if (!restrictions.allows(roomTypeId, checkIn, checkOut)) {
+            System.out.println("[ReservationManager] Stay " + checkIn + " to " + checkOut +
+                    " is restricted for room type: " + roomTypeId);
+            return null;
+        }
+        Reservation reservation = buildReservation(guestId, roomTypeId, checkIn, checkOut,
+                numberOfGuests, null, "Held");
+        if (refused(reservation.getGuest())) {
+            return null;
+        }
+        if (reservation.getRoomType() == null
+                || !inventoryLedger.tryReserve(roomTypeId, checkIn, checkOut, capacity(roomTypeId))) {
+            System.out.println("[ReservationManager] No inventory to hold for room type: " + roomTypeId);
+            return null;
+        }
+        
+        store(reservation, LocalDateTime.now());
+        holdWheel.schedule(reservation.getReservationId(), ttl);
+        holdsPlaced.incrementAndGet();
+        System.out.println("[ReservationManager] Held reservation " + reservation.getReservationId() +
+                " for " + ttl.toSeconds() + "s");
+        return reservation;
+    }
+    
+    @Override
+    public Reservation convertHold(Long reservationId) {
+        Reservation r = reservationDatabase.get(reservationId);
+        if (r == null) {
+            return null;
+        }
+        synchronized (r) {
+            if (!"Held".equals(r.getStatus())) {
+                return null;
+            }
+            updateStatus(r, "Reserved");
+        }
+        holdsConverted.incrementAndGet();
+        System.out.println("[ReservationManager] Converted hold to reservation: " + reservationId);
+        return r;
+    }
+    
+    @Override
+    public void releaseHold(Long reservationId) {
+        getReservationById(reservationId).ifPresent(r -> {
+            synchronized (r) {
+                if (!"Held".equals(r.getStatus())) {
+                    return;
+                }
+                updateStatus(r, "Cancelled");
+            }
+            holdsReleased.incrementAndGet();
+            System.out.println("[ReservationManager] Released hold: " + reservationId);
+        });
+        promoteWaitlist();
+    }
+    
+    @Override
+    public HoldMetrics getHoldMetrics() {
+        return new HoldMetrics(holdsPlaced.get(), holdsConverted.get(), holdsExpired.get(),
+                holdsReleased.get(), holdWheel.pending());
+    }
+    
+    /**
+     * Stop the hold timer thread when the application context closes.
+     */
+    @PreDestroy
+    public void shutdown() {
+        holdWheel.close();
+        System.out.println("[ReservationManager] Stopped hold timer");
+    }
+    
+    @Override
+    public GroupBlock createGroupBlock(String groupName, Long contactGuestId, LocalDate checkIn,
+                                      LocalDate checkOut, Map<Long, Integer> roomsPerType, LocalDate cutOffDate) {
+        if (checkIn == null || checkOut == null || !checkIn.isBefore(checkOut)) {
+            System.out.println("[ReservationManager] Invalid dates for group block " + groupName + ": " +
+                    checkIn + " to " + checkOut);
+            return null;
+        }
+        if (roomsPerType == null || roomsPerType.isEmpty()
+                || roomsPerType.values().stream().anyMatch(rooms -> rooms == null || rooms <= 0)) {
+            System.out.println("[ReservationManager] Room counts must be positive for group block: " + groupName);
+            return null;
+        }
+        // Resolve room types and capacities once for the whole block
+        Map<Long, RoomType> roomTypes = new HashMap<>();
+        roomService.getAllRoomTypes().forEach(rt -> roomTypes.put(rt.getRoomTypeId(), rt));
+        if (!roomTypes.keySet().containsAll(roomsPerType.keySet())) {
+            System.out.println("[ReservationManager] Unknown room type in group block: " + groupName);
+            return null;
+        }
+        if (!inventoryLedger.tryReserveBlock(roomsPerType, checkIn, checkOut, capacities())) {
+            System.out.println("[ReservationManager] Not enough inventory for group block: " + groupName);
+            return null;
+        }
+        
+        Map<Long, Integer> pickedUp = new ConcurrentHashMap<>();
+        roomsPerType.keySet().forEach(id -> pickedUp.put(id, 0));
+        GroupBlock block = new GroupBlock(blockIdGenerator.getAndIncrement(), groupName,
+                guestService.getGuestById(contactGuestId).orElse(null), checkIn, checkOut, cutOffDate,
+                new ConcurrentHashMap<>(roomsPerType), pickedUp, "Open");
+        groupBlocks.put(block.getBlockId(), block);
+        
+        int rooms = roomsPerType.values().stream().mapToInt(Integer::intValue).sum();
+        System.out.println("[ReservationManager] Created group block " + block.getBlockId() + " (" +
+                groupName + ") with " + rooms + " rooms");
+        return block;
+    }
+    
+    @Override
+    public Reservation pickUpFromBlock(Long blockId, Long guestId, Long roomTypeId, int numberOfGuests) {
+        GroupBlock block = groupBlocks.get(blockId);
+        if (block == null) {
+            return null;
+        }
+        synchronized (block) {
+            int allotted = block.getAllotment().getOrDefault(roomTypeId, 0);
+            int picked = block.getPickedUp().getOrDefault(roomTypeId, 0);
+            if (!"Open".equals(block.getStatus()) || picked >= allotted) {
+                System.out.println("[ReservationManager] No allotment left in block " + blockId +
+                        " for room type: " + roomTypeId);
+                return null;
+            }
+            
+            // The block's room-nights transfer to the reservation, so the ledger is unchanged
+            Reservation reservation = buildReservation(guestId, roomTypeId, block.getCheckInDate(),
+                    block.getCheckOutDate(), numberOfGuests, block.getGroupName(), "Reserved");
+            if (refused(reservation.getGuest())) {
+                return null;
+            }
+            reservation.setGroupBlockId(blockId);
+            store(reservation, LocalDateTime.now());
+            block.getPickedUp().put(roomTypeId, picked + 1);
+            
+            System.out.println("[ReservationManager] Picked up reservation " + reservation.getReservationId() +
+                    " from block " + blockId);
+            return reservation;
+        }
+    }
+    
+    @Override
+    public int releaseUnusedAllotment(Long blockId) {
+        GroupBlock block = groupBlocks.get(blockId);
+        if (block == null) {
+            return 0;
+        }
+        int released = 0;
+        synchronized (block) {
+            if (!"Open".equals(block.getStatus())) {
+                return 0;
+            }
+            for (Map.Entry<Long, Integer> entry : block.getAllotment().entrySet()) {
+                int unused = entry.getValue() - block.getPickedUp().getOrDefault(entry.getKey(), 0);
+                if (unused > 0) {
+                    inventoryLedger.release(entry.getKey(), block.getCheckInDate(), block.getCheckOutDate(), unused);
+                    released += unused;
+                }
+            }
+            block.setStatus("Released");
+        }
+        System.out.println("[ReservationManager] Released " + released + " unused rooms from block " + blockId);
+        promoteWaitlist();
+        return released;
+    }
+    
+    @Override
+    public int releaseBlocksPastCutOff(LocalDate date) {
+        return groupBlocks.values().stream()
+                .filter(b -> "Open".equals(b.getStatus()) && b.getCutOffDate() != null
+                        && !b.getCutOffDate().isAfter(date))
+                .mapToInt(b -> releaseUnusedAllotment(b.getBlockId()))
+                .sum();
+    }
+    
+    @Override
+    public Optional<GroupBlock> getGroupBlock(Long blockId) {
+        return Optional.ofNullable(groupBlocks.get(blockId));
+    }
+    
+    /**
+     * Timer wheel callback: expire a hold that was neither converted nor released.
+     */
+    private void expireHold(Long reservationId) {
+        getReservationById(reservationId).ifPresent(r -> {
+            synchronized (r) {
+                if (!"Held".equals(r.getStatus())) {
+                    return;
+                }
+                updateStatus(r, "Expired");
+            }
+            holdsExpired.incrementAndGet();
+            System.out.println("[ReservationManager] Hold expired: " + reservationId);
+        });
+        promoteWaitlist();
+    }
+    
     @Override
     public Reservation modifyReservation(Long reservationId, LocalDate newCheckIn,
                                           LocalDate newCheckOut, int numberOfGuests) {
-        Optional<Reservation> reservation = getReservationById(reservationId);
-        reservation.ifPresent(r -> {
-            r.setCheckInDate(newCheckIn);
-            r.setCheckOutDate(newCheckOut);
-            r.setNumberOfGuests(numberOfGuests);
-            System.out.println("[ReservationManager] Modified reservation: " + reservationId);
-        });
-        return reservation.orElse(null);
+        Reservation r = reservationDatabase.get(reservationId);
+        if (r == null) {
+            return null;
+        }
+        if (!validStay(newCheckIn, newCheckOut)) {
+            System.out.println("[ReservationManager] Invalid dates " + newCheckIn + " to " + newCheckOut +
+                    " for reservation: " + reservationId);
+            return null;
+        }
+        Long roomTypeId = r.getRoomType() != null ? r.getRoomType().getRoomTypeId() : null;
+        if (!restrictions.allows(roomTypeId, newCheckIn, newCheckOut)) {
+            System.out.println("[ReservationManager] Stay " + newCheckIn + " to " + newCheckOut +
+                    " is restricted for room type: " + roomTypeId);
+            return null;
+        }
+        synchronized (r) {
+            // Move the booked nights first, so a full house leaves the original booking untouched
+            if (holdsInventory(r) && !inventoryLedger.tryMove(roomTypeId, r.getCheckInDate(), r.getCheckOutDate(),
+                    newCheckIn, newCheckOut, capacity(roomTypeId))) {
+                System.out.println("[ReservationManager] No inventory to move reservation " + reservationId +
+                        " to " + newCheckIn + " through " + newCheckOut);
+                return null;
+            }
+            reservationIndex.update(r, () -> {
+                r.setCheckInDate(newCheckIn);
+                r.setCheckOutDate(newCheckOut);
+                r.setNumberOfGuests(numberOfGuests);
+                if (roomTypeId != null) {
+                    r.setQuotedAmount(roomService.quoteStay(roomTypeId, newCheckIn, newCheckOut));
+                }
+            });
+        }
+        recordTimeline(r, LocalDateTime.now(), "Modified " + describe(r) + ", " + numberOfGuests + " guests");
+        System.out.println("[ReservationManager] Modified reservation: " + reservationId);
+        promoteWaitlist();
+        return r;
     }
     
     @Override
     public void cancelReservation(Long reservationId) {
         getReservationById(reservationId).ifPresent(r -> {
-            r.setStatus("Cancelled");
+            updateStatus(r, "Cancelled");
             System.out.println("[ReservationManager] Cancelled reservation: " + reservationId);
         });
+        promoteWaitlist();
     }
     
     @Override
     public void confirmReservation(Long reservationId) {
         getReservationById(reservationId).ifPresent(r -> {
-            r.setStatus("Confirmed");
+            updateStatus(r, "Confirmed");
             System.out.println("[ReservationManager] Confirmed reservation: " + reservationId);
         });
     }
     
     @Override
     public Optional<Reservation> getReservationById(Long reservationId) {
-        return reservationDatabase.stream()
-                .filter(r -> r.getReservationId().equals(reservationId))
-                .findFirst();
+        return Optional.ofNullable(reservationDatabase.get(reservationId));
     }
     
     @Override
     public List<Reservation> getReservationsByGuest(Long guestId) {
-        return reservationDatabase.stream()
-                .filter(r -> r.getGuest() != null && r.getGuest().getGuestId().equals(guestId))
-                .collect(Collectors.toList());
+        return reservationIndex.byGuest(guestId);
+    }
+    
+    @Override
+    public List<Reservation> importReservations(List<Reservation> reservations) {
+        for (Reservation r : reservations) {
+            r.setReservationId(idGenerator.getAndIncrement());
+            if (r.getQuotedAmount() == null && r.getRoomType() != null) {
+                r.setQuotedAmount(roomService.quoteStay(r.getRoomType().getRoomTypeId(),
+                        r.getCheckInDate(), r.getCheckOutDate()));
+            }
+            if (holdsInventory(r)) {
+                inventoryLedger.reserve(r.getRoomType().getRoomTypeId(), r.getCheckInDate(), r.getCheckOutDate());
+            }
+            store(r, r.getCheckInDate() != null ? r.getCheckInDate().atStartOfDay() : LocalDateTime.now());
+        }
+        System.out.println("[ReservationManager] Imported " + reservations.size() + " reservations");
+        return reservations;
+    }
+    
+    @Override
+    public void forEachArrival(LocalDate from, LocalDate to, Consumer<Reservation> action) {
+        reservationIndex.forEachArrival(from, to, action);
     }
     
     @Override
     public List<Reservation> getAllReservations() {
-        return new ArrayList<>(reservationDatabase);
+        return new ArrayList<>(reservationDatabase.values());
     }
     
     @Override
     public List<Reservation> getReservationsByStatus(String status) {
-        return reservationDatabase.stream()
-                .filter(r -> status.equals(r.getStatus()))
-                .collect(Collectors.toList());
+        return reservationIndex.byStatus(status);
+    }
+    
+    @Override
+    public List<Reservation> getArrivals(LocalDate from, LocalDate to) {
+        return reservationIndex.arrivals(from, to);
+    }
+    
+    @Override
+    public List<Reservation> getDepartures(LocalDate from, LocalDate to) {
+        return reservationIndex.departures(from, to);
     }
     
     @Override
@@ -139,21 +477,324 @@ public class ReservationManager implements ReservationService {
         });
     }
     
+    @Override
+    public RoomAssignmentPlan autoAssignRooms(LocalDate arrivalDate) {
+        long start = System.currentTimeMillis();
+        List<Reservation> arrivals = reservationIndex.arrivals(arrivalDate, arrivalDate).stream()
+                .filter(r -> "Reserved".equals(r.getStatus()) || "Confirmed".equals(r.getStatus()))
+                .filter(r -> r.getAssignedRoom() == null && r.getRoomType() != null && r.getCheckOutDate() != null)
+                .collect(Collectors.toList());
+        LocalDate horizon = arrivals.stream()
+                .map(Reservation::getCheckOutDate)
+                .max(LocalDate::compareTo)
+                .orElse(arrivalDate.plusDays(1));
+        
+        // Room calendars only need stays that overlap [arrivalDate, horizon)
+        List<Reservation> booked = reservationIndex.departures(arrivalDate.plusDays(1), LocalDate.MAX).stream()
+                .filter(r -> r.getAssignedRoom() != null && holdsInventory(r))
+                .filter(r -> r.getCheckInDate().isBefore(horizon))
+                .collect(Collectors.toList());
+        // An occupied room that no reservation accounts for holds a walk-in with no known departure
+        Set<Long> reservedRooms = reservationIndex.departures(arrivalDate, LocalDate.MAX).stream()
+                .filter(r -> r.getAssignedRoom() != null && holdsInventory(r))
+                .map(r -> r.getAssignedRoom().getRoomId())
+                .collect(Collectors.toSet());
+        List<Room> rooms = roomService.getAllRooms().stream()
+                .filter(r -> r.getRoomType() != null && !"Out of Service".equals(r.getStatus()))
+                .filter(r -> !"Occupied".equals(r.getStatus()) || reservedRooms.contains(r.getRoomId()))
+                .collect(Collectors.toList());
+        
+        Map<Reservation, Room> plan = assignmentPlanner.plan(arrivals, rooms, booked);
+        Map<Long, Long> assignments = new ConcurrentSkipListMap<>();
+        plan.forEach((r, room) -> {
+            synchronized (r) {
+                if (r.getAssignedRoom() == null) {
+                    r.setAssignedRoom(room);
+                    assignments.put(r.getReservationId(), room.getRoomId());
+                }
+            }
+        });
+        // Mark the rooms as assignRoom does, so availability and catalogue versions see them taken
+        assignments.values().forEach(roomId -> roomService.updateRoomStatus(roomId, "Occupied"));
+        List<Long> unassigned = arrivals.stream()
+                .map(Reservation::getReservationId)
+                .filter(id -> !assignments.containsKey(id))
+                .collect(Collectors.toList());
+        
+        System.out.println("[ReservationManager] Auto-assigned " + assignments.size() + " of " +
+                arrivals.size() + " arrivals for " + arrivalDate);
+        return new RoomAssignmentPlan(arrivalDate, assignments, unassigned, System.currentTimeMillis() - start);
+    }
+    
     @Override
     public List<Long> searchAvailableRooms(LocalDate checkIn, LocalDate checkOut,
                                             Long roomTypeId, int occupancy) {
-        return roomService.getAvailableRoomsByType(roomTypeId, checkIn, checkOut).stream()
+        if (!validStay(checkIn, checkOut) || !restrictions.allows(roomTypeId, checkIn, checkOut)) {
+            return new ArrayList<>();
+        }
+        AvailabilitySearchCache.Key key = new AvailabilitySearchCache.Key(checkIn, checkOut, roomTypeId, occupancy);
+        long roomVersion = roomService.getRoomVersion(roomTypeId);
+        List<Long> cached = searchCache.get(key, roomVersion);
+        if (cached != null) {
+            return new ArrayList<>(cached);
+        }
+        long generation = searchCache.generation(roomTypeId);
+        
+        List<Long> rooms = roomService.getAvailableRoomsByType(roomTypeId, checkIn, checkOut).stream()
                 .filter(r -> r.getRoomType().getMaxOccupancy() >= occupancy)
                 .map(r -> r.getRoomId())
                 .collect(Collectors.toList());
+        
+        // Never offer more rooms than the nights still have unsold (held rooms included)
+        int unsold = Math.max(0, inventoryLedger.available(roomTypeId, checkIn, checkOut, capacity(roomTypeId)));
+        if (rooms.size() > unsold) {
+            rooms = new ArrayList<>(rooms.subList(0, unsold));
+        }
+        searchCache.put(key, rooms, roomVersion, generation);
+        return rooms;
+    }
+    
+    @Override
+    public void setClosedToArrival(Long roomTypeId, LocalDate from, LocalDate to, boolean closed) {
+        restrictions.setClosedToArrival(roomTypeId, from, to, closed);
+        ariFeed.record(roomTypeId, from, to, AriDeltaFeed.RESTRICTIONS);
+        System.out.println("[ReservationManager] " + (closed ? "Closed" : "Opened") + " arrivals for room type " +
+                roomTypeId + " from " + from + " to " + to);
+    }
+    
+    @Override
+    public void setClosedToDeparture(Long roomTypeId, LocalDate from, LocalDate to, boolean closed) {
+        restrictions.setClosedToDeparture(roomTypeId, from, to, closed);
+        ariFeed.record(roomTypeId, from, to, AriDeltaFeed.RESTRICTIONS);
+        System.out.println("[ReservationManager] " + (closed ? "Closed" : "Opened") + " departures for room type " +
+                roomTypeId + " from " + from + " to " + to);
+    }
+    
+    @Override
+    public void setLengthOfStayRestriction(Long roomTypeId, LocalDate from, LocalDate to,
+                                           int minNights, int maxNights) {
+        restrictions.setLengthOfStay(roomTypeId, from, to, minNights, maxNights);
+        ariFeed.record(roomTypeId, from, to, AriDeltaFeed.RESTRICTIONS);
+        System.out.println("[ReservationManager] Set length of stay " + minNights + "-" + maxNights +
+                " for room type " + roomTypeId + " from " + from + " to " + to);
+    }
+    
+    @Override
+    public boolean isStayAllowed(Long roomTypeId, LocalDate checkIn, LocalDate checkOut) {
+        return validStay(checkIn, checkOut) && restrictions.allows(roomTypeId, checkIn, checkOut);
+    }
+    
+    @Override
+    public void registerChannel(String channelCode, String endpointUrl) {
+        ariFeed.register(channelCode, endpointUrl != null && !endpointUrl.isBlank() ? URI.create(endpointUrl) : null);
+        System.out.println("[ReservationManager] Registered distribution channel: " + channelCode);
+    }
+    
+    @Override
+    public void unregisterChannel(String channelCode) {
+        ariFeed.unregister(channelCode);
+        System.out.println("[ReservationManager] Unregistered distribution channel: " + channelCode);
+    }
+    
+    @Override
+    public String pullAriDelta(String channelCode) {
+        AriDeltaFeed.Delta delta = ariFeed.build(channelCode, LocalDate.now(), capacities());
+        if (delta == null) {
+            return null;
+        }
+        ariFeed.commit(delta);
+        return delta.message();
+    }
+    
+    @Override
+    public int pushAriDeltas() {
+        return ariFeed.push(LocalDate.now(), capacities());
+    }
+    
+    /**
+     * Periodic ARI push to channels with an endpoint; channels with no changes get nothing.
+     */
+    @Scheduled(fixedDelayString = "${smarttrack.reservation.ari-push-interval-ms:30000}")
+    public void scheduledAriPush() {
+        pushAriDeltas();
+    }
+    
+    @Override
+    public WaitlistEntry joinWaitlist(Long guestId, Long roomTypeId, LocalDate checkIn, LocalDate checkOut,
+                                      int numberOfGuests, int priority) {
+        Optional<RoomType> roomType = roomService.getAllRoomTypes().stream()
+                .filter(rt -> rt.getRoomTypeId().equals(roomTypeId))
+                .findFirst();
+        if (roomType.isEmpty() || !checkIn.isBefore(checkOut) || checkIn.isBefore(LocalDate.now())
+                || !restrictions.allows(roomTypeId, checkIn, checkOut)) {
+            System.out.println("[ReservationManager] Cannot waitlist stay " + checkIn + " to " + checkOut +
+                    " for room type: " + roomTypeId);
+            return null;
+        }
+        Guest guest = guestService.getGuestById(guestId).orElse(null);
+        if (guest == null) {
+            System.out.println("[ReservationManager] Cannot waitlist unknown guest ID: " + guestId);
+            return null;
+        }
+        if (refused(guest)) {
+            return null;
+        }
+        WaitlistEntry entry = new WaitlistEntry(waitlistIdGenerator.getAndIncrement(),
+                guest, roomType.get(), checkIn, checkOut,
+                numberOfGuests, priority, LocalDateTime.now(), "Waiting", null);
+        waitlist.add(entry);
+        System.out.println("[ReservationManager] Waitlisted entry " + entry.getWaitlistId() + " for guest ID: " + guestId);
+        
+        // Offer the stay's nights as if just freed, so rooms already available are taken at once
+        waitlist.freed(roomTypeId, checkIn, checkOut);
+        promoteWaitlist();
+        return entry;
+    }
+    
+    @Override
+    public void leaveWaitlist(Long waitlistId) {
+        WaitlistEntry entry = waitlist.get(waitlistId);
+        if (entry == null) {
+            return;
+        }
+        synchronized (entry) {
+            if (!"Waiting".equals(entry.getStatus())) {
+                return;
+            }
+            entry.setStatus("Withdrawn");
+        }
+        waitlist.remove(entry);
+        System.out.println("[ReservationManager] Withdrew waitlist entry: " + waitlistId);
+    }
+    
+    @Override
+    public Optional<WaitlistEntry> getWaitlistEntry(Long waitlistId) {
+        return Optional.ofNullable(waitlist.get(waitlistId));
+    }
+    
+    @Override
+    public List<WaitlistEntry> getWaitlist(Long roomTypeId) {
+        return waitlist.waiting(roomTypeId);
+    }
+    
+    @Override
+    public SearchCacheStats getSearchCacheStats() {
+        return searchCache.stats();
+    }
+    
+    @Override
+    public FlexibleAvailability searchFlexibleDates(LocalDate preferredCheckIn, int flexDays,
+                                                    int minLengthOfStay, int maxLengthOfStay, int occupancy) {
+        LocalDate firstArrival = preferredCheckIn.minusDays(flexDays);
+        LocalDate today = LocalDate.now();
+        if (firstArrival.isBefore(today)) {
+            firstArrival = today;
+        }
+        int arrivalDays = (int) Math.max(0, preferredCheckIn.plusDays(flexDays).toEpochDay() - firstArrival.toEpochDay() + 1);
+        int losCount = Math.max(0, maxLengthOfStay - minLengthOfStay + 1);
+        int nights = arrivalDays + maxLengthOfStay - 1;
+        LocalDate windowEnd = firstArrival.plusDays(nights);
+        
+        List<RoomType> roomTypes = roomService.getAllRoomTypes().stream()
+                .filter(rt -> rt.getMaxOccupancy() >= occupancy)
+                .collect(Collectors.toList());
+        Map<Long, Integer> capacities = capacities();
+        List<Long> roomTypeIds = new ArrayList<>();
+        int[][][] counts = new int[roomTypes.size()][arrivalDays][losCount];
+        BigDecimal[][][] prices = new BigDecimal[roomTypes.size()][arrivalDays][losCount];
+        
+        for (int t = 0; t < roomTypes.size(); t++) {
+            RoomType roomType = roomTypes.get(t);
+            roomTypeIds.add(roomType.getRoomTypeId());
+            int capacity = capacities.getOrDefault(roomType.getRoomTypeId(), 0);
+            int[] booked = inventoryLedger.booked(roomType.getRoomTypeId(), firstArrival, windowEnd);
+            
+            // For each arrival, extend the stay night by night keeping a running minimum;
+            // prices come from the rate calendar in constant time per cell
+            for (int a = 0; a < arrivalDays; a++) {
+                LocalDate arrival = firstArrival.plusDays(a);
+                int free = capacity;
+                for (int los = 1; los <= maxLengthOfStay; los++) {
+                    free = Math.min(free, capacity - booked[a + los - 1]);
+                    if (los >= minLengthOfStay) {
+                        boolean allowed = restrictions.allows(roomType.getRoomTypeId(), arrival, arrival.plusDays(los));
+                        counts[t][a][los - minLengthOfStay] = allowed ? Math.max(0, free) : 0;
+                        prices[t][a][los - minLengthOfStay] = roomService.quoteStay(roomType.getRoomTypeId(),
+                                arrival, arrival.plusDays(los));
+                    }
+                }
+            }
+        }
+        return new FlexibleAvailability(firstArrival, arrivalDays, minLengthOfStay, maxLengthOfStay,
+                roomTypeIds, counts, prices);
     }
     
     @Override
     public void markNoShow(Long reservationId) {
         getReservationById(reservationId).ifPresent(r -> {
-            r.setStatus("No-Show");
+            updateStatus(r, "No-Show");
             System.out.println("[ReservationManager] Marked no-show: " + reservationId);
         });
+        promoteWaitlist();
+    }
+    
+    @Override
+    public NoShowSweepSummary runNoShowSweep(LocalDate arrivalDate) {
+        long start = System.currentTimeMillis();
+        List<Reservation> arrivals = reservationIndex.arrivals(arrivalDate, arrivalDate);
+        List<Long> noShows = new ArrayList<>();
+        int roomsReleased = 0;
+        
+        for (Reservation r : arrivals) {
+            synchronized (r) {
+                if (!"Reserved".equals(r.getStatus()) && !"Confirmed".equals(r.getStatus())) {
+                    continue;
+                }
+                updateStatus(r, "No-Show");
+                if (r.getAssignedRoom() != null) {
+                    roomService.updateRoomStatus(r.getAssignedRoom().getRoomId(), "Available");
+                    r.setAssignedRoom(null);
+                    roomsReleased++;
+                }
+            }
+            noShows.add(r.getReservationId());
+        }
+        
+        // Waitlist entries for arrivals up to the swept date can no longer be booked
+        int expired = waitlist.expireArrivingBefore(arrivalDate.plusDays(1));
+        
+        NoShowSweepSummary summary = new NoShowSweepSummary(arrivalDate, arrivals.size(), noShows,
+                roomsReleased, System.currentTimeMillis() - start);
+        System.out.println("[ReservationManager] No-show sweep for " + arrivalDate + ": marked " +
+                noShows.size() + " of " + arrivals.size() + " arrivals, released " + roomsReleased +
+                " rooms, expired " + expired + " waitlist entries");
+        promoteWaitlist();
+        return summary;
+    }
+    
+    /**
+     * Nightly no-show sweep after the arrival cut-off; closes out the previous arrival date.
+     */
+    @Scheduled(cron = "${smarttrack.reservation.no-show-sweep-cron:0 0 2 * * *}")
+    public void scheduledNoShowSweep() {
+        runNoShowSweep(LocalDate.now().minusDays(1));
+    }
+    
+    @Override
+    public YieldRunSummary runYieldManagement() {
+        YieldRunSummary summary = yieldPricer.run(LocalDate.now(), capacities());
+        System.out.println("[ReservationManager] Yield run repriced " + summary.getDatesRecomputed() +
+                " dates across " + summary.getRoomTypesRepriced() + " room types in " +
+                summary.getDurationMillis() + " ms");
+        return summary;
+    }
+    
+    /**
+     * Periodic dynamic pricing run; cheap when little inventory changed.
+     */
+    @Scheduled(fixedDelayString = "${smarttrack.reservation.yield-interval-ms:300000}")
+    public void scheduledYieldRun() {
+        runYieldManagement();
     }
     
     @Override
@@ -167,4 +808,169 @@ public class ReservationManager implements ReservationService {
     public List<Reservation> getGuestReservationHistory(Long guestId) {
         return getReservationsByGuest(guestId);
     }
+    
+    @Override
+    public int reassignGuest(Long fromGuestId, Guest toGuest) {
+        List<Reservation> reservations = reservationIndex.byGuest(fromGuestId);
+        for (Reservation r : reservations) {
+            reservationIndex.update(r, () -> r.setGuest(toGuest));
+        }
+        System.out.println("[ReservationManager] Moved " + reservations.size() + " reservations from guest " +
+                fromGuestId + " to guest " + toGuest.getGuestId());
+        return reservations.size();
+    }
+    
+    /**
+     * Create an unsaved reservation, resolving guest and room type via service interfaces.
+     */
+    private Reservation buildReservation(Long guestId, Long roomTypeId, LocalDate checkIn, LocalDate checkOut,
+                                         int numberOfGuests, String specialRequests, String status) {
+        Reservation reservation = new Reservation();
+        reservation.setReservationId(idGenerator.getAndIncrement());
+        reservation.setCheckInDate(checkIn);
+        reservation.setCheckOutDate(checkOut);
+        reservation.setNumberOfGuests(numberOfGuests);
+        reservation.setSpecialRequests(specialRequests);
+        reservation.setStatus(status);
+        
+        // Link guest via service interface
+        guestService.getGuestById(guestId).ifPresent(reservation::setGuest);
+        
+        // Link room type via service interface
+        roomService.getAllRoomTypes().stream()
+                .filter(rt -> rt.getRoomTypeId().equals(roomTypeId))
+                .findFirst()
+                .ifPresent(reservation::setRoomType);
+        if (reservation.getRoomType() != null) {
+            reservation.setQuotedAmount(roomService.quoteStay(roomTypeId, checkIn, checkOut));
+        }
+        return reservation;
+    }
+    
+    /**
+     * Match nights released since the last call against the waitlist.
+     * Runs after the releasing operation, so a modification re-books its own nights first.
+     */
+    private void promoteWaitlist() {
+        waitlist.promoteFreed(this::promote);
+    }
+    
+    /**
+     * Book a waiting entry if its whole stay is free and still allowed.
+     * Entries of guests blacklisted since joining are withdrawn instead.
+     */
+    private boolean promote(WaitlistEntry entry) {
+        Long roomTypeId = entry.getRoomType().getRoomTypeId();
+        Reservation reservation;
+        synchronized (entry) {
+            if ("Waiting".equals(entry.getStatus()) && refused(entry.getGuest())) {
+                entry.setStatus("Withdrawn");
+                waitlist.remove(entry);
+                return false;
+            }
+            if (!"Waiting".equals(entry.getStatus())
+                    || !restrictions.allows(roomTypeId, entry.getCheckInDate(), entry.getCheckOutDate())
+                    || !inventoryLedger.tryReserve(roomTypeId, entry.getCheckInDate(), entry.getCheckOutDate(),
+                            capacity(roomTypeId))) {
+                return false;
+            }
+            Long guestId = entry.getGuest() != null ? entry.getGuest().getGuestId() : null;
+            reservation = buildReservation(guestId, roomTypeId, entry.getCheckInDate(), entry.getCheckOutDate(),
+                    entry.getNumberOfGuests(), null, "Reserved");
+            store(reservation, LocalDateTime.now());
+            entry.setReservationId(reservation.getReservationId());
+            entry.setStatus("Promoted");
+        }
+        System.out.println("[ReservationManager] Promoted waitlist entry " + entry.getWaitlistId() +
+                " to reservation " + reservation.getReservationId());
+        return true;
+    }
+    
+    /**
+     * Save a new reservation and put it on the guest's timeline.
+     * @param bookedAt When the booking was made (arrival day for migrated history)
+     */
+    private void store(Reservation reservation, LocalDateTime bookedAt) {
+        reservationDatabase.put(reservation.getReservationId(), reservation);
+        reservationIndex.add(reservation);
+        recordTimeline(reservation, bookedAt, "Booked " + describe(reservation));
+    }
+    
+    /**
+     * Blacklist screen for booking paths; logs refusals.
+     */
+    private boolean refused(Guest guest) {
+        if (!guestService.isBlacklisted(guest)) {
+            return false;
+        }
+        System.out.println("[ReservationManager] Refused booking for blacklisted guest: " + guest.getGuestId());
+        return true;
+    }
+    
+    private void recordTimeline(Reservation r, LocalDateTime time, String description) {
+        if (r.getGuest() != null) {
+            guestService.recordTimelineEvent(new TimelineEvent(r.getGuest().getGuestId(), 0, time,
+                    "Reservation", r.getReservationId(), description, r.getQuotedAmount(), r.getStatus()));
+        }
+    }
+    
+    private static String describe(Reservation r) {
+        return (r.getRoomType() != null ? r.getRoomType().getTypeName() : "room") + ", " +
+                r.getCheckInDate() + " to " + r.getCheckOutDate();
+    }
+    
+    /**
+     * Sellable rooms of a type (everything not out of service).
+     */
+    private int capacity(Long roomTypeId) {
+        return (int) roomService.getAllRooms().stream()
+                .filter(r -> r.getRoomType() != null && r.getRoomType().getRoomTypeId().equals(roomTypeId))
+                .filter(r -> !"Out of Service".equals(r.getStatus()))
+                .count();
+    }
+    
+    /**
+     * Sellable rooms per room type, from a single pass over the room inventory.
+     */
+    private Map<Long, Integer> capacities() {
+        Map<Long, Integer> capacities = new HashMap<>();
+        roomService.getAllRooms().stream()
+                .filter(r -> r.getRoomType() != null && !"Out of Service".equals(r.getStatus()))
+                .forEach(r -> capacities.merge(r.getRoomType().getRoomTypeId(), 1, Integer::sum));
+        return capacities;
+    }
+    
+    private static boolean validStay(LocalDate checkIn, LocalDate checkOut) {
+        return checkIn != null && checkOut != null && checkIn.isBefore(checkOut);
+    }
+    
+    private boolean holdsInventory(Reservation r) {
+        return r.getRoomType() != null && r.getCheckInDate() != null && r.getCheckOutDate() != null
+                && INVENTORY_STATUSES.contains(r.getStatus());
+    }
+    
+    /**
+     * Change a reservation's status, keeping the status index and inventory ledger in step.
+     * Leaving the Held status also cancels the pending hold expiry.
+     */
+    private void updateStatus(Reservation r, String status) {
+        String previous = r.getStatus();
+        reservationIndex.update(r, () -> {
+            boolean wasCounted = holdsInventory(r);
+            if ("Held".equals(r.getStatus()) && !"Held".equals(status)) {
+                holdWheel.cancel(r.getReservationId());
+            }
+            r.setStatus(status);
+            boolean isCounted = holdsInventory(r);
+            Long roomTypeId = r.getRoomType() != null ? r.getRoomType().getRoomTypeId() : null;
+            if (wasCounted && !isCounted) {
+                inventoryLedger.release(roomTypeId, r.getCheckInDate(), r.getCheckOutDate());
+            } else if (!wasCounted && isCounted) {
+                inventoryLedger.reserve(roomTypeId, r.getCheckInDate(), r.getCheckOutDate());
+            }
+        });
+        if (!status.equals(previous)) {
+            recordTimeline(r, LocalDateTime.now(), status + " " + describe(r));
+        }
+    }
 }
@@ -0,0 +1,140 @@
+package com.hotelsmarttrack.reservation;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * RestrictionCalendar - stay restrictions per room type and date.
+ * Closed-to-arrival and closed-to-departure are bitmaps indexed by epoch day; minimum and
+ * maximum length of stay (applied on the arrival date) are small arrays of nights, 0 meaning none.
+ * Edits publish a fresh immutable copy, so checking a stay never locks and costs a few bit
+ * tests and array reads.
+ * Private to the smarttrack-reservation component.
+ */
+final class RestrictionCalendar {
+
+    private static final Restrictions NONE = new Restrictions(new BitSet(), new BitSet(), 0, new short[0], new short[0]);
+
+    private final Map<Long, Restrictions> byRoomType = new ConcurrentHashMap<>();
+
+    /**
+     * Whether a stay [checkIn, checkOut) of a room type passes every restriction.
+     * A stay of no nights never does; a stay without a room type has no restrictions.
+     */
+    boolean allows(Long roomTypeId, LocalDate checkIn, LocalDate checkOut) {
+        if (!checkIn.isBefore(checkOut)) {
+            return false;
+        }
+        Restrictions restrictions = of(roomTypeId);
+        return restrictions == null || restrictions.allows(checkIn.toEpochDay(), checkOut.toEpochDay());
+    }
+
+    boolean closedToArrival(Long roomTypeId, LocalDate date) {
+        Restrictions restrictions = of(roomTypeId);
+        return restrictions != null && restrictions.closedToArrival().get((int) date.toEpochDay());
+    }
+
+    boolean closedToDeparture(Long roomTypeId, LocalDate date) {
+        Restrictions restrictions = of(roomTypeId);
+        return restrictions != null && restrictions.closedToDeparture().get((int) date.toEpochDay());
+    }
+
+    /**
+     * Minimum nights for arrivals on a date, 0 for none.
+     */
+    int minNights(Long roomTypeId, LocalDate date) {
+        Restrictions restrictions = of(roomTypeId);
+        return restrictions != null ? restrictions.nights(restrictions.minNights(), date.toEpochDay()) : 0;
+    }
+
+    /**
+     * Maximum nights for arrivals on a date, 0 for none.
+     */
+    int maxNights(Long roomTypeId, LocalDate date) {
+        Restrictions restrictions = of(roomTypeId);
+        return restrictions != null ? restrictions.nights(restrictions.maxNights(), date.toEpochDay()) : 0;
+    }
+
+    /**
+     * Open or close dates [from, to) to arrival.
+     */
+    void setClosedToArrival(Long roomTypeId, LocalDate from, LocalDate to, boolean closed) {
+        byRoomType.compute(roomTypeId, (id, current) -> orNone(current)
+                .withClosedToArrival((int) from.toEpochDay(), (int) to.toEpochDay(), closed));
+    }
+
+    /**
+     * Open or close dates [from, to) to departure.
+     */
+    void setClosedToDeparture(Long roomTypeId, LocalDate from, LocalDate to, boolean closed) {
+        byRoomType.compute(roomTypeId, (id, current) -> orNone(current)
+                .withClosedToDeparture((int) from.toEpochDay(), (int) to.toEpochDay(), closed));
+    }
+
+    /**
+     * Set minimum and maximum nights for arrivals on dates [from, to); 0 removes a limit.
+     */
+    void setLengthOfStay(Long roomTypeId, LocalDate from, LocalDate to, int minNights, int maxNights) {
+        byRoomType.compute(roomTypeId, (id, current) -> orNone(current)
+                .withLengthOfStay(from.toEpochDay(), to.toEpochDay(), (short) minNights, (short) maxNights));
+    }
+
+    private static Restrictions orNone(Restrictions current) {
+        return current != null ? current : NONE;
+    }
+
+    private Restrictions of(Long roomTypeId) {
+        return roomTypeId != null ? byRoomType.get(roomTypeId) : null;
+    }
+
+    private record Restrictions(BitSet closedToArrival, BitSet closedToDeparture,
+                                long origin, short[] minNights, short[] maxNights) {
+
+        boolean allows(long checkIn, long checkOut) {
+            if (closedToArrival.get((int) checkIn) || closedToDeparture.get((int) checkOut)) {
+                return false;
+            }
+            long nights = checkOut - checkIn;
+            int min = nights(minNights, checkIn);
+            int max = nights(maxNights, checkIn);
+            return nights >= min && (max == 0 || nights <= max);
+        }
+
+        int nights(short[] layer, long day) {
+            long i = day - origin;
+            return i >= 0 && i < layer.length ? layer[(int) i] : 0;
+        }
+
+        Restrictions withClosedToArrival(int from, int to, boolean closed) {
+            BitSet copy = (BitSet) closedToArrival.clone();
+            copy.set(from, Math.max(from, to), closed);
+            return new Restrictions(copy, closedToDeparture, origin, minNights, maxNights);
+        }
+
+        Restrictions withClosedToDeparture(int from, int to, boolean closed) {
+            BitSet copy = (BitSet) closedToDeparture.clone();
+            copy.set(from, Math.max(from, to), closed);
+            return new Restrictions(closedToArrival, copy, origin, minNights, maxNights);
+        }
+
+        Restrictions withLengthOfStay(long from, long to, short min, short max) {
+            if (from >= to) {
+                return this;
+            }
+            long newOrigin = minNights.length == 0 ? from : Math.min(origin, from);
+            long newEnd = minNights.length == 0 ? to : Math.max(origin + minNights.length, to);
+            short[] mins = new short[(int) (newEnd - newOrigin)];
+            short[] maxs = new short[mins.length];
+            if (minNights.length > 0) {
+                System.arraycopy(minNights, 0, mins, (int) (origin - newOrigin), minNights.length);
+                System.arraycopy(maxNights, 0, maxs, (int) (origin - newOrigin), maxNights.length);
+            }
+            Arrays.fill(mins, (int) (from - newOrigin), (int) (to - newOrigin), min);
+            Arrays.fill(maxs, (int) (from - newOrigin), (int) (to - newOrigin), max);
+            return new Restrictions(closedToArrival, closedToDeparture, newOrigin, mins, maxs);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.hotelsmarttrack.reservation;
+
+import com.hotelsmarttrack.base.entity.Reservation;
+import com.hotelsmarttrack.base.entity.Room;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * RoomAssignmentPlanner - greedy best-fit room assignment for a batch of arrivals.
+ * Each arrival gets one room for its whole stay (no in-stay moves), chosen to avoid
+ * leaving short unsellable gaps in the room's occupancy calendar while honouring
+ * floor requests and keeping group members on the same floor.
+ * Room types are independent, so they are planned in parallel.
+ * Private to the smarttrack-reservation component.
+ */
+final class RoomAssignmentPlanner {
+
+    private static final Pattern FLOOR_REQUEST = Pattern.compile("floor\\s*(\\d+)", Pattern.CASE_INSENSITIVE);
+
+    // Gaps this short between two bookings are hard to sell
+    private static final int ORPHAN_GAP_NIGHTS = 2;
+    private static final int ORPHAN_GAP_COST = 4;
+    private static final int OPEN_GAP_COST = 1;
+    private static final int FLOOR_REQUEST_COST = 3;
+    private static final int GROUP_FLOOR_COST = 2;
+
+    private static final Comparator<Reservation> PLACEMENT_ORDER = Comparator
+            .comparing(Reservation::getGroupBlockId, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(r -> -ChronoUnit.DAYS.between(r.getCheckInDate(), r.getCheckOutDate()))
+            .thenComparing(Reservation::getReservationId);
+
+    /**
+     * Plan room assignments.
+     * @param arrivals Unassigned arrivals to place
+     * @param rooms Sellable rooms
+     * @param booked Reservations already holding a room in the planning window
+     * @return Reservation to room for every arrival that could be placed
+     */
+    Map<Reservation, Room> plan(List<Reservation> arrivals, List<Room> rooms, List<Reservation> booked) {
+        // Occupancy calendar per room: check-in -> check-out
+        Map<Long, NavigableMap<LocalDate, LocalDate>> calendars = new HashMap<>();
+        rooms.forEach(room -> calendars.put(room.getRoomId(), new TreeMap<>()));
+        for (Reservation r : booked) {
+            NavigableMap<LocalDate, LocalDate> calendar = calendars.get(r.getAssignedRoom().getRoomId());
+            if (calendar != null) {
+                calendar.put(r.getCheckInDate(), r.getCheckOutDate());
+            }
+        }
+
+        Map<Long, List<Room>> roomsByType = rooms.stream()
+                .sorted(Comparator.comparing(Room::getRoomNumber))
+                .collect(Collectors.groupingBy(room -> room.getRoomType().getRoomTypeId()));
+        Map<Long, List<Reservation>> arrivalsByType = arrivals.stream()
+                .collect(Collectors.groupingBy(r -> r.getRoomType().getRoomTypeId()));
+
+        Map<Reservation, Room> plan = new ConcurrentHashMap<>();
+        arrivalsByType.entrySet().parallelStream().forEach(entry -> plan.putAll(planRoomType(entry.getValue(),
+                roomsByType.getOrDefault(entry.getKey(), new ArrayList<>()), calendars)));
+        return plan;
+    }
+
+    private Map<Reservation, Room> planRoomType(List<Reservation> arrivals, List<Room> rooms,
+                                                Map<Long, NavigableMap<LocalDate, LocalDate>> calendars) {
+        Map<Reservation, Room> plan = new HashMap<>();
+        Map<Long, Integer> groupFloors = new HashMap<>();
+        List<Reservation> ordered = new ArrayList<>(arrivals);
+        ordered.sort(PLACEMENT_ORDER);
+
+        for (Reservation r : ordered) {
+            Integer requestedFloor = requestedFloor(r.getSpecialRequests());
+            Integer groupFloor = r.getGroupBlockId() != null ? groupFloors.get(r.getGroupBlockId()) : null;
+            Room best = null;
+            int bestCost = Integer.MAX_VALUE;
+
+            for (Room room : rooms) {
+                NavigableMap<LocalDate, LocalDate> calendar = calendars.get(room.getRoomId());
+                if (!isFree(calendar, r.getCheckInDate(), r.getCheckOutDate())) {
+                    continue;
+                }
+                int cost = gapCost(calendar, r.getCheckInDate(), r.getCheckOutDate());
+                if (requestedFloor != null && room.getFloorNumber() != requestedFloor) {
+                    cost += FLOOR_REQUEST_COST;
+                }
+                if (groupFloor != null && room.getFloorNumber() != groupFloor) {
+                    cost += GROUP_FLOOR_COST;
+                }
+                if (cost < bestCost) {
+                    best = room;
+                    bestCost = cost;
+                    if (cost == 0) {
+                        break;
+                    }
+                }
+            }
+
+            if (best != null) {
+                calendars.get(best.getRoomId()).put(r.getCheckInDate(), r.getCheckOutDate());
+                plan.put(r, best);
+                if (r.getGroupBlockId() != null) {
+                    groupFloors.putIfAbsent(r.getGroupBlockId(), best.getFloorNumber());
+                }
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Bookings never overlap, so only the last booking starting before checkOut can clash.
+     */
+    private static boolean isFree(NavigableMap<LocalDate, LocalDate> calendar, LocalDate checkIn, LocalDate checkOut) {
+        Map.Entry<LocalDate, LocalDate> before = calendar.lowerEntry(checkOut);
+        return before == null || !before.getValue().isAfter(checkIn);
+    }
+
+    private static int gapCost(NavigableMap<LocalDate, LocalDate> calendar, LocalDate checkIn, LocalDate checkOut) {
+        Map.Entry<LocalDate, LocalDate> previous = calendar.floorEntry(checkIn);
+        Map.Entry<LocalDate, LocalDate> next = calendar.ceilingEntry(checkOut);
+        int cost = previous == null ? OPEN_GAP_COST
+                : gapCost(ChronoUnit.DAYS.between(previous.getValue(), checkIn));
+        cost += next == null ? OPEN_GAP_COST
+                : gapCost(ChronoUnit.DAYS.between(checkOut, next.getKey()));
+        return cost;
+    }
+
+    private static int gapCost(long nights) {
+        if (nights == 0) {
+            return 0;
+        }
+        return nights <= ORPHAN_GAP_NIGHTS ? ORPHAN_GAP_COST : OPEN_GAP_COST;
+    }
+
+    private static Integer requestedFloor(String specialRequests) {
+        if (specialRequests == null) {
+            return null;
+        }
+        Matcher matcher = FLOOR_REQUEST.matcher(specialRequests);
+        return matcher.find() ? Integer.valueOf(matcher.group(1)) : null;
+    }
+}
@@ -0,0 +1,173 @@
+package com.hotelsmarttrack.reservation;
+
+import com.hotelsmarttrack.base.entity.WaitlistEntry;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.LongConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Waitlist - waiting guests per room type, in priority order for every night they need.
+ * Freed night ranges are queued by the inventory ledger listener and matched after the
+ * releasing operation completes, looking only at the top few entries of each freed night,
+ * so matching costs time proportional to the freed nights rather than the waitlist size.
+ * Private to the smarttrack-reservation component.
+ */
+final class Waitlist {
+
+    // Entries considered per freed night; deeper entries wait for the next release
+    private static final int CANDIDATES_PER_NIGHT = 4;
+
+    private static final Comparator<WaitlistEntry> PRIORITY_ORDER = Comparator
+            .comparing(WaitlistEntry::getPriority, Comparator.reverseOrder())
+            .thenComparing(WaitlistEntry::getRequestedTime)
+            .thenComparing(WaitlistEntry::getWaitlistId);
+
+    private record Freed(Long roomTypeId, LocalDate from, LocalDate to) {
+    }
+
+    private final Map<Long, WaitlistEntry> entries = new ConcurrentHashMap<>();
+    // Room type -> epoch day -> waiting entries needing that night
+    private final Map<Long, Map<Long, NavigableSet<WaitlistEntry>>> byNight = new ConcurrentHashMap<>();
+    private final Queue<Freed> freed = new ConcurrentLinkedQueue<>();
+
+    void add(WaitlistEntry entry) {
+        entries.put(entry.getWaitlistId(), entry);
+        Map<Long, NavigableSet<WaitlistEntry>> nights =
+                byNight.computeIfAbsent(entry.getRoomType().getRoomTypeId(), id -> new ConcurrentHashMap<>());
+        forEachNight(entry, day -> nights.compute(day, (d, set) -> {
+            NavigableSet<WaitlistEntry> bucket = set != null ? set : new ConcurrentSkipListSet<>(PRIORITY_ORDER);
+            bucket.add(entry);
+            return bucket;
+        }));
+    }
+
+    void remove(WaitlistEntry entry) {
+        Map<Long, NavigableSet<WaitlistEntry>> nights = byNight.get(entry.getRoomType().getRoomTypeId());
+        if (nights != null) {
+            forEachNight(entry, day -> nights.computeIfPresent(day, (d, set) -> {
+                set.remove(entry);
+                return set.isEmpty() ? null : set;
+            }));
+        }
+    }
+
+    /**
+     * Drop entries arriving before a date, whatever their status; ones still waiting become Expired.
+     * @return Waiting entries expired
+     */
+    int expireArrivingBefore(LocalDate date) {
+        int expired = 0;
+        for (WaitlistEntry entry : entries.values()) {
+            if (!entry.getCheckInDate().isBefore(date)) {
+                continue;
+            }
+            synchronized (entry) {
+                if ("Waiting".equals(entry.getStatus())) {
+                    entry.setStatus("Expired");
+                    expired++;
+                }
+            }
+            remove(entry);
+            entries.remove(entry.getWaitlistId());
+        }
+        return expired;
+    }
+
+    WaitlistEntry get(Long waitlistId) {
+        return entries.get(waitlistId);
+    }
+
+    /**
+     * Still-waiting entries of a room type, in promotion order.
+     */
+    List<WaitlistEntry> waiting(Long roomTypeId) {
+        return entries.values().stream()
+                .filter(e -> "Waiting".equals(e.getStatus()) && e.getRoomType().getRoomTypeId().equals(roomTypeId))
+                .sorted(PRIORITY_ORDER)
+                .toList();
+    }
+
+    /**
+     * Queue freed nights of a room type; ignored when nobody waits for that type.
+     */
+    void freed(Long roomTypeId, LocalDate from, LocalDate to) {
+        if (byNight.containsKey(roomTypeId)) {
+            freed.add(new Freed(roomTypeId, from, to));
+        }
+    }
+
+    /**
+     * Offer every queued freed range to the best-fitting waiting entries.
+     * Candidates are the top entries of each freed night, tried by priority, then by the share
+     * of their stay the freed range covers, then by request time.
+     * @param promote Books an entry if its whole stay now fits; returns true on success
+     * @return Entries promoted
+     */
+    int promoteFreed(Predicate<WaitlistEntry> promote) {
+        int promoted = 0;
+        Freed range;
+        while ((range = freed.poll()) != null) {
+            Map<Long, NavigableSet<WaitlistEntry>> nights = byNight.get(range.roomTypeId());
+            if (nights == null) {
+                continue;
+            }
+            Set<WaitlistEntry> candidates = new LinkedHashSet<>();
+            for (long day = range.from().toEpochDay(); day < range.to().toEpochDay(); day++) {
+                NavigableSet<WaitlistEntry> set = nights.get(day);
+                if (set == null) {
+                    continue;
+                }
+                Iterator<WaitlistEntry> it = set.iterator();
+                for (int i = 0; i < CANDIDATES_PER_NIGHT && it.hasNext(); i++) {
+                    candidates.add(it.next());
+                }
+            }
+            List<WaitlistEntry> ordered = new ArrayList<>(candidates);
+            ordered.sort(bestFit(range));
+            for (WaitlistEntry entry : ordered) {
+                if (promote.test(entry)) {
+                    remove(entry);
+                    promoted++;
+                }
+            }
+        }
+        return promoted;
+    }
+
+    private static Comparator<WaitlistEntry> bestFit(Freed range) {
+        return Comparator.comparing(WaitlistEntry::getPriority, Comparator.reverseOrder())
+                .thenComparing(entry -> -coverage(entry, range))
+                .thenComparing(WaitlistEntry::getRequestedTime)
+                .thenComparing(WaitlistEntry::getWaitlistId);
+    }
+
+    /**
+     * Share of an entry's nights that fall inside the freed range.
+     */
+    private static double coverage(WaitlistEntry entry, Freed range) {
+        LocalDate from = entry.getCheckInDate().isAfter(range.from()) ? entry.getCheckInDate() : range.from();
+        LocalDate to = entry.getCheckOutDate().isBefore(range.to()) ? entry.getCheckOutDate() : range.to();
+        long stay = ChronoUnit.DAYS.between(entry.getCheckInDate(), entry.getCheckOutDate());
+        return stay > 0 ? Math.max(0, ChronoUnit.DAYS.between(from, to)) / (double) stay : 0;
+    }
+
+    private static void forEachNight(WaitlistEntry entry, LongConsumer action) {
+        for (long day = entry.getCheckInDate().toEpochDay(); day < entry.getCheckOutDate().toEpochDay(); day++) {
+            action.accept(day);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.hotelsmarttrack.reservation;
+
+import com.hotelsmarttrack.base.entity.RoomType;
+import com.hotelsmarttrack.base.entity.YieldRunSummary;
+import com.hotelsmarttrack.base.service.RoomService;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * YieldPricer - occupancy-driven dynamic pricing.
+ * Forecast occupancy for a night is rooms sold plus the booking pace (rooms picked up since
+ * the last run, per day over at least one day) projected over the days left, capped at
+ * two weeks, divided by sellable rooms. A configurable curve maps it to a multiplier of
+ * the room type's base price; the room service stores the multiplier, so base price changes
+ * apply to yield-managed nights without a run.
+ * Inventory changes mark nights dirty, so a run only reprices those nights, except for
+ * room types whose sellable rooms changed (capacity version moved), which are repriced
+ * over the whole horizon.
+ * Private to the smarttrack-reservation component.
+ */
+final class YieldPricer {
+
+    static final int HORIZON_DAYS = 365;
+    private static final int PACE_LOOKAHEAD_DAYS = 14;
+    private static final double MIN_PACE_WINDOW_DAYS = 1.0;
+
+    private final InventoryLedger inventoryLedger;
+    private final RoomService roomService;
+
+    // Forecast occupancy threshold -> price multiplier
+    private final NavigableMap<Double, BigDecimal> curve;
+
+    // Net rooms picked up per room type and epoch day since the last run; the keys are the dirty nights
+    private final Map<Long, Map<Long, Integer>> pickup = new ConcurrentHashMap<>();
+    private final Map<Long, Long> pricedCapacityVersions = new ConcurrentHashMap<>();
+    private Instant lastRun = Instant.now();
+
+    /**
+     * @param curveSpec Comma-separated threshold:multiplier pairs, e.g. "0.0:1.00,0.75:1.15"
+     * @throws IllegalArgumentException if a step is malformed, or its threshold or multiplier is negative
+     */
+    YieldPricer(InventoryLedger inventoryLedger, RoomService roomService, String curveSpec) {
+        this.inventoryLedger = inventoryLedger;
+        this.roomService = roomService;
+        this.curve = parseCurve(curveSpec);
+        inventoryLedger.addListener(this::recordChange);
+    }
+
+    private void recordChange(Long roomTypeId, LocalDate from, LocalDate to, int rooms) {
+        Map<Long, Integer> nights = pickup.computeIfAbsent(roomTypeId, id -> new ConcurrentHashMap<>());
+        for (long day = from.toEpochDay(); day < to.toEpochDay(); day++) {
+            nights.merge(day, rooms, Integer::sum);
+        }
+    }
+
+    /**
+     * Reprice dirty nights of every room type from today over the horizon.
+     * Room types run in parallel; each writes its prices in one bulk update.
+     * @param capacities Sellable rooms per room type ID
+     */
+    synchronized YieldRunSummary run(LocalDate today, Map<Long, Integer> capacities) {
+        long start = System.currentTimeMillis();
+        Instant now = Instant.now();
+        double elapsedDays = Math.max(MIN_PACE_WINDOW_DAYS, Duration.between(lastRun, now).toMillis() / 86_400_000.0);
+        lastRun = now;
+
+        AtomicInteger repriced = new AtomicInteger();
+        AtomicInteger recomputed = new AtomicInteger();
+        List<RoomType> roomTypes = roomService.getAllRoomTypes();
+        roomTypes.parallelStream().forEach(roomType -> {
+            int dates = reprice(roomType, today, capacities.getOrDefault(roomType.getRoomTypeId(), 0), elapsedDays);
+            if (dates > 0) {
+                repriced.incrementAndGet();
+                recomputed.addAndGet(dates);
+            }
+        });
+
+        return new YieldRunSummary(today, HORIZON_DAYS, repriced.get(), recomputed.get(),
+                System.currentTimeMillis() - start);
+    }
+
+    private int reprice(RoomType roomType, LocalDate today, int capacity, double elapsedDays) {
+        Long roomTypeId = roomType.getRoomTypeId();
+        long first = today.toEpochDay();
+        long end = first + HORIZON_DAYS;
+
+        // Drain this type's dirty nights; changes arriving meanwhile stay for the next run
+        Map<Long, Integer> picked = new TreeMap<>();
+        Map<Long, Integer> nights = pickup.get(roomTypeId);
+        if (nights != null) {
+            for (Long day : nights.keySet()) {
+                Integer rooms = nights.remove(day);
+                if (rooms != null && day >= first && day < end) {
+                    picked.put(day, rooms);
+                }
+            }
+        }
+        long capacityVersion = roomService.getCapacityVersion(roomTypeId);
+        Long pricedVersion = pricedCapacityVersions.put(roomTypeId, capacityVersion);
+        long[] days = pricedVersion == null || pricedVersion != capacityVersion
+                ? LongStream.range(first, end).toArray()
+                : picked.keySet().stream().mapToLong(Long::longValue).toArray();
+        if (days.length == 0) {
+            return 0;
+        }
+
+        int[] booked = inventoryLedger.booked(roomTypeId, today, today.plusDays(HORIZON_DAYS));
+        Map<LocalDate, BigDecimal> multipliers = Arrays.stream(days).parallel().boxed()
+                .collect(Collectors.toConcurrentMap(LocalDate::ofEpochDay, day -> {
+                    double pace = Math.max(0, picked.getOrDefault(day, 0)) / elapsedDays;
+                    long daysOut = Math.min(day - first, PACE_LOOKAHEAD_DAYS);
+                    double forecast = capacity == 0 ? 1.0
+                            : Math.min(1.0, (booked[(int) (day - first)] + pace * daysOut) / capacity);
+                    return multiplier(forecast);
+                }));
+        roomService.setRateMultipliers(roomTypeId, multipliers);
+        return days.length;
+    }
+
+    private BigDecimal multiplier(double forecastOccupancy) {
+        Map.Entry<Double, BigDecimal> step = curve.floorEntry(forecastOccupancy);
+        return step != null ? step.getValue() : BigDecimal.ONE;
+    }
+
+    private static NavigableMap<Double, BigDecimal> parseCurve(String curveSpec) {
+        NavigableMap<Double, BigDecimal> curve = new TreeMap<>();
+        for (String step : curveSpec.split(",")) {
+            String[] parts = step.trim().split(":");
+            double threshold;
+            BigDecimal multiplier;
+            try {
+                if (parts.length != 2) {
+                    throw new NumberFormatException("expected threshold:multiplier");
+                }
+                threshold = Double.parseDouble(parts[0].trim());
+                multiplier = new BigDecimal(parts[1].trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid yield curve step '" + step.trim() + "': " + e.getMessage());
+            }
+            // A typo must not quietly change pricing, so the whole curve is refused
+            if (!(threshold >= 0) || multiplier.signum() < 0 || curve.put(threshold, multiplier) != null) {
+                throw new IllegalArgumentException("Invalid yield curve step '" + step.trim() + "'");
+            }
+        }
+        return curve;
+    }
+}
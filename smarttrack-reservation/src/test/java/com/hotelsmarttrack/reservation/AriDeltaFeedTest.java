@@ -0,0 +1,72 @@
+package com.hotelsmarttrack.reservation;
+
+import com.hotelsmarttrack.base.entity.RoomType;
+import com.hotelsmarttrack.base.service.RoomService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * ARI deltas per channel: first snapshot, changed nights only, and nights rolling into the horizon.
+ */
+class AriDeltaFeedTest {
+
+    private static final RoomType STANDARD = new RoomType(1L, "Standard", "", 2, new BigDecimal("100.00"),
+            BigDecimal.ZERO);
+    private static final LocalDate TODAY = LocalDate.of(2026, 6, 1);
+    private static final Map<Long, Integer> CAPACITIES = Map.of(1L, 10);
+
+    private final InventoryLedger ledger = new InventoryLedger();
+    private AriDeltaFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        RoomService roomService = mock(RoomService.class);
+        when(roomService.getAllRoomTypes()).thenReturn(List.of(STANDARD));
+        when(roomService.getNightlyRate(eq(1L), any())).thenReturn(new BigDecimal("100.00"));
+        feed = new AriDeltaFeed(ledger, new RestrictionCalendar(), roomService);
+        ledger.addListener((roomTypeId, from, to, rooms) -> feed.record(roomTypeId, from, to, AriDeltaFeed.AVAILABILITY));
+        feed.register("OTA", null);
+    }
+
+    @Test
+    void firstSyncSendsTheWholeHorizonThenOnlyChanges() {
+        AriDeltaFeed.Delta snapshot = feed.build("OTA", TODAY, CAPACITIES);
+        assertEquals(365, snapshot.cells());
+        feed.commit(snapshot);
+
+        assertEquals(0, feed.build("OTA", TODAY, CAPACITIES).cells());
+
+        ledger.reserve(1L, TODAY.plusDays(3), TODAY.plusDays(5));
+        AriDeltaFeed.Delta delta = feed.build("OTA", TODAY, CAPACITIES);
+        assertEquals(2, delta.cells());
+        assertTrue(delta.message().contains("\"from\":\"2026-06-04\",\"to\":\"2026-06-06\",\"available\":9"),
+                delta.message());
+    }
+
+    @Test
+    void nightsRollingIntoTheHorizonAreSentInFull() {
+        feed.commit(feed.build("OTA", TODAY, CAPACITIES));
+
+        AriDeltaFeed.Delta nextDay = feed.build("OTA", TODAY.plusDays(1), CAPACITIES);
+        assertEquals(1, nextDay.cells());
+        assertTrue(nextDay.message().contains("\"from\":\"2027-06-01\",\"to\":\"2027-06-02\",\"available\":10,"
+                + "\"rate\":100.00"), nextDay.message());
+
+        // A channel that missed a few days gets every night it has not seen
+        assertEquals(3, feed.build("OTA", TODAY.plusDays(3), CAPACITIES).cells());
+        feed.commit(feed.build("OTA", TODAY.plusDays(3), CAPACITIES));
+        assertEquals(0, feed.build("OTA", TODAY.plusDays(3), CAPACITIES).cells());
+    }
+}
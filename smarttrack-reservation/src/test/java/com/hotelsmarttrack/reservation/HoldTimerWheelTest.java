@@ -0,0 +1,134 @@
+package com.hotelsmarttrack.reservation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Hold expiry on the hashed timer wheel: firing, cancelling, rescheduling and shutdown.
+ */
+class HoldTimerWheelTest {
+
+    private static final Duration TICK = Duration.ofMillis(10);
+
+    private final List<Long> expired = new CopyOnWriteArrayList<>();
+    private HoldTimerWheel wheel;
+
+    @AfterEach
+    void tearDown() {
+        if (wheel != null) {
+            wheel.close();
+        }
+    }
+
+    @Test
+    void rejectsWheelSizesThatAreNotPowersOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new HoldTimerWheel(TICK, 100, expired::add));
+    }
+
+    @Test
+    void expiresHoldsOnceTheirDeadlinePasses() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(2);
+        wheel = new HoldTimerWheel(TICK, 16, id -> {
+            expired.add(id);
+            latch.countDown();
+        });
+        wheel.schedule(1L, Duration.ofMillis(30));
+        wheel.schedule(2L, Duration.ofMillis(50));
+
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertEquals(List.of(1L, 2L), expired);
+        assertEquals(0, wheel.pending());
+    }
+
+    @Test
+    void keepsDeadlinesBeyondOneRevolutionUntilDue() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        wheel = new HoldTimerWheel(TICK, 4, id -> {
+            expired.add(id);
+            latch.countDown();
+        });
+        // Four slots of 10 ms: a 300 ms hold passes its bucket several times before it is due
+        long start = System.nanoTime();
+        wheel.schedule(7L, Duration.ofMillis(300));
+
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 280);
+        assertEquals(List.of(7L), expired);
+    }
+
+    @Test
+    void cancelledHoldsNeverExpire() throws InterruptedException {
+        wheel = new HoldTimerWheel(TICK, 16, expired::add);
+        wheel.schedule(1L, Duration.ofMillis(30));
+
+        assertTrue(wheel.cancel(1L));
+        assertFalse(wheel.cancel(1L));
+        Thread.sleep(150);
+        assertTrue(expired.isEmpty());
+    }
+
+    @Test
+    void reschedulingReplacesThePreviousDeadline() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        wheel = new HoldTimerWheel(TICK, 16, id -> {
+            expired.add(id);
+            latch.countDown();
+        });
+        wheel.schedule(1L, Duration.ofMillis(20));
+        wheel.schedule(1L, Duration.ofMillis(400));
+        assertEquals(1, wheel.pending());
+
+        Thread.sleep(150);
+        assertTrue(expired.isEmpty());
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertEquals(List.of(1L), expired);
+    }
+
+    @Test
+    void failingExpiryDoesNotStopTheWheel() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        wheel = new HoldTimerWheel(TICK, 16, id -> {
+            if (id == 1L) {
+                throw new IllegalStateException("reservation gone");
+            }
+            latch.countDown();
+        });
+        wheel.schedule(1L, Duration.ofMillis(20));
+        wheel.schedule(2L, Duration.ofMillis(60));
+
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void closeStopsTheTickerThread() throws InterruptedException {
+        wheel = new HoldTimerWheel(TICK, 16, expired::add);
+        assertTrue(tickerThreads().contains("reservation-hold-wheel"));
+        wheel.schedule(1L, Duration.ofMillis(50));
+
+        wheel.close();
+        Thread.sleep(150);
+
+        assertTrue(expired.isEmpty());
+        assertEquals(1, wheel.pending());
+        assertFalse(tickerThreads().contains("reservation-hold-wheel"));
+    }
+
+    private static Set<String> tickerThreads() {
+        Set<String> names = ConcurrentHashMap.newKeySet();
+        Thread.getAllStackTraces().keySet().forEach(thread -> names.add(thread.getName()));
+        return names;
+    }
+}
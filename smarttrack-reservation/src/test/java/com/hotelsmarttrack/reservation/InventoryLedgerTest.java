@@ -0,0 +1,142 @@
+package com.hotelsmarttrack.reservation;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Night counts, capacity checks, moves and all-or-nothing group blocks in the inventory ledger.
+ */
+class InventoryLedgerTest {
+
+    private static final Long STANDARD = 1L;
+    private static final Long SUITE = 2L;
+    private static final LocalDate JUNE_1 = LocalDate.of(2026, 6, 1);
+
+    private final InventoryLedger ledger = new InventoryLedger();
+
+    @Test
+    void countsOnlyTheNightsOfAStay() {
+        ledger.reserve(STANDARD, JUNE_1, JUNE_1.plusDays(2));
+        ledger.reserve(STANDARD, JUNE_1.plusDays(1), JUNE_1.plusDays(3));
+
+        assertArrayEquals(new int[]{0, 1, 2, 1, 0}, ledger.booked(STANDARD, JUNE_1.minusDays(1), JUNE_1.plusDays(4)));
+        assertEquals(3, ledger.available(STANDARD, JUNE_1, JUNE_1.plusDays(3), 5));
+    }
+
+    @Test
+    void growsInBothDirectionsWithoutLosingCounts() {
+        ledger.reserve(STANDARD, JUNE_1, JUNE_1.plusDays(1));
+        ledger.reserve(STANDARD, JUNE_1.minusDays(400), JUNE_1.minusDays(399));
+        ledger.reserve(STANDARD, JUNE_1.plusDays(700), JUNE_1.plusDays(701));
+
+        assertArrayEquals(new int[]{1}, ledger.booked(STANDARD, JUNE_1, JUNE_1.plusDays(1)));
+        assertArrayEquals(new int[]{1}, ledger.booked(STANDARD, JUNE_1.minusDays(400), JUNE_1.minusDays(399)));
+        assertArrayEquals(new int[]{1}, ledger.booked(STANDARD, JUNE_1.plusDays(700), JUNE_1.plusDays(701)));
+    }
+
+    @Test
+    void tryReserveStopsAtCapacityOnAnyNight() {
+        ledger.reserve(STANDARD, JUNE_1.plusDays(2), JUNE_1.plusDays(3));
+
+        assertTrue(ledger.tryReserve(STANDARD, JUNE_1, JUNE_1.plusDays(2), 1));
+        assertFalse(ledger.tryReserve(STANDARD, JUNE_1.plusDays(1), JUNE_1.plusDays(4), 1));
+        assertArrayEquals(new int[]{1, 1, 1, 0}, ledger.booked(STANDARD, JUNE_1, JUNE_1.plusDays(4)));
+    }
+
+    @Test
+    void moveKeepsTheOldNightsWhenTheNewOnesAreFull() {
+        ledger.reserve(STANDARD, JUNE_1, JUNE_1.plusDays(2));
+        ledger.reserve(STANDARD, JUNE_1.plusDays(3), JUNE_1.plusDays(4));
+
+        assertFalse(ledger.tryMove(STANDARD, JUNE_1, JUNE_1.plusDays(2), JUNE_1.plusDays(2), JUNE_1.plusDays(4), 1));
+        assertArrayEquals(new int[]{1, 1, 0, 1}, ledger.booked(STANDARD, JUNE_1, JUNE_1.plusDays(4)));
+
+        // The stay's own nights count as free, so extending it into them fits
+        assertTrue(ledger.tryMove(STANDARD, JUNE_1, JUNE_1.plusDays(2), JUNE_1.plusDays(1), JUNE_1.plusDays(3), 1));
+        assertArrayEquals(new int[]{0, 1, 1, 1}, ledger.booked(STANDARD, JUNE_1, JUNE_1.plusDays(4)));
+    }
+
+    @Test
+    void releaseGivesRoomsBackAndNotifiesListeners() {
+        List<Integer> changes = new ArrayList<>();
+        ledger.addListener((roomTypeId, from, to, rooms) -> changes.add(rooms));
+        ledger.reserve(STANDARD, JUNE_1, JUNE_1.plusDays(1));
+        ledger.release(STANDARD, JUNE_1, JUNE_1.plusDays(1));
+
+        assertEquals(List.of(1, -1), changes);
+        assertEquals(2, ledger.available(STANDARD, JUNE_1, JUNE_1.plusDays(1), 2));
+    }
+
+    @Test
+    void blockIsBookedForEveryTypeOrNone() {
+        ledger.reserve(SUITE, JUNE_1.plusDays(1), JUNE_1.plusDays(2));
+        Map<Long, Integer> capacities = Map.of(STANDARD, 10, SUITE, 2);
+
+        assertFalse(ledger.tryReserveBlock(Map.of(STANDARD, 5, SUITE, 2), JUNE_1, JUNE_1.plusDays(3), capacities));
+        assertArrayEquals(new int[]{0, 0, 0}, ledger.booked(STANDARD, JUNE_1, JUNE_1.plusDays(3)));
+
+        assertTrue(ledger.tryReserveBlock(Map.of(STANDARD, 5, SUITE, 1), JUNE_1, JUNE_1.plusDays(3), capacities));
+        assertArrayEquals(new int[]{5, 5, 5}, ledger.booked(STANDARD, JUNE_1, JUNE_1.plusDays(3)));
+        assertArrayEquals(new int[]{1, 2, 1}, ledger.booked(SUITE, JUNE_1, JUNE_1.plusDays(3)));
+    }
+
+    @Test
+    void blockRejectsNonPositiveCountsAndEmptyRanges() {
+        ledger.reserve(STANDARD, JUNE_1, JUNE_1.plusDays(1));
+        Map<Long, Integer> capacities = Map.of(STANDARD, 10);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> ledger.tryReserveBlock(Map.of(STANDARD, -3), JUNE_1, JUNE_1.plusDays(1), capacities));
+        assertThrows(IllegalArgumentException.class,
+                () -> ledger.tryReserveBlock(Map.of(STANDARD, 0), JUNE_1, JUNE_1.plusDays(1), capacities));
+        assertThrows(IllegalArgumentException.class,
+                () -> ledger.tryReserveBlock(Map.of(STANDARD, 2), JUNE_1.plusDays(1), JUNE_1, capacities));
+        assertArrayEquals(new int[]{1}, ledger.booked(STANDARD, JUNE_1, JUNE_1.plusDays(1)));
+    }
+
+    @Test
+    void concurrentBookingsNeverExceedCapacity() throws InterruptedException {
+        int capacity = 50;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 400; i++) {
+            boolean block = i % 4 == 0;
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (block) {
+                    ledger.tryReserveBlock(Map.of(STANDARD, 2, SUITE, 1), JUNE_1, JUNE_1.plusDays(2),
+                            Map.of(STANDARD, capacity, SUITE, capacity));
+                } else {
+                    ledger.tryReserve(STANDARD, JUNE_1.plusDays(1), JUNE_1.plusDays(3), capacity);
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        // The shared night is contended by both kinds; a block may find only one room left
+        int[] nights = ledger.booked(STANDARD, JUNE_1, JUNE_1.plusDays(3));
+        assertTrue(nights[1] == capacity || nights[1] == capacity - 1);
+        assertTrue(nights[0] <= capacity && nights[2] <= capacity);
+    }
+}
@@ -0,0 +1,100 @@
+package com.hotelsmarttrack.reservation;
+
+import com.hotelsmarttrack.base.entity.Reservation;
+import com.hotelsmarttrack.base.entity.Room;
+import com.hotelsmarttrack.base.entity.RoomAssignmentPlan;
+import com.hotelsmarttrack.base.entity.RoomType;
+import com.hotelsmarttrack.base.service.GuestService;
+import com.hotelsmarttrack.base.service.RoomService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Booking against the inventory ledger (reservations, holds, modifications, stay validation) and room assignment.
+ */
+class ReservationManagerTest {
+
+    private static final RoomType STANDARD = new RoomType(1L, "Standard", "", 2, new BigDecimal("100.00"),
+            BigDecimal.ZERO);
+
+    private final LocalDate checkIn = LocalDate.now().plusDays(7);
+    private RoomService roomService;
+    private ReservationManager manager;
+
+    @BeforeEach
+    void setUp() {
+        roomService = mock(RoomService.class);
+        when(roomService.getAllRoomTypes()).thenReturn(List.of(STANDARD));
+        when(roomService.getAllRooms()).thenReturn(List.of(new Room(1L, "101", 1, STANDARD, "Available")));
+        manager = new ReservationManager(mock(GuestService.class), roomService, "0.0:1.00");
+    }
+
+    @AfterEach
+    void tearDown() {
+        manager.shutdown();
+    }
+
+    @Test
+    void reservationsAreRefusedOnceTheTypeIsSoldOut() {
+        assertNotNull(manager.createReservation(1L, 1L, checkIn, checkIn.plusDays(2), 1, null));
+
+        assertNull(manager.createReservation(2L, 1L, checkIn.plusDays(1), checkIn.plusDays(3), 1, null));
+        assertNotNull(manager.createReservation(2L, 1L, checkIn.plusDays(2), checkIn.plusDays(3), 1, null));
+    }
+
+    @Test
+    void aHoldOnTheLastRoomBlocksDirectBookings() {
+        Reservation hold = manager.holdReservation(1L, 1L, checkIn, checkIn.plusDays(2), 1, Duration.ofMinutes(10));
+        assertEquals("Held", hold.getStatus());
+
+        assertNull(manager.createReservation(2L, 1L, checkIn, checkIn.plusDays(2), 1, null));
+
+        manager.releaseHold(hold.getReservationId());
+        assertNotNull(manager.createReservation(2L, 1L, checkIn, checkIn.plusDays(2), 1, null));
+    }
+
+    @Test
+    void autoAssignedRoomsAreMarkedOccupied() {
+        Reservation reservation = manager.createReservation(1L, 1L, checkIn, checkIn.plusDays(2), 1, null);
+
+        RoomAssignmentPlan plan = manager.autoAssignRooms(checkIn);
+
+        assertEquals(Map.of(reservation.getReservationId(), 1L), plan.getAssignments());
+        verify(roomService).updateRoomStatus(1L, "Occupied");
+    }
+
+    @Test
+    void reservationsWithoutARoomTypeTakeNoInventory() {
+        Reservation reservation = manager.createReservation(1L, null, checkIn, checkIn.plusDays(2), 1, null);
+
+        assertNull(reservation.getRoomType());
+        assertNotNull(manager.createReservation(2L, 1L, checkIn, checkIn.plusDays(2), 1, null));
+    }
+
+    @Test
+    void staysOfNoNightsAreRejected() {
+        assertNull(manager.createReservation(1L, 1L, checkIn, checkIn, 1, null));
+        assertNull(manager.holdReservation(1L, 1L, checkIn.plusDays(1), checkIn, 1, Duration.ofMinutes(10)));
+        Reservation booked = manager.createReservation(1L, 1L, checkIn, checkIn.plusDays(2), 1, null);
+
+        assertNull(manager.modifyReservation(booked.getReservationId(), checkIn.plusDays(2), checkIn, 1));
+
+        // The original nights are still booked
+        assertEquals(checkIn, booked.getCheckInDate());
+        assertNull(manager.createReservation(2L, 1L, checkIn, checkIn.plusDays(1), 1, null));
+    }
+}
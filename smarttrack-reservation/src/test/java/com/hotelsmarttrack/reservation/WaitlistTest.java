@@ -0,0 +1,122 @@
+package com.hotelsmarttrack.reservation;
+
+import com.hotelsmarttrack.base.entity.RoomType;
+import com.hotelsmarttrack.base.entity.WaitlistEntry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Waitlist matching of freed nights by priority and fit, withdrawal and expiry of past arrivals.
+ */
+class WaitlistTest {
+
+    private static final RoomType STANDARD = new RoomType(1L, "Standard", "", 2, new BigDecimal("100.00"), BigDecimal.ZERO);
+    private static final RoomType SUITE = new RoomType(2L, "Suite", "", 4, new BigDecimal("250.00"), BigDecimal.ZERO);
+    private static final LocalDate JUNE_1 = LocalDate.of(2026, 6, 1);
+    private static final LocalDateTime REQUESTED = LocalDateTime.of(2026, 5, 1, 9, 0);
+
+    private final Waitlist waitlist = new Waitlist();
+    private final List<Long> offered = new ArrayList<>();
+
+    @Test
+    void offersFreedNightsByPriorityThenRequestTime() {
+        waitlist.add(entry(1L, STANDARD, JUNE_1, 2, 0, REQUESTED));
+        waitlist.add(entry(2L, STANDARD, JUNE_1, 2, 5, REQUESTED.plusHours(1)));
+        waitlist.add(entry(3L, STANDARD, JUNE_1, 2, 0, REQUESTED.minusHours(1)));
+
+        waitlist.freed(STANDARD.getRoomTypeId(), JUNE_1, JUNE_1.plusDays(2));
+        waitlist.promoteFreed(this::offerOnly);
+
+        assertEquals(List.of(2L, 3L, 1L), offered);
+    }
+
+    @Test
+    void prefersEntriesTheFreedRangeCoversBest() {
+        waitlist.add(entry(1L, STANDARD, JUNE_1, 4, 0, REQUESTED));
+        waitlist.add(entry(2L, STANDARD, JUNE_1.plusDays(1), 1, 0, REQUESTED.plusHours(1)));
+
+        waitlist.freed(STANDARD.getRoomTypeId(), JUNE_1.plusDays(1), JUNE_1.plusDays(2));
+        waitlist.promoteFreed(this::offerOnly);
+
+        assertEquals(List.of(2L, 1L), offered);
+    }
+
+    @Test
+    void promotedEntriesLeaveTheNightIndex() {
+        WaitlistEntry entry = entry(1L, STANDARD, JUNE_1, 2, 0, REQUESTED);
+        waitlist.add(entry);
+
+        waitlist.freed(STANDARD.getRoomTypeId(), JUNE_1, JUNE_1.plusDays(1));
+        assertEquals(1, waitlist.promoteFreed(e -> true));
+
+        waitlist.freed(STANDARD.getRoomTypeId(), JUNE_1, JUNE_1.plusDays(1));
+        assertEquals(0, waitlist.promoteFreed(this::offerOnly));
+        assertTrue(offered.isEmpty());
+    }
+
+    @Test
+    void freedNightsOfOtherTypesOrDatesAreIgnored() {
+        waitlist.add(entry(1L, STANDARD, JUNE_1, 2, 0, REQUESTED));
+
+        waitlist.freed(SUITE.getRoomTypeId(), JUNE_1, JUNE_1.plusDays(2));
+        waitlist.freed(STANDARD.getRoomTypeId(), JUNE_1.plusDays(2), JUNE_1.plusDays(5));
+        waitlist.promoteFreed(this::offerOnly);
+
+        assertTrue(offered.isEmpty());
+    }
+
+    @Test
+    void waitingListsOnlyWaitingEntriesOfTheType() {
+        WaitlistEntry withdrawn = entry(1L, STANDARD, JUNE_1, 2, 9, REQUESTED);
+        withdrawn.setStatus("Withdrawn");
+        waitlist.add(withdrawn);
+        waitlist.add(entry(2L, STANDARD, JUNE_1, 2, 1, REQUESTED));
+        waitlist.add(entry(3L, SUITE, JUNE_1, 2, 1, REQUESTED));
+        waitlist.add(entry(4L, STANDARD, JUNE_1, 2, 3, REQUESTED));
+
+        assertEquals(List.of(4L, 2L), waitlist.waiting(STANDARD.getRoomTypeId()).stream()
+                .map(WaitlistEntry::getWaitlistId)
+                .toList());
+    }
+
+    @Test
+    void expiryDropsPastArrivalsFromBothIndexes() {
+        WaitlistEntry past = entry(1L, STANDARD, JUNE_1, 3, 0, REQUESTED);
+        WaitlistEntry promoted = entry(2L, STANDARD, JUNE_1, 1, 0, REQUESTED);
+        promoted.setStatus("Promoted");
+        WaitlistEntry future = entry(3L, STANDARD, JUNE_1.plusDays(1), 2, 0, REQUESTED);
+        waitlist.add(past);
+        waitlist.add(promoted);
+        waitlist.add(future);
+
+        assertEquals(1, waitlist.expireArrivingBefore(JUNE_1.plusDays(1)));
+
+        assertEquals("Expired", past.getStatus());
+        assertNull(waitlist.get(1L));
+        assertNull(waitlist.get(2L));
+        assertEquals(future, waitlist.get(3L));
+        waitlist.freed(STANDARD.getRoomTypeId(), JUNE_1, JUNE_1.plusDays(3));
+        waitlist.promoteFreed(this::offerOnly);
+        assertEquals(List.of(3L), offered);
+    }
+
+    private boolean offerOnly(WaitlistEntry entry) {
+        offered.add(entry.getWaitlistId());
+        return false;
+    }
+
+    private static WaitlistEntry entry(Long waitlistId, RoomType roomType, LocalDate checkIn, int nights,
+                                       int priority, LocalDateTime requested) {
+        return new WaitlistEntry(waitlistId, null, roomType, checkIn, checkIn.plusDays(nights), 1, priority,
+                requested, "Waiting", null);
+    }
+}
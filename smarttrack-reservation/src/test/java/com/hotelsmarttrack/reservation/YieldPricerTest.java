@@ -0,0 +1,41 @@
+package com.hotelsmarttrack.reservation;
+
+import com.hotelsmarttrack.base.service.RoomService;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Yield curve configuration: malformed steps are refused when the pricer is built.
+ */
+class YieldPricerTest {
+
+    private final RoomService roomService = mock(RoomService.class);
+
+    @Test
+    void acceptsWellFormedCurves() {
+        assertDoesNotThrow(() -> pricer("0.0:1.00,0.75:1.15,0.9:1.30"));
+        assertDoesNotThrow(() -> pricer(" 0.0 : 0.90 , 0.5 : 1.00 "));
+    }
+
+    @Test
+    void refusesMalformedSteps() {
+        assertThrows(IllegalArgumentException.class, () -> pricer("0.0:1.00,0.75;1.15"));
+        assertThrows(IllegalArgumentException.class, () -> pricer("0.0:1.00,0.75:1.l5"));
+        assertThrows(IllegalArgumentException.class, () -> pricer("0.0:1.00,,0.9:1.30"));
+        assertThrows(IllegalArgumentException.class, () -> pricer("0.0:1.00:1.10"));
+    }
+
+    @Test
+    void refusesNegativeAndRepeatedSteps() {
+        assertThrows(IllegalArgumentException.class, () -> pricer("-0.5:1.00"));
+        assertThrows(IllegalArgumentException.class, () -> pricer("0.0:-1.00"));
+        assertThrows(IllegalArgumentException.class, () -> pricer("0.0:1.00,0.0:1.20"));
+    }
+
+    private YieldPricer pricer(String curve) {
+        return new YieldPricer(new InventoryLedger(), roomService, curve);
+    }
+}
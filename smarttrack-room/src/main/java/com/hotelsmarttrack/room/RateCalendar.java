@@ -0,0 +1,219 @@
+package com.hotelsmarttrack.room;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * RateCalendar - nightly prices per room type and date.
+ * Each room type keeps two layers as primitive arrays indexed by epoch day: manual overrides
+ * in cents (weekends, seasons, events) and yield management multipliers in basis points.
+ * A night resolves to its override, else the base price times its multiplier, else the base price,
+ * so a base price change carries through to yield-managed nights.
+ * Prefix sums over the resolved prices make a stay quote two array reads.
+ * Private to the smarttrack-room component.
+ */
+final class RateCalendar {
+
+    private static final long UNSET = -1;
+    private static final long BASIS_POINTS = 10_000;
+
+    private final Map<Long, TypeRates> byRoomType = new ConcurrentHashMap<>();
+
+    /**
+     * Set the base price of a room type, registering it if new.
+     */
+    void setBaseRate(Long roomTypeId, BigDecimal rate) {
+        byRoomType.computeIfAbsent(roomTypeId, id -> new TypeRates()).setBase(toCents(rate));
+    }
+
+    /**
+     * Override (or clear, when rate is null) the price of the nights in [from, to) falling on the given days.
+     * @param days Days of week to change, or null for every night
+     * @return false if the room type is unknown
+     * @throws IllegalArgumentException if the rate is negative
+     */
+    boolean setRates(Long roomTypeId, LocalDate from, LocalDate to, Set<DayOfWeek> days, BigDecimal rate) {
+        if (rate != null && rate.signum() < 0) {
+            throw new IllegalArgumentException("Rates cannot be negative: " + rate);
+        }
+        TypeRates rates = byRoomType.get(roomTypeId);
+        if (rates == null) {
+            return false;
+        }
+        rates.set(from.toEpochDay(), to.toEpochDay(), days, rate != null ? toCents(rate) : UNSET);
+        return true;
+    }
+
+    /**
+     * Replace the base price multiplier of the given nights in one rebuild.
+     * @return Epoch days whose multiplier actually changed, in ascending order
+     *         (empty if the room type is unknown)
+     * @throws IllegalArgumentException if a multiplier is missing or negative; no night is changed then
+     */
+    long[] setMultipliers(Long roomTypeId, Map<LocalDate, BigDecimal> multipliers) {
+        for (Map.Entry<LocalDate, BigDecimal> entry : multipliers.entrySet()) {
+            if (entry.getValue() == null || entry.getValue().signum() < 0) {
+                throw new IllegalArgumentException("Invalid rate multiplier for " + entry.getKey() + ": " +
+                        entry.getValue());
+            }
+        }
+        TypeRates typeRates = byRoomType.get(roomTypeId);
+        if (typeRates == null || multipliers.isEmpty()) {
+            return new long[0];
+        }
+        long[] days = new long[multipliers.size()];
+        long[] basisPoints = new long[multipliers.size()];
+        int i = 0;
+        for (Map.Entry<LocalDate, BigDecimal> entry : multipliers.entrySet()) {
+            days[i] = entry.getKey().toEpochDay();
+            basisPoints[i++] = entry.getValue().movePointRight(4).setScale(0, RoundingMode.HALF_UP).longValueExact();
+        }
+        return typeRates.setMultipliers(days, basisPoints);
+    }
+
+    /**
+     * Price of one night, or null if the room type is unknown.
+     */
+    BigDecimal nightlyRate(Long roomTypeId, LocalDate date) {
+        TypeRates rates = byRoomType.get(roomTypeId);
+        return rates != null ? fromCents(rates.prices.nightly(date.toEpochDay())) : null;
+    }
+
+    /**
+     * Total price of the nights [checkIn, checkOut), or null if the room type is unknown.
+     */
+    BigDecimal quote(Long roomTypeId, LocalDate checkIn, LocalDate checkOut) {
+        TypeRates rates = byRoomType.get(roomTypeId);
+        return rates != null ? fromCents(rates.prices.total(checkIn.toEpochDay(), checkOut.toEpochDay())) : null;
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    /**
+     * Price layers for one room type. Writers rebuild an immutable price table,
+     * so quotes never lock and always see a consistent calendar.
+     */
+    private static final class TypeRates {
+        private long baseCents;
+        private long origin;
+        private long[] overrides = new long[0];
+        private long[] multipliers = new long[0];
+        private volatile Prices prices = new Prices(0, 0, new long[1]);
+
+        synchronized void setBase(long cents) {
+            baseCents = cents;
+            rebuild();
+        }
+
+        synchronized void set(long from, long to, Set<DayOfWeek> days, long cents) {
+            if (from >= to) {
+                return;
+            }
+            ensure(from, to);
+            for (long day = from; day < to; day++) {
+                if (days == null || days.contains(dayOfWeek(day))) {
+                    overrides[(int) (day - origin)] = cents;
+                }
+            }
+            rebuild();
+        }
+
+        synchronized long[] setMultipliers(long[] days, long[] basisPoints) {
+            long from = Arrays.stream(days).min().getAsLong();
+            long to = Arrays.stream(days).max().getAsLong() + 1;
+            ensure(from, to);
+            long[] changed = new long[days.length];
+            int count = 0;
+            for (int i = 0; i < days.length; i++) {
+                int index = (int) (days[i] - origin);
+                if (multipliers[index] != basisPoints[i]) {
+                    multipliers[index] = basisPoints[i];
+                    changed[count++] = days[i];
+                }
+            }
+            if (count > 0) {
+                rebuild();
+            }
+            changed = Arrays.copyOf(changed, count);
+            Arrays.sort(changed);
+            return changed;
+        }
+
+        private void rebuild() {
+            long[] prefix = new long[overrides.length + 1];
+            for (int i = 0; i < overrides.length; i++) {
+                long cents = overrides[i] != UNSET ? overrides[i]
+                        : multipliers[i] != UNSET ? (baseCents * multipliers[i] + BASIS_POINTS / 2) / BASIS_POINTS
+                        : baseCents;
+                prefix[i + 1] = prefix[i] + cents;
+            }
+            prices = new Prices(origin, baseCents, prefix);
+        }
+
+        private void ensure(long from, long to) {
+            if (overrides.length == 0) {
+                origin = from;
+                overrides = unset((int) (to - from));
+                multipliers = unset((int) (to - from));
+                return;
+            }
+            long newOrigin = Math.min(origin, from);
+            long newEnd = Math.max(origin + overrides.length, to);
+            if (newOrigin == origin && newEnd == origin + overrides.length) {
+                return;
+            }
+            overrides = grow(overrides, newOrigin, newEnd);
+            multipliers = grow(multipliers, newOrigin, newEnd);
+            origin = newOrigin;
+        }
+
+        private long[] grow(long[] layer, long newOrigin, long newEnd) {
+            long[] grown = unset((int) (newEnd - newOrigin));
+            System.arraycopy(layer, 0, grown, (int) (origin - newOrigin), layer.length);
+            return grown;
+        }
+
+        private static long[] unset(int nights) {
+            long[] layer = new long[nights];
+            Arrays.fill(layer, UNSET);
+            return layer;
+        }
+
+        private static DayOfWeek dayOfWeek(long epochDay) {
+            // Epoch day 0 (1970-01-01) was a Thursday
+            return DayOfWeek.of((int) Math.floorMod(epochDay + 3, 7) + 1);
+        }
+    }
+
+    /**
+     * Resolved prices: prefix[i] is the total of the first i nights from origin.
+     */
+    private record Prices(long origin, long baseCents, long[] prefix) {
+
+        long nightly(long day) {
+            return total(day, day + 1);
+        }
+
+        long total(long from, long to) {
+            if (from >= to) {
+                return 0;
+            }
+            int nights = prefix.length - 1;
+            int lo = (int) Math.min(nights, Math.max(0, from - origin));
+            int hi = (int) Math.min(nights, Math.max(0, to - origin));
+            return prefix[hi] - prefix[lo] + (to - from - (hi - lo)) * baseCents;
+        }
+    }
+}
@@ -2,14 +2,20 @@ package com.hotelsmarttrack.room;
 
 import com.hotelsmarttrack.base.entity.Room;
 import com.hotelsmarttrack.base.entity.RoomType;
+import com.hotelsmarttrack.base.service.RateChangeListener;
 import com.hotelsmarttrack.base.service.RoomService;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
@@ -21,11 +27,24 @@ import java.util.stream.Collectors;
 @Service
 public class RoomManager implements RoomService {
     
+    private static final String OUT_OF_SERVICE = "Out of Service";
+    
     private final List<Room> roomDatabase = new ArrayList<>();
     private final List<RoomType> roomTypeDatabase = new ArrayList<>();
     private final AtomicLong roomIdGenerator = new AtomicLong(1);
     private final AtomicLong roomTypeIdGenerator = new AtomicLong(1);
     
+    // Per room type change counters, so readers can tell when cached room data went stale;
+    // capacity versions move only when the number of sellable rooms may have changed
+    private final Map<Long, AtomicLong> roomVersions = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicLong> capacityVersions = new ConcurrentHashMap<>();
+    private final AtomicLong roomsVersion = new AtomicLong();
+    private final AtomicLong roomTypesVersion = new AtomicLong();
+    
+    // Per-date prices on top of each room type's base price
+    private final RateCalendar rateCalendar = new RateCalendar();
+    private final List<RateChangeListener> rateChangeListeners = new CopyOnWriteArrayList<>();
+    
     @Override
     public RoomType createRoomType(String typeName, String description, int maxOccupancy, BigDecimal basePrice) {
         RoomType roomType = new RoomType();
@@ -37,6 +56,8 @@ public class RoomManager implements RoomService {
         roomType.setTaxRate(BigDecimal.valueOf(0.10)); // Default 10% tax
         
         roomTypeDatabase.add(roomType);
+        roomTypesVersion.incrementAndGet();
+        rateCalendar.setBaseRate(roomType.getRoomTypeId(), basePrice);
         System.out.println("[RoomManager] Created room type: " + typeName);
         return roomType;
     }
@@ -49,6 +70,9 @@ public class RoomManager implements RoomService {
         roomType.ifPresent(rt -> {
             rt.setBasePrice(newPrice);
             rt.setTaxRate(newTaxRate);
+            roomTypesVersion.incrementAndGet();
+            rateCalendar.setBaseRate(roomTypeId, newPrice);
+            fireRatesChanged(roomTypeId, null, null);
             System.out.println("[RoomManager] Updated pricing for: " + rt.getTypeName());
         });
         return roomType.orElse(null);
@@ -59,6 +83,58 @@ public class RoomManager implements RoomService {
         return new ArrayList<>(roomTypeDatabase);
     }
     
+    @Override
+    public void setRate(Long roomTypeId, LocalDate from, LocalDate to, BigDecimal rate) {
+        setRate(roomTypeId, from, to, null, rate);
+    }
+    
+    @Override
+    public void setRate(Long roomTypeId, LocalDate from, LocalDate to, Set<DayOfWeek> days, BigDecimal rate) {
+        if (rateCalendar.setRates(roomTypeId, from, to, days, rate)) {
+            fireRatesChanged(roomTypeId, from, to);
+            System.out.println("[RoomManager] Set rate " + rate + " for room type " + roomTypeId +
+                    " from " + from + " to " + to + (days != null ? " on " + days : ""));
+        }
+    }
+    
+    @Override
+    public void clearRate(Long roomTypeId, LocalDate from, LocalDate to) {
+        if (rateCalendar.setRates(roomTypeId, from, to, null, null)) {
+            fireRatesChanged(roomTypeId, from, to);
+            System.out.println("[RoomManager] Cleared rates for room type " + roomTypeId +
+                    " from " + from + " to " + to);
+        }
+    }
+    
+    @Override
+    public void setRateMultipliers(Long roomTypeId, Map<LocalDate, BigDecimal> multipliers) {
+        long[] changed = rateCalendar.setMultipliers(roomTypeId, multipliers);
+        // Report each run of consecutive changed nights once
+        int start = 0;
+        for (int i = 1; i <= changed.length; i++) {
+            if (i == changed.length || changed[i] != changed[i - 1] + 1) {
+                fireRatesChanged(roomTypeId, LocalDate.ofEpochDay(changed[start]),
+                        LocalDate.ofEpochDay(changed[i - 1] + 1));
+                start = i;
+            }
+        }
+    }
+    
+    @Override
+    public BigDecimal getNightlyRate(Long roomTypeId, LocalDate date) {
+        return rateCalendar.nightlyRate(roomTypeId, date);
+    }
+    
+    @Override
+    public BigDecimal quoteStay(Long roomTypeId, LocalDate checkIn, LocalDate checkOut) {
+        return rateCalendar.quote(roomTypeId, checkIn, checkOut);
+    }
+    
+    @Override
+    public void addRateChangeListener(RateChangeListener listener) {
+        rateChangeListeners.add(listener);
+    }
+    
     @Override
     public Room createRoom(String roomNumber, int floorNumber, Long roomTypeId) {
         RoomType roomType = roomTypeDatabase.stream()
@@ -74,6 +150,8 @@ public class RoomManager implements RoomService {
         room.setStatus("Available");
         
         roomDatabase.add(room);
+        touch(room);
+        touchCapacity(room);
         System.out.println("[RoomManager] Created room: " + roomNumber);
         return room;
     }
@@ -84,6 +162,10 @@ public class RoomManager implements RoomService {
         if (existing.isPresent()) {
             roomDatabase.remove(existing.get());
             roomDatabase.add(room);
+            touch(existing.get());
+            touch(room);
+            touchCapacity(existing.get());
+            touchCapacity(room);
         }
         return room;
     }
@@ -109,14 +191,23 @@ public class RoomManager implements RoomService {
     
     @Override
     public void deleteRoom(Long roomId) {
+        Optional<Room> room = getRoomById(roomId);
         roomDatabase.removeIf(r -> r.getRoomId().equals(roomId));
+        // Bump versions only after the change is visible, so readers never cache the old list as new
+        room.ifPresent(this::touch);
+        room.ifPresent(this::touchCapacity);
         System.out.println("[RoomManager] Deleted room ID: " + roomId);
     }
     
     @Override
     public void updateRoomStatus(Long roomId, String status) {
         getRoomById(roomId).ifPresent(room -> {
+            boolean serviceChanged = OUT_OF_SERVICE.equals(room.getStatus()) != OUT_OF_SERVICE.equals(status);
             room.setStatus(status);
+            touch(room);
+            if (serviceChanged) {
+                touchCapacity(room);
+            }
             System.out.println("[RoomManager] Updated room " + room.getRoomNumber() + " status to: " + status);
         });
     }
@@ -135,4 +226,53 @@ public class RoomManager implements RoomService {
                 .filter(r -> r.getRoomType() != null && r.getRoomType().getRoomTypeId().equals(roomTypeId))
                 .collect(Collectors.toList());
     }
+    
+    @Override
+    public long getRoomVersion(Long roomTypeId) {
+        AtomicLong version = roomTypeId != null ? roomVersions.get(roomTypeId) : null;
+        return version != null ? version.get() : 0L;
+    }
+    
+    @Override
+    public long getCapacityVersion(Long roomTypeId) {
+        AtomicLong version = roomTypeId != null ? capacityVersions.get(roomTypeId) : null;
+        return version != null ? version.get() : 0L;
+    }
+    
+    @Override
+    public long getRoomTypesVersion() {
+        return roomTypesVersion.get();
+    }
+    
+    @Override
+    public long getRoomsVersion() {
+        return roomsVersion.get();
+    }
+    
+    /**
+     * Record a change to a room, for the room list and the room's type.
+     */
+    private void touch(Room room) {
+        roomsVersion.incrementAndGet();
+        if (room.getRoomType() != null) {
+            roomVersions.computeIfAbsent(room.getRoomType().getRoomTypeId(), id -> new AtomicLong())
+                    .incrementAndGet();
+        }
+    }
+    
+    /**
+     * Record a change to the sellable rooms of the room's type.
+     */
+    private void touchCapacity(Room room) {
+        if (room.getRoomType() != null) {
+            capacityVersions.computeIfAbsent(room.getRoomType().getRoomTypeId(), id -> new AtomicLong())
+                    .incrementAndGet();
+        }
+    }
+    
+    private void fireRatesChanged(Long roomTypeId, LocalDate from, LocalDate to) {
+        for (RateChangeListener listener : rateChangeListeners) {
+            listener.ratesChanged(roomTypeId, from, to);
+        }
+    }
 }
@@ -1,8 +1,16 @@
 package com.hotelsmarttrack.stay;
 
+import com.hotelsmarttrack.base.entity.CheckoutResult;
+import com.hotelsmarttrack.base.entity.Guest;
 import com.hotelsmarttrack.base.entity.IncidentalCharge;
+import com.hotelsmarttrack.base.entity.Invoice;
+import com.hotelsmarttrack.base.entity.NightAuditSummary;
+import com.hotelsmarttrack.base.entity.Room;
+import com.hotelsmarttrack.base.entity.RoomType;
 import com.hotelsmarttrack.base.entity.Stay;
+import com.hotelsmarttrack.base.entity.TimelineEvent;
 import com.hotelsmarttrack.base.service.BillingService;
+import com.hotelsmarttrack.base.service.GuestService;
 import com.hotelsmarttrack.base.service.ReservationService;
 import com.hotelsmarttrack.base.service.RoomService;
 import com.hotelsmarttrack.base.service.StayService;
@@ -10,11 +18,23 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -25,27 +45,51 @@ import java.util.stream.Collectors;
 @Service
 public class StayManager implements StayService {
     
-    private final List<Stay> stayDatabase = new ArrayList<>();
-    private final List<IncidentalCharge> chargeDatabase = new ArrayList<>();
+    private final Map<Long, Stay> stayDatabase = new ConcurrentSkipListMap<>();
+    private final Collection<IncidentalCharge> chargeDatabase = new ConcurrentLinkedQueue<>();
     private final AtomicLong stayIdGenerator = new AtomicLong(1);
     private final AtomicLong chargeIdGenerator = new AtomicLong(1);
     
+    // In-house stays keyed by stay ID, so the night audit never scans checked-out history
+    private final Map<Long, Stay> activeStays = new ConcurrentHashMap<>();
+    
+    // Room number -> active stay, for POS room-charge posting
+    private final Map<String, Stay> activeStaysByRoom = new ConcurrentHashMap<>();
+    
+    // Key card number -> active stay, for door-lock and elevator validation
+    private final Map<String, Stay> keyCardIndex = new ConcurrentHashMap<>();
+    
+    // Night audit checkpoints: business date -> stay IDs already posted for that night
+    private final Map<LocalDate, Set<Long>> auditCheckpoints = new ConcurrentHashMap<>();
+    private static final int AUDIT_BATCH_SIZE = 256;
+    private static final String ROOM_CHARGE_TYPE = "Room Charge";
+    private static final String CARD_ON_FILE = "Card on File";
+    private volatile LocalDate businessDate = LocalDate.now();
+    
     private final ReservationService reservationService;
     private final RoomService roomService;
     private final BillingService billingService;
+    private final GuestService guestService;
     
     @Autowired
     public StayManager(ReservationService reservationService, 
                        RoomService roomService,
-                       BillingService billingService) {
+                       BillingService billingService,
+                       GuestService guestService) {
         this.reservationService = reservationService;
         this.roomService = roomService;
         this.billingService = billingService;
+        this.guestService = guestService;
     }
     
     @Override
     public Stay checkInGuest(Long reservationId) {
         return reservationService.getReservationById(reservationId).map(reservation -> {
+            if (guestService.isBlacklisted(reservation.getGuest())) {
+                System.out.println("[StayManager] Refused check-in for blacklisted guest on reservation: " +
+                        reservationId);
+                return null;
+            }
             Stay stay = new Stay();
             stay.setStayId(stayIdGenerator.getAndIncrement());
             stay.setReservation(reservation);
@@ -54,7 +98,10 @@ public class StayManager implements StayService {
             stay.setCheckInTime(LocalDateTime.now());
             stay.setStatus("Active");
             
-            stayDatabase.add(stay);
+            stayDatabase.put(stay.getStayId(), stay);
+            indexActiveStay(stay);
+            recordTimeline(stay, stay.getCheckInTime(), "Stay", stay.getStayId(),
+                    "Checked in" + roomLabel(stay), null, stay.getStatus());
             
             // Update room status
             if (reservation.getAssignedRoom() != null) {
@@ -68,17 +115,26 @@ public class StayManager implements StayService {
     
     @Override
     public Stay checkInWalkIn(Long guestId, Long roomId) {
+        Guest guest = guestService.getGuestById(guestId).orElse(null);
+        if (guestService.isBlacklisted(guest)) {
+            System.out.println("[StayManager] Refused walk-in for blacklisted guest: " + guestId);
+            return null;
+        }
         Stay stay = new Stay();
         stay.setStayId(stayIdGenerator.getAndIncrement());
         stay.setCheckInTime(LocalDateTime.now());
         stay.setStatus("Active");
+        stay.setGuest(guest);
         
         roomService.getRoomById(roomId).ifPresent(room -> {
             stay.setRoom(room);
             roomService.updateRoomStatus(roomId, "Occupied");
         });
         
-        stayDatabase.add(stay);
+        stayDatabase.put(stay.getStayId(), stay);
+        indexActiveStay(stay);
+        recordTimeline(stay, stay.getCheckInTime(), "Stay", stay.getStayId(),
+                "Walk-in checked in" + roomLabel(stay), null, stay.getStatus());
         System.out.println("[StayManager] Walk-in check-in for room: " + roomId);
         return stay;
     }
@@ -87,8 +143,8 @@ public class StayManager implements StayService {
     public void assignRoomAndCredentials(Long stayId, Long roomId, String keyCardNumber) {
         getStayById(stayId).ifPresent(stay -> {
             roomService.getRoomById(roomId).ifPresent(room -> {
-                stay.setRoom(room);
-                stay.setKeyCardNumber(keyCardNumber);
+                moveToRoom(stay, room);
+                reissueKeyCard(stay, keyCardNumber);
                 roomService.updateRoomStatus(roomId, "Occupied");
                 System.out.println("[StayManager] Assigned room " + room.getRoomNumber() + 
                         " with key card: " + keyCardNumber);
@@ -96,6 +152,74 @@ public class StayManager implements StayService {
         });
     }
     
+    @Override
+    public Optional<Stay> getActiveStayByKeyCard(String keyCardNumber) {
+        return Optional.ofNullable(keyCardIndex.get(keyCardNumber));
+    }
+    
+    @Override
+    public boolean validateKeyCard(String keyCardNumber, String roomNumber) {
+        Stay stay = keyCardIndex.get(keyCardNumber);
+        return stay != null
+                && stay.getRoom() != null
+                && roomNumber.equals(stay.getRoom().getRoomNumber());
+    }
+    
+    @Override
+    public int revokeKeyCards(Collection<String> keyCardNumbers) {
+        int revoked = 0;
+        for (String keyCardNumber : keyCardNumbers) {
+            Stay stay = keyCardIndex.remove(keyCardNumber);
+            if (stay != null) {
+                stay.setKeyCardNumber(null);
+                revoked++;
+            }
+        }
+        System.out.println("[StayManager] Revoked " + revoked + " key cards");
+        return revoked;
+    }
+    
+    /**
+     * Register a newly checked-in stay in the in-house and room indexes.
+     */
+    private void indexActiveStay(Stay stay) {
+        activeStays.put(stay.getStayId(), stay);
+        if (stay.getRoom() != null) {
+            activeStaysByRoom.put(stay.getRoom().getRoomNumber(), stay);
+        }
+    }
+    
+    /**
+     * Move a stay to another room, keeping the room index in step for in-house stays.
+     */
+    private void moveToRoom(Stay stay, Room room) {
+        if (stay.getRoom() != null) {
+            activeStaysByRoom.remove(stay.getRoom().getRoomNumber(), stay);
+        }
+        stay.setRoom(room);
+        if (activeStays.containsKey(stay.getStayId())) {
+            activeStaysByRoom.put(room.getRoomNumber(), stay);
+        }
+    }
+    
+    /**
+     * Replace the key card issued to a stay, keeping the key card index in step.
+     * Only in-house stays are indexed; a card reissued to another stay is taken from its old holder.
+     */
+    private void reissueKeyCard(Stay stay, String keyCardNumber) {
+        String previousCard = stay.getKeyCardNumber();
+        if (previousCard != null) {
+            keyCardIndex.remove(previousCard, stay);
+        }
+        stay.setKeyCardNumber(keyCardNumber);
+        if (keyCardNumber != null && activeStays.containsKey(stay.getStayId())) {
+            Stay previousHolder = keyCardIndex.put(keyCardNumber, stay);
+            if (previousHolder != null && previousHolder != stay) {
+                previousHolder.setKeyCardNumber(null);
+            }
+        }
+    }
+    
     @Override
     public IncidentalCharge recordCharge(Long stayId, String serviceType, 
                                           String description, BigDecimal amount) {
@@ -108,6 +232,7 @@ public class StayManager implements StayService {
         
         getStayById(stayId).ifPresent(charge::setStay);
         chargeDatabase.add(charge);
+        recordTimeline(charge);
         
         System.out.println("[StayManager] Recorded charge: " + serviceType + " - $" + amount);
         return charge;
@@ -123,11 +248,10 @@ public class StayManager implements StayService {
     @Override
     public void checkOutGuest(Long stayId) {
         getStayById(stayId).ifPresent(stay -> {
-            stay.setCheckOutTime(LocalDateTime.now());
-            stay.setStatus("Checked-Out");
+            closeStay(stay);
             
             // Trigger billing
-            billingService.generateInvoice(stayId);
+            invoiceStay(stay);
             
             // Update room status to cleaning
             if (stay.getRoom() != null) {
@@ -139,6 +263,92 @@ public class StayManager implements StayService {
         });
     }
     
+    @Override
+    public List<CheckoutResult> checkOutGuests(List<Long> stayIds, boolean autoSettle) {
+        long start = System.currentTimeMillis();
+        List<CompletableFuture<CheckoutResult>> pipeline = new ArrayList<>(stayIds.size());
+        for (Long stayId : stayIds) {
+            pipeline.add(checkOutAsync(stayId, autoSettle));
+        }
+        List<CheckoutResult> results = pipeline.stream()
+                .map(CompletableFuture::join)
+                .collect(Collectors.toList());
+        
+        System.out.println("[StayManager] Bulk checkout of " + stayIds.size() + " stays completed in " +
+                (System.currentTimeMillis() - start) + " ms");
+        return results;
+    }
+    
+    @Override
+    public List<CheckoutResult> checkOutDepartures(LocalDate departureDate, boolean autoSettle) {
+        List<Long> departing = activeStays.values().stream()
+                .filter(s -> s.getReservation() != null
+                        && departureDate.equals(s.getReservation().getCheckOutDate()))
+                .map(Stay::getStayId)
+                .collect(Collectors.toList());
+        return checkOutGuests(departing, autoSettle);
+    }
+    
+    /**
+     * Build the checkout pipeline for one stay: closure first, then invoicing/settlement
+     * and the room status update as independent stages on the common fork-join pool.
+     */
+    private CompletableFuture<CheckoutResult> checkOutAsync(Long stayId, boolean autoSettle) {
+        CompletableFuture<Stay> closed = CompletableFuture.supplyAsync(() -> {
+            Stay stay = activeStays.get(stayId);
+            return stay != null && closeStay(stay) ? stay : null;
+        });
+        
+        CompletableFuture<CheckoutResult> billed = closed.thenApplyAsync(stay -> {
+            if (stay == null) {
+                return new CheckoutResult(stayId, null, null, null, null, null,
+                        "Not Active", "Stay not found or already checked out");
+            }
+            Invoice invoice = invoiceStay(stay);
+            BigDecimal settled = BigDecimal.ZERO;
+            if (autoSettle && invoice.getOutstandingBalance().compareTo(BigDecimal.ZERO) > 0) {
+                settled = invoice.getOutstandingBalance();
+                billingService.processPayment(invoice.getInvoiceId(), settled, CARD_ON_FILE);
+            }
+            return new CheckoutResult(stayId,
+                    stay.getRoom() != null ? stay.getRoom().getRoomNumber() : null,
+                    invoice.getInvoiceId(), invoice.getTotalAmount(), settled,
+                    billingService.getOutstandingBalance(invoice.getInvoiceId()),
+                    settled.signum() > 0 ? "Settled" : "Checked-Out", null);
+        });
+        
+        CompletableFuture<Void> roomReleased = closed.thenAcceptAsync(stay -> {
+            if (stay != null && stay.getRoom() != null) {
+                roomService.updateRoomStatus(stay.getRoom().getRoomId(), "Under Cleaning");
+            }
+        });
+        
+        return billed.thenCombine(roomReleased, (result, ignored) -> result)
+                .exceptionally(ex -> new CheckoutResult(stayId, null, null, null, null, null,
+                        "Failed", ex.getMessage()));
+    }
+    
+    /**
+     * Mark a stay checked out and drop it from the in-house set.
+     * @return true if this call removed the stay from the in-house set
+     */
+    private boolean closeStay(Stay stay) {
+        stay.setCheckOutTime(LocalDateTime.now());
+        stay.setStatus("Checked-Out");
+        if (stay.getKeyCardNumber() != null) {
+            keyCardIndex.remove(stay.getKeyCardNumber(), stay);
+        }
+        if (stay.getRoom() != null) {
+            activeStaysByRoom.remove(stay.getRoom().getRoomNumber(), stay);
+        }
+        if (activeStays.remove(stay.getStayId()) == null) {
+            return false;
+        }
+        recordTimeline(stay, stay.getCheckOutTime(), "Stay", stay.getStayId(),
+                "Checked out" + roomLabel(stay), null, stay.getStatus());
+        return true;
+    }
+    
     @Override
     public BigDecimal getOutstandingBalance(Long stayId) {
         return billingService.getInvoiceByStay(stayId)
@@ -148,30 +358,246 @@ public class StayManager implements StayService {
     
     @Override
     public Optional<Stay> getStayById(Long stayId) {
-        return stayDatabase.stream()
-                .filter(s -> s.getStayId().equals(stayId))
-                .findFirst();
+        return Optional.ofNullable(stayDatabase.get(stayId));
     }
     
     @Override
     public Optional<Stay> getActiveStayByRoom(String roomNumber) {
-        return stayDatabase.stream()
-                .filter(s -> "Active".equals(s.getStatus()))
-                .filter(s -> s.getRoom() != null && roomNumber.equals(s.getRoom().getRoomNumber()))
-                .findFirst();
+        return Optional.ofNullable(activeStaysByRoom.get(roomNumber));
+    }
+    
+    @Override
+    public Map<String, Stay> getActiveStaysByRooms(Collection<String> roomNumbers) {
+        Map<String, Stay> result = new LinkedHashMap<>();
+        for (String roomNumber : roomNumbers) {
+            Stay stay = activeStaysByRoom.get(roomNumber);
+            if (stay != null) {
+                result.put(roomNumber, stay);
+            }
+        }
+        return result;
     }
     
     @Override
     public List<Stay> getActiveStays() {
-        return stayDatabase.stream()
-                .filter(s -> "Active".equals(s.getStatus()))
-                .collect(Collectors.toList());
+        return new ArrayList<>(activeStays.values());
     }
     
     @Override
     public List<Stay> getGuestStayHistory(Long guestId) {
-        return stayDatabase.stream()
+        return stayDatabase.values().stream()
                 .filter(s -> s.getGuest() != null && s.getGuest().getGuestId().equals(guestId))
                 .collect(Collectors.toList());
     }
+    
+    @Override
+    public int reassignGuest(Long fromGuestId, Guest toGuest) {
+        List<Stay> stays = getGuestStayHistory(fromGuestId);
+        stays.forEach(stay -> stay.setGuest(toGuest));
+        System.out.println("[StayManager] Moved " + stays.size() + " stays from guest " + fromGuestId +
+                " to guest " + toGuest.getGuestId());
+        return stays.size();
+    }
+    
+    @Override
+    public void forEachStay(LocalDate from, LocalDate to, Consumer<Stay> action) {
+        stayDatabase.values().forEach(s -> {
+            if (s.getCheckInTime() != null) {
+                LocalDate date = s.getCheckInTime().toLocalDate();
+                if (!date.isBefore(from) && !date.isAfter(to)) {
+                    action.accept(s);
+                }
+            }
+        });
+    }
+    
+    @Override
+    public synchronized NightAuditSummary runNightAudit(LocalDate auditDate) {
+        // Nights close one at a time in order; skipping ahead would leave the nights in between uncharged
+        if (!auditDate.equals(businessDate)) {
+            throw new IllegalArgumentException("Night of " + auditDate + " is not open; business date is " +
+                    businessDate);
+        }
+        long start = System.currentTimeMillis();
+        Set<Long> posted = auditCheckpoints.computeIfAbsent(auditDate, d -> ConcurrentHashMap.newKeySet());
+        // Stays checked in after the audited night were not in house that night
+        List<Stay> inHouse = new ArrayList<>();
+        for (Stay stay : activeStays.values()) {
+            if (stay.getCheckInTime() == null || !stay.getCheckInTime().toLocalDate().isAfter(auditDate)) {
+                inHouse.add(stay);
+            }
+        }
+        
+        AuditTotals totals = ForkJoinPool.commonPool()
+                .invoke(new RoomChargePostingTask(inHouse, 0, inHouse.size(), auditDate, posted));
+        
+        // Roll the business date; closed nights cannot be re-run, so their checkpoints are no longer needed
+        businessDate = auditDate.plusDays(1);
+        auditCheckpoints.keySet().removeIf(d -> d.isBefore(businessDate));
+        
+        NightAuditSummary summary = new NightAuditSummary(auditDate, businessDate, inHouse.size(),
+                totals.posted, totals.alreadyPosted, totals.skippedNoRate, totals.revenue,
+                System.currentTimeMillis() - start);
+        System.out.println("[StayManager] Night audit for " + auditDate + ": posted " + totals.posted +
+                " room charges - Total: $" + totals.revenue);
+        return summary;
+    }
+    
+    @Override
+    public LocalDate getBusinessDate() {
+        return businessDate;
+    }
+    
+    /**
+     * Resolve a stay's room type (room first, then reservation).
+     */
+    private RoomType roomTypeOf(Stay stay) {
+        RoomType roomType = null;
+        if (stay.getRoom() != null) {
+            roomType = stay.getRoom().getRoomType();
+        }
+        if (roomType == null && stay.getReservation() != null) {
+            roomType = stay.getReservation().getRoomType();
+        }
+        return roomType;
+    }
+    
+    /**
+     * Resolve the rate of one night for a stay from the rate calendar.
+     */
+    private BigDecimal nightlyRate(Stay stay, LocalDate night) {
+        RoomType roomType = roomTypeOf(stay);
+        return roomType != null ? roomService.getNightlyRate(roomType.getRoomTypeId(), night) : null;
+    }
+    
+    /**
+     * Invoice a closed stay and put the invoice on the guest's timeline.
+     */
+    private Invoice invoiceStay(Stay stay) {
+        Invoice invoice = generateInvoice(stay);
+        recordTimeline(stay, invoice.getIssuedTime(), "Invoice", invoice.getInvoiceId(),
+                "Invoice issued for stay " + stay.getStayId(), invoice.getTotalAmount(), invoice.getStatus());
+        return invoice;
+    }
+    
+    /**
+     * Room charges quoted from the rate calendar for the nights stayed, plus recorded incidentals.
+     * Night audit room postings are covered by the quote, not added again.
+     */
+    private Invoice generateInvoice(Stay stay) {
+        RoomType roomType = roomTypeOf(stay);
+        if (roomType == null || stay.getCheckInTime() == null) {
+            return billingService.generateInvoice(stay);
+        }
+        LocalDate from = stay.getCheckInTime().toLocalDate();
+        LocalDate to = stay.getCheckOutTime().toLocalDate();
+        if (!to.isAfter(from)) {
+            to = from.plusDays(1);
+        }
+        BigDecimal roomCharges = roomService.quoteStay(roomType.getRoomTypeId(), from, to);
+        if (roomCharges == null) {
+            return billingService.generateInvoice(stay);
+        }
+        BigDecimal incidentalCharges = getChargesForStay(stay.getStayId()).stream()
+                .filter(c -> !ROOM_CHARGE_TYPE.equals(c.getServiceType()))
+                .map(IncidentalCharge::getAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return billingService.generateInvoice(stay, roomCharges, incidentalCharges);
+    }
+    
+    private void recordTimeline(IncidentalCharge charge) {
+        if (charge.getStay() != null) {
+            recordTimeline(charge.getStay(), charge.getChargeTime(), "Charge", charge.getChargeId(),
+                    charge.getServiceType() + ": " + charge.getDescription(), charge.getAmount(), null);
+        }
+    }
+    
+    /**
+     * Put a stay-related event on the guest's timeline; stays without a guest are skipped.
+     */
+    private void recordTimeline(Stay stay, LocalDateTime time, String type, Long referenceId,
+                                String description, BigDecimal amount, String status) {
+        if (stay.getGuest() != null) {
+            guestService.recordTimelineEvent(new TimelineEvent(stay.getGuest().getGuestId(), 0, time,
+                    type, referenceId, description, amount, status));
+        }
+    }
+    
+    private static String roomLabel(Stay stay) {
+        return stay.getRoom() != null ? ", room " + stay.getRoom().getRoomNumber() : "";
+    }
+    
+    /**
+     * Running totals for one partition of the night audit.
+     */
+    private static final class AuditTotals {
+        private int posted;
+        private int alreadyPosted;
+        private int skippedNoRate;
+        private BigDecimal revenue = BigDecimal.ZERO;
+        
+        private AuditTotals merge(AuditTotals other) {
+            posted += other.posted;
+            alreadyPosted += other.alreadyPosted;
+            skippedNoRate += other.skippedNoRate;
+            revenue = revenue.add(other.revenue);
+            return this;
+        }
+    }
+    
+    /**
+     * Fork-join task posting room charges for a slice of the in-house stays.
+     * A stay is marked in the checkpoint set once its charge is saved, so a re-run
+     * for the same business date neither posts a night twice nor skips an unsaved one.
+     */
+    private final class RoomChargePostingTask extends RecursiveTask<AuditTotals> {
+        private final List<Stay> stays;
+        private final int from;
+        private final int to;
+        private final LocalDate auditDate;
+        private final Set<Long> posted;
+        
+        private RoomChargePostingTask(List<Stay> stays, int from, int to,
+                                      LocalDate auditDate, Set<Long> posted) {
+            this.stays = stays;
+            this.from = from;
+            this.to = to;
+            this.auditDate = auditDate;
+            this.posted = posted;
+        }
+        
+        @Override
+        protected AuditTotals compute() {
+            if (to - from > AUDIT_BATCH_SIZE) {
+                int mid = (from + to) >>> 1;
+                RoomChargePostingTask left = new RoomChargePostingTask(stays, from, mid, auditDate, posted);
+                left.fork();
+                AuditTotals right = new RoomChargePostingTask(stays, mid, to, auditDate, posted).compute();
+                return left.join().merge(right);
+            }
+            
+            AuditTotals totals = new AuditTotals();
+            LocalDateTime postingTime = LocalDateTime.now();
+            for (int i = from; i < to; i++) {
+                Stay stay = stays.get(i);
+                if (posted.contains(stay.getStayId())) {
+                    totals.alreadyPosted++;
+                    continue;
+                }
+                BigDecimal rate = nightlyRate(stay, auditDate);
+                if (rate == null) {
+                    totals.skippedNoRate++;
+                    continue;
+                }
+                IncidentalCharge charge = new IncidentalCharge(chargeIdGenerator.getAndIncrement(), stay,
+                        ROOM_CHARGE_TYPE, "Room charge for night of " + auditDate, rate, postingTime);
+                chargeDatabase.add(charge);
+                posted.add(stay.getStayId());
+                totals.posted++;
+                totals.revenue = totals.revenue.add(rate);
+                recordTimeline(charge);
+            }
+            return totals;
+        }
+    }
 }
@@ -0,0 +1,127 @@
+package com.hotelsmarttrack.stay;
+
+import com.hotelsmarttrack.base.entity.IncidentalCharge;
+import com.hotelsmarttrack.base.entity.NightAuditSummary;
+import com.hotelsmarttrack.base.entity.Room;
+import com.hotelsmarttrack.base.entity.RoomType;
+import com.hotelsmarttrack.base.entity.Stay;
+import com.hotelsmarttrack.base.service.BillingService;
+import com.hotelsmarttrack.base.service.GuestService;
+import com.hotelsmarttrack.base.service.ReservationService;
+import com.hotelsmarttrack.base.service.RoomService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Night audit checkpointing: closed nights, late check-ins and restart after a failed run.
+ */
+class StayManagerNightAuditTest {
+
+    private static final BigDecimal STANDARD_RATE = new BigDecimal("100.00");
+    private static final BigDecimal SUITE_RATE = new BigDecimal("250.00");
+
+    private RoomService roomService;
+    private StayManager stayManager;
+    private Room standard;
+    private Room suite;
+
+    @BeforeEach
+    void setUp() {
+        roomService = mock(RoomService.class);
+        stayManager = new StayManager(mock(ReservationService.class), roomService,
+                mock(BillingService.class), mock(GuestService.class));
+        standard = room(1L, "101", new RoomType(1L, "Standard", "", 2, STANDARD_RATE, BigDecimal.ZERO));
+        suite = room(2L, "201", new RoomType(2L, "Suite", "", 4, SUITE_RATE, BigDecimal.ZERO));
+        when(roomService.getNightlyRate(eq(1L), any())).thenReturn(STANDARD_RATE);
+        when(roomService.getNightlyRate(eq(2L), any())).thenReturn(SUITE_RATE);
+    }
+
+    @Test
+    void postsOneRoomChargePerInHouseStay() {
+        Stay first = stayManager.checkInWalkIn(1L, standard.getRoomId());
+        Stay second = stayManager.checkInWalkIn(2L, suite.getRoomId());
+        LocalDate night = stayManager.getBusinessDate();
+
+        NightAuditSummary summary = stayManager.runNightAudit(night);
+
+        assertEquals(2, summary.getChargesPosted());
+        assertEquals(new BigDecimal("350.00"), summary.getTotalRoomRevenue());
+        assertEquals(night.plusDays(1), stayManager.getBusinessDate());
+        assertEquals(1, roomCharges(first));
+        assertEquals(1, roomCharges(second));
+    }
+
+    @Test
+    void rejectsNightsThatAreClosedOrNotYetOpen() {
+        Stay stay = stayManager.checkInWalkIn(1L, standard.getRoomId());
+        LocalDate first = stayManager.getBusinessDate();
+
+        assertThrows(IllegalArgumentException.class, () -> stayManager.runNightAudit(first.plusDays(1)));
+        assertEquals(first, stayManager.getBusinessDate());
+        stayManager.runNightAudit(first);
+
+        assertThrows(IllegalArgumentException.class, () -> stayManager.runNightAudit(first));
+        assertThrows(IllegalArgumentException.class, () -> stayManager.runNightAudit(first.plusDays(2)));
+        assertEquals(1, roomCharges(stay));
+    }
+
+    @Test
+    void skipsStaysCheckedInAfterTheAuditedNight() {
+        Stay inHouse = stayManager.checkInWalkIn(1L, standard.getRoomId());
+        Stay arriving = stayManager.checkInWalkIn(2L, suite.getRoomId());
+        LocalDate night = stayManager.getBusinessDate();
+        arriving.setCheckInTime(night.plusDays(1).atTime(14, 0));
+
+        NightAuditSummary summary = stayManager.runNightAudit(night);
+
+        assertEquals(1, summary.getStaysAudited());
+        assertEquals(1, summary.getChargesPosted());
+        assertEquals(1, roomCharges(inHouse));
+        assertEquals(0, roomCharges(arriving));
+    }
+
+    @Test
+    void rerunAfterFailurePostsOnlyTheStaysThatWereNotSaved() {
+        Stay standardStay = stayManager.checkInWalkIn(1L, standard.getRoomId());
+        Stay suiteStay = stayManager.checkInWalkIn(2L, suite.getRoomId());
+        LocalDate night = stayManager.getBusinessDate();
+        when(roomService.getNightlyRate(eq(2L), any()))
+                .thenThrow(new IllegalStateException("rate calendar unavailable"))
+                .thenReturn(SUITE_RATE);
+
+        assertThrows(RuntimeException.class, () -> stayManager.runNightAudit(night));
+        assertEquals(night, stayManager.getBusinessDate());
+        assertEquals(0, roomCharges(suiteStay));
+
+        NightAuditSummary rerun = stayManager.runNightAudit(night);
+
+        assertEquals(1, roomCharges(standardStay));
+        assertEquals(1, roomCharges(suiteStay));
+        assertEquals(2, rerun.getChargesPosted() + rerun.getAlreadyPosted());
+        assertEquals(night.plusDays(1), stayManager.getBusinessDate());
+    }
+
+    private Room room(Long roomId, String roomNumber, RoomType roomType) {
+        Room room = new Room(roomId, roomNumber, 1, roomType, "Available");
+        when(roomService.getRoomById(roomId)).thenReturn(Optional.of(room));
+        return room;
+    }
+
+    private long roomCharges(Stay stay) {
+        return stayManager.getChargesForStay(stay.getStayId()).stream()
+                .map(IncidentalCharge::getServiceType)
+                .filter("Room Charge"::equals)
+                .count();
+    }
+}